@@ -80,6 +80,16 @@ java {
     modularity.inferModulePath.set(true) // since Gradle 6.4
 } // end JavaVersion _______________________________________________________________________________
 
+// source set with JMH benchmarks  . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . .
+// Note: Benchmarks reside in "src/jmh/java" and use the same packages as the classes under test.
+//       Thus, package-private methods are accessible for benchmarking.
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+        runtimeClasspath += output + compileClasspath + sourceSets["main"].runtimeClasspath
+    }
+} // end sourceSets ________________________________________________________________________________
+
 // Extra Information for non-modular jar-files.
 extraJavaModuleInfo { // . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . .
     // Add module information for all direct and transitive dependencies that are not modules, see
@@ -206,6 +216,10 @@ dependencies {
     // QR-code
     implementation("com.google.zxing:core:_")
     implementation("com.google.zxing:javase:_")
+
+    // benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:_")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:_")
 }
 
 // begin application definition  . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . .
@@ -233,6 +247,26 @@ tasks {
     } // end jacocoTestCoverageVerification
 
     check{dependsOn("jacocoTestCoverageVerification")}
+
+    // run JMH benchmarks, e.g.: ./gradlew jmh -Pjmh.includes=BenchCborSigner
+    // Note: Profiler "gc" adds allocation rate (gc.alloc.rate.norm) to throughput figures.
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs JMH benchmarks from source set jmh."
+        dependsOn("jmhClasses")
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+
+        val resultFile = "${buildDir}/reports/jmh/results.json"
+        args("-prof", "gc", "-rf", "json", "-rff", resultFile)
+        if (project.hasProperty("jmh.includes")) {
+            args(project.property("jmh.includes").toString())
+        }
+
+        doFirst {
+            mkdir("${buildDir}/reports/jmh")
+        }
+    } // end jmh
 } // end   task ____________________________________________________________________________________
 
 // section configuring test tasks  . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . .
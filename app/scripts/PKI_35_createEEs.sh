@@ -0,0 +1,67 @@
+#!/bin/bash
+#
+# Copyright (c) 2021 gematik GmbH
+# 
+# Licensed under the Apache License, Version 2.0 (the License);
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+# 
+#     http://www.apache.org/licenses/LICENSE-2.0
+# 
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an 'AS IS' BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Description (short): Performs use case PKI_35_createEEs.
+#        For more information see
+#        a. ../README.sh and
+#        b. CmdLine.ACTION_PKI_ENTITIES
+# Usage: ./PKI_35_createEEs.sh CA commonName [commonName ...]
+
+# Assertions:
+# ... a. The script for calling the app is created by the following gradle command:
+#        ./gradlew build installDist
+# ... b. From assertion a it follows that the script for running the application
+#        is installed (relatively) to the folder with this script:
+#        ../build/install/app/bin
+
+# --- Define some constants
+ACTION="--PKI-CreateEndEntities"
+
+# --- check command line parameter
+if [ 2 -gt $# ]; then
+  echo "  ERROR: at least two parameters shall be present: CA commonName [commonName ...]"
+  echo "         Usage: $0 CA commonName [commonName ...]"
+  exit 12
+fi # end if
+# ... at least two arguments are present
+
+# Attempt to set SCRIPTS_HOME, i.e. the directory with this script
+PRG="$0"
+# Need this for relative symlinks.
+while [ -h "$PRG" ] ; do
+    ls=`ls -ld "$PRG"`
+    link=`expr "$ls" : '.*-> \(.*\)$'`
+    if expr "$link" : '/.*' > /dev/null; then
+        PRG="$link"
+    else
+        PRG=`dirname "$PRG"`"/$link"
+    fi
+done # end while (...)
+SAVED="`pwd`"
+cd "`dirname \"$PRG\"`/.." >/dev/null
+SCRIPTS_HOME="`pwd -P`"
+cd "$SAVED" >/dev/null
+
+APP="${SCRIPTS_HOME}/build/install/app/bin/app"
+if [ -f "${APP}" ] && [ -x "${APP}" ]; then
+  # echo "app present"
+  "${APP}" $ACTION "$@"
+else
+  echo "app absent"
+fi # end else
+
+echo "done"
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import co.nstant.in.cbor.CborDecoder;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import de.gematik.poc.vaccination.pki.BenchPki;
+import de.gematik.poc.vaccination.utils.Base45;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the steps from issuing a proof to verifying it.
+ *
+ * <p>The steps correspond to the use cases in file {@code README.md}, i.e.
+ * encoding and decoding {@link InformationOfProof}, converting between octet
+ * strings and Base45, encoding and decoding QR-codes and verifying signed
+ * proofs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class BenchProofChain { // NOPMD JMH requires non-final class
+  /**
+   * Width and height of QR-code, same as in {@link CreatorOfProof}.
+   */
+  private static final int SIZE = 1; // */
+
+  /**
+   * Base path of PKI used by benchmarks.
+   */
+  private Path insBasePath; // */
+
+  /**
+   * Information of proof.
+   */
+  private InformationOfProof insInformation; // */
+
+  /**
+   * Encoded information of proof.
+   */
+  private byte[] insEncoded; // */
+
+  /**
+   * Buffer reused by {@link #encodeIntoBuffer()}.
+   */
+  private ByteBuffer insBuffer; // */
+
+  /**
+   * Signed proof, i.e. content of QR-code as octet string.
+   */
+  private byte[] insSignedProof; // */
+
+  /**
+   * Content of QR-code as text.
+   */
+  private String insBase45; // */
+
+  /**
+   * Image of QR-code.
+   */
+  private BufferedImage insImage; // */
+
+  /**
+   * Creates PKI and data used by benchmarks.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception { // NOPMD signature declares throwing Exception
+    insBasePath = BenchPki.create();
+    insInformation = BenchPki.informationOfProof();
+    insEncoded = insInformation.encode();
+    insBuffer = ByteBuffer.allocate(insEncoded.length);
+    insSignedProof = BenchPki.signedProof(insEncoded);
+    insBase45 = Base45.encode(insSignedProof);
+    insImage = MatrixToImageWriter.toBufferedImage(qrEncode());
+  } // end method */
+
+  /**
+   * Deletes PKI.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception { // NOPMD signature declares throwing Exception
+    BenchPki.delete(insBasePath);
+  } // end method */
+
+  /**
+   * Benchmark for {@link InformationOfProof#encode()}.
+   *
+   * @return encoded information of proof
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public byte[] encode() throws Exception { // NOPMD signature declares throwing Exception
+    return insInformation.encode();
+  } // end method */
+
+  /**
+   * Benchmark for {@link InformationOfProof#encode(ByteBuffer)}.
+   *
+   * @return buffer containing encoded information of proof
+   */
+  @Benchmark
+  public ByteBuffer encodeIntoBuffer() {
+    insBuffer.clear();
+    insInformation.encode(insBuffer);
+
+    return insBuffer;
+  } // end method */
+
+  /**
+   * Benchmark for {@link InformationOfProof#decode(byte[])}.
+   *
+   * @return decoded information of proof
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public InformationOfProof decode() throws Exception { // NOPMD throwing Exception
+    return InformationOfProof.decode(insEncoded);
+  } // end method */
+
+  /**
+   * Benchmark for {@link Base45#encode(byte[])}.
+   *
+   * @return content of QR-code as text
+   */
+  @Benchmark
+  public String base45Encode() {
+    return Base45.encode(insSignedProof);
+  } // end method */
+
+  /**
+   * Benchmark for {@link Base45#decode(CharSequence)}.
+   *
+   * @return content of QR-code as octet string
+   */
+  @Benchmark
+  public byte[] base45Decode() {
+    return Base45.decode(insBase45);
+  } // end method */
+
+  /**
+   * Benchmark for encoding a QR-code without version hint.
+   *
+   * @return QR-code
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public BitMatrix qrEncode() throws Exception { // NOPMD signature declares throwing Exception
+    return new QRCodeWriter().encode(
+        insBase45,
+        BarcodeFormat.QR_CODE,
+        SIZE, // width
+        SIZE, // height
+        Map.of(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H)
+    );
+  } // end method */
+
+  /**
+   * Benchmark for encoding a QR-code with version hint, same as in
+   * {@link QrCodeRenderer}.
+   *
+   * <p>Compared to {@link #qrEncode()} the QR-code writer need not search
+   * for the smallest version.
+   *
+   * @return QR-code
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public BitMatrix qrEncodeWithVersion() throws Exception { // NOPMD throwing Exception
+    return new QRCodeWriter().encode(
+        insBase45,
+        BarcodeFormat.QR_CODE,
+        SIZE, // width
+        SIZE, // height
+        QrCodeRenderer.getHints(insBase45.length())
+    );
+  } // end method */
+
+  /**
+   * Benchmark for decoding a QR-code, same as in {@link Checker}.
+   *
+   * @return content of QR-code as text
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public String qrDecode() throws Exception { // NOPMD signature declares throwing Exception
+    return new QRCodeReader()
+        .decode(
+            new BinaryBitmap(new HybridBinarizer(
+                new BufferedImageLuminanceSource(insImage)
+            ))
+        )
+        .getText();
+  } // end method */
+
+  /**
+   * Benchmark for {@link Checker#verifySignature(java.util.Iterator)}.
+   *
+   * <p>This includes decoding the signed proof and verifying the compact
+   * certificate contained therein.
+   *
+   * @return message contained in signed proof
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public byte[] verifySignature() throws Exception { // NOPMD signature declares throwing Exception
+    return Checker.verifySignature(CborDecoder.decode(insSignedProof).iterator());
+  } // end method */
+} // end class
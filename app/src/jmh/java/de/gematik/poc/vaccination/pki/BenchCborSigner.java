@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import com.gmail.alfred65fiedler.tlv.DerBitString;
+import java.nio.file.Path;
+import java.security.interfaces.ECPublicKey;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for signing and verifying with {@link CborSigner}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class BenchCborSigner { // NOPMD JMH requires non-final class
+  /**
+   * Base path of PKI used by benchmarks.
+   */
+  private Path insBasePath; // */
+
+  /**
+   * Encoded information of proof, i.e. message to be signed.
+   */
+  private byte[] insMessage; // */
+
+  /**
+   * Signature of {@link #insMessage} in compressed format {@code R || S}.
+   */
+  private byte[] insSignature; // */
+
+  /**
+   * Signature of {@link #insMessage} in DER format.
+   */
+  private DerBitString insSignatureDer; // */
+
+  /**
+   * Compact certificate of end-entity.
+   */
+  private byte[] insCompactCertificate; // */
+
+  /**
+   * Public key of end-entity.
+   */
+  private ECPublicKey insPublicKey; // */
+
+  /**
+   * Length of {@code R} and {@code S} in octet.
+   */
+  private int insTau; // */
+
+  /**
+   * Creates PKI and data used by benchmarks.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception { // NOPMD signature declares throwing Exception
+    insBasePath = BenchPki.create();
+    insMessage = BenchPki.informationOfProof().encode();
+    insSignature = CborSigner.sign(insMessage, BenchPki.COMMON_NAME_EE);
+    insSignatureDer = CborSigner.expandSignature(insSignature);
+    insCompactCertificate = CborSigner.getCertificate(BenchPki.COMMON_NAME_EE);
+    insPublicKey = PublicKeyInfrastructure.getPublicKey(BenchPki.COMMON_NAME_EE);
+    insTau = insSignature.length >> 1;
+  } // end method */
+
+  /**
+   * Deletes PKI.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception { // NOPMD signature declares throwing Exception
+    BenchPki.delete(insBasePath);
+  } // end method */
+
+  /**
+   * Benchmark for {@link CborSigner#sign(byte[], String)}.
+   *
+   * @return signature
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public byte[] sign() throws Exception { // NOPMD signature declares throwing Exception
+    return CborSigner.sign(insMessage, BenchPki.COMMON_NAME_EE);
+  } // end method */
+
+  /**
+   * Benchmark for {@link CborSigner#verify(byte[], byte[], ECPublicKey)}.
+   *
+   * @return result of verification
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public boolean verify() throws Exception { // NOPMD signature declares throwing Exception
+    return CborSigner.verify(insMessage, insSignature, insPublicKey);
+  } // end method */
+
+  /**
+   * Benchmark for {@link CborSigner#compressSignature(DerBitString, int)}.
+   *
+   * @return compressed signature
+   */
+  @Benchmark
+  public byte[] compressSignature() {
+    return CborSigner.compressSignature(insSignatureDer, insTau);
+  } // end method */
+
+  /**
+   * Benchmark for {@link CborSigner#expandSignature(byte[])}.
+   *
+   * @return expanded signature
+   */
+  @Benchmark
+  public DerBitString expandSignature() {
+    return CborSigner.expandSignature(insSignature);
+  } // end method */
+
+  /**
+   * Benchmark for {@link CborSigner#verifyCompactCertificate(byte[])}.
+   *
+   * @return public key contained in compact certificate
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Benchmark
+  public ECPublicKey verifyCompactCertificate() throws Exception { // NOPMD throwing Exception
+    return CborSigner.verifyCompactCertificate(insCompactCertificate);
+  } // end method */
+} // end class
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import co.nstant.in.cbor.CborBuilder;
+import co.nstant.in.cbor.CborEncoder;
+import de.gematik.poc.vaccination.certvac.Diseases;
+import de.gematik.poc.vaccination.certvac.HealthStatus;
+import de.gematik.poc.vaccination.certvac.InformationOfProof;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Data set shared by benchmarks.
+ *
+ * <p>The data set reproduces the one used in script {@code allInOne.sh},
+ * i.e. the same common names for PKI entities and the same information of
+ * proof. Thus, benchmarks run on payloads of realistic size.
+ */
+public final class BenchPki {
+  /**
+   * Common name of Root-CA.
+   */
+  public static final String COMMON_NAME_ROOT_CA = "VaPoC-RootCA.gematik.2021-03-29"; // */
+
+  /**
+   * Common name of CA.
+   */
+  public static final String COMMON_NAME_CA = "4711"; // */
+
+  /**
+   * Common name of end-entity.
+   */
+  public static final String COMMON_NAME_EE = "VaPoC-EEa.gematik.2021-03-29"; // */
+
+  /**
+   * Private default-constructor.
+   */
+  private BenchPki() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Creates a PKI in a temporary directory.
+   *
+   * <p>The PKI consists of a Root-CA, a CA and an end-entity with a compact
+   * certificate. Afterwards {@link PublicKeyInfrastructure} works on that
+   * temporary directory.
+   *
+   * @return base path of PKI
+   *
+   * @throws Exception if underlying methods do so
+   */
+  public static Path create() throws Exception { // NOPMD signature declares throwing Exception
+    final Path basePath = Files.createTempDirectory("vaccination.jmh.");
+    PublicKeyInfrastructure.claPkiBasePath = basePath;
+
+    PublicKeyInfrastructure.createRootCa(new ConcurrentLinkedQueue<>(List.of(
+        COMMON_NAME_ROOT_CA
+    )));
+    PublicKeyInfrastructure.createCa(new ConcurrentLinkedQueue<>(List.of(
+        COMMON_NAME_CA, COMMON_NAME_ROOT_CA
+    )));
+    PublicKeyInfrastructure.createEndEntity(new ConcurrentLinkedQueue<>(List.of(
+        COMMON_NAME_EE, COMMON_NAME_CA
+    )));
+    CborSigner.createCompactCertificate(new ConcurrentLinkedQueue<>(List.of(
+        COMMON_NAME_EE, COMMON_NAME_CA
+    )));
+
+    return basePath;
+  } // end method */
+
+  /**
+   * Creates information of proof.
+   *
+   * <p>Corresponds to arguments
+   * {@code "John Doe" 1968-05-27 "2021-08-27T15:46:39+00:00[Z]" 0 5 4 1 2 3}
+   * in script {@code allInOne.sh}.
+   *
+   * @return information of proof
+   */
+  public static InformationOfProof informationOfProof() {
+    final Map<Diseases, HealthStatus> healthStatusMap = new ConcurrentHashMap<>();
+    healthStatusMap.put(Diseases.getInstance(0), HealthStatus.valueOf(5, 4));
+    healthStatusMap.put(Diseases.getInstance(1), HealthStatus.valueOf(2, 3));
+
+    return new InformationOfProof(
+        "John Doe",
+        LocalDate.parse("1968-05-27"),
+        ZonedDateTime.parse("2021-08-27T15:46:39+00:00[Z]"),
+        healthStatusMap
+    );
+  } // end method */
+
+  /**
+   * Creates signed proof, i.e. content of a QR-code.
+   *
+   * <p>Assertions: {@link #create()} was called.
+   *
+   * @param information encoded information of proof
+   *
+   * @return {@code information || signature || compactCertificate}
+   *
+   * @throws Exception if underlying methods do so
+   */
+  public static byte[] signedProof(
+      final byte[] information
+  ) throws Exception { // NOPMD signature declares throwing Exception
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    new CborEncoder(baos).encode(new CborBuilder()
+        .add(information)
+        .add(CborSigner.sign(information, COMMON_NAME_EE))
+        .add(CborSigner.getCertificate(COMMON_NAME_EE))
+        .build()
+    );
+
+    return baos.toByteArray();
+  } // end method */
+
+  /**
+   * Deletes a PKI created by {@link #create()}.
+   *
+   * @param basePath of PKI
+   *
+   * @throws IOException if underlying methods do so
+   */
+  public static void delete(
+      final Path basePath
+  ) throws IOException {
+    try (Stream<Path> stream = Files.walk(basePath)) {
+      stream
+          .sorted(Comparator.reverseOrder()) // children before parents
+          .forEach(path -> path.toFile().delete()); // NOPMD ignored return value
+    } // end try-with-resources
+  } // end method */
+} // end class
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import de.gematik.poc.vaccination.pki.BenchPki;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks comparing {@link Base45} with {@code com.gmail.alfred65fiedler.utils.Base45}.
+ *
+ * <p>The payload is a signed proof as it is contained in a QR-code.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class BenchBase45 { // NOPMD JMH requires non-final class
+  /**
+   * Base path of PKI used by benchmarks.
+   */
+  private Path insBasePath; // */
+
+  /**
+   * Signed proof, i.e. content of QR-code as octet string.
+   */
+  private byte[] insOctets; // */
+
+  /**
+   * Content of QR-code as text.
+   */
+  private String insText; // */
+
+  /**
+   * Buffer reused by {@link #encodeIntoBuffer()}.
+   */
+  private char[] insCharBuffer; // */
+
+  /**
+   * Buffer reused by {@link #decodeIntoBuffer()}.
+   */
+  private byte[] insOctetBuffer; // */
+
+  /**
+   * Creates PKI and data used by benchmarks.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception { // NOPMD signature declares throwing Exception
+    insBasePath = BenchPki.create();
+    insOctets = BenchPki.signedProof(BenchPki.informationOfProof().encode());
+    insText = Base45.encode(insOctets);
+    insCharBuffer = new char[insText.length()];
+    insOctetBuffer = new byte[insOctets.length];
+  } // end method */
+
+  /**
+   * Deletes PKI.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception { // NOPMD signature declares throwing Exception
+    BenchPki.delete(insBasePath);
+  } // end method */
+
+  /**
+   * Benchmark for {@link Base45#encode(byte[])}.
+   *
+   * @return content of QR-code as text
+   */
+  @Benchmark
+  public String encode() {
+    return Base45.encode(insOctets);
+  } // end method */
+
+  /**
+   * Benchmark for {@link Base45#encode(byte[], int, int, char[], int)}.
+   *
+   * @return buffer with content of QR-code as text
+   */
+  @Benchmark
+  public char[] encodeIntoBuffer() {
+    Base45.encode(insOctets, 0, insOctets.length, insCharBuffer, 0);
+
+    return insCharBuffer;
+  } // end method */
+
+  /**
+   * Benchmark for {@code com.gmail.alfred65fiedler.utils.Base45#encode(byte[])}.
+   *
+   * @return content of QR-code as text
+   */
+  @Benchmark
+  public String encodeLibrary() {
+    return com.gmail.alfred65fiedler.utils.Base45.encode(insOctets);
+  } // end method */
+
+  /**
+   * Benchmark for {@link Base45#decode(CharSequence)}.
+   *
+   * @return content of QR-code as octet string
+   */
+  @Benchmark
+  public byte[] decode() {
+    return Base45.decode(insText);
+  } // end method */
+
+  /**
+   * Benchmark for {@link Base45#decode(CharSequence, byte[], int)}.
+   *
+   * @return buffer with content of QR-code as octet string
+   */
+  @Benchmark
+  public byte[] decodeIntoBuffer() {
+    Base45.decode(insText, insOctetBuffer, 0);
+
+    return insOctetBuffer;
+  } // end method */
+
+  /**
+   * Benchmark for {@code com.gmail.alfred65fiedler.utils.Base45#decode(String)}.
+   *
+   * @return content of QR-code as octet string
+   */
+  @Benchmark
+  public byte[] decodeLibrary() {
+    return com.gmail.alfred65fiedler.utils.Base45.decode(insText);
+  } // end method */
+} // end class
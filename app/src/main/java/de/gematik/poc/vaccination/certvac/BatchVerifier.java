@@ -0,0 +1,646 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac; // NOPMD high number of imports
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.DataItem;
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Utils;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class verifies the signatures of many signed proofs at once.
+ *
+ * <p>Signed proofs are read either
+ * <ol>
+ *   <li>from a directory, where each file with suffix
+ *       {@link Checker#EXTENSION_CBOR} contains one signed proof, or
+ *   <li>from a file containing a concatenation of signed proofs, i.e. a stream
+ *       of CBOR data items where each three consecutive items form one signed
+ *       proof ({@code message || signature || compactCertificate}).
+ * </ol>
+ *
+ * <p>Signed proofs are verified by a pool of worker threads. For each signed
+ * proof a {@link Result} is reported. Results are reported in the order the
+ * signed proofs are read. The number of proofs being in flight is bounded,
+ * thus arbitrary large inputs are processed with constant memory.
+ */
+public final class BatchVerifier {
+  /**
+   * File extension for batch verification reports.
+   */
+  /* package */ static final String EXTENSION_BATCH = "_batch.txt"; // */
+
+  /**
+   * Number of proofs in flight per worker thread.
+   */
+  private static final int IN_FLIGHT_PER_THREAD = 16; // */
+
+  /**
+   * Number of CBOR data items per signed proof.
+   */
+  /* package */ static final int ITEMS_PER_PROOF = 3; // */
+
+  /**
+   * Private default-constructor.
+   */
+  private BatchVerifier() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Verify signatures of many signed proofs.
+   *
+   * <p>A report with one {@link Result} per line is written to
+   * {@link Utils#PATH_UC60}. The file name of the report is the file name of
+   * the input followed by {@link #EXTENSION_BATCH}. Aggregated figures are
+   * logged.
+   *
+   * <p>Assertions: At least one elements is present in {@code arguments}.
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>path to a directory or to a file with signed proofs,
+   *                        relative paths are resolved against
+   *                        {@link Utils#PATH_UC50}
+   *                    <li>optional number of worker threads, default is
+   *                        the number of available processors
+   *                  </ol>
+   *
+   * @throws CborException        if underlying methods do so
+   * @throws InterruptedException if underlying methods do so
+   * @throws IOException          if underlying methods do so
+   */
+  public static void verifyBatch(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws
+      CborException,
+      InterruptedException,
+      IOException {
+    if (arguments.size() < 1) { // NOPMD literal in conditional statement
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "input  : directory with files \"*" + Checker.EXTENSION_CBOR
+                  + "\" or file with concatenated signed proofs",
+              "threads: optional number of worker threads"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                             // delimiter
+                  newLine + newLine + "Usage: "               // start prefix with usage description
+                      + CmdLine.ACTION_INFOPROOF_VERIFY_BATCH // action followed by parameter list
+                      + " input [threads]"
+                      + newLine + "  ",                       // end prefix
+                  newLine + newLine                           // suffix
+              ))
+      );
+
+      return;
+    } // end if
+    // ... enough arguments
+
+    final Path input = Utils.PATH_UC50.resolve(arguments.remove()).normalize();
+    final int threads = arguments.isEmpty()
+        ? Runtime.getRuntime().availableProcessors()
+        : Integer.parseInt(arguments.remove());
+    final Path report = Utils.PATH_UC60.resolve(input.getFileName() + EXTENSION_BATCH);
+
+    final Statistics statistics;
+    try (BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+      statistics = verify(input, threads, result -> {
+        try {
+          writer.write(result.toString());
+          writer.newLine();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } // end catch (IOException)
+      });
+    } // end try-with-resources
+
+    CmdLine.LOGGER.atInfo().log("verifyBatch: report in {}", report);
+    CmdLine.LOGGER.atInfo().log("verifyBatch: {}", statistics);
+  } // end method */
+
+  /**
+   * Verify signatures of many signed proofs.
+   *
+   * <p>The {@code consumer} is called by the thread calling this method, once
+   * per signed proof and in the order signed proofs are read from
+   * {@code input}.
+   *
+   * @param input    directory with files with suffix {@link Checker#EXTENSION_CBOR}
+   *                 or file with a concatenation of signed proofs
+   * @param threads  number of worker threads
+   * @param consumer of results
+   *
+   * @return aggregated figures
+   *
+   * @throws CborException        if reading a concatenation of signed proofs fails
+   * @throws InterruptedException if the calling thread is interrupted
+   * @throws IOException          if underlying methods do so
+   */
+  public static Statistics verify(
+      final Path input,
+      final int threads,
+      final Consumer<Result> consumer
+  ) throws
+      CborException,
+      InterruptedException,
+      IOException {
+    final Statistics result = new Statistics();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      final Window window = new Window(
+          executor,
+          threads * IN_FLIGHT_PER_THREAD,
+          verification -> {
+            result.add(verification);
+            consumer.accept(verification);
+          }
+      );
+
+      if (Files.isDirectory(input)) {
+        // ... directory
+        //     => each file contains one signed proof
+        final List<Path> files;
+        try (Stream<Path> stream = Files.list(input)) {
+          files = stream
+              .filter(path -> path.getFileName().toString().endsWith(Checker.EXTENSION_CBOR))
+              .sorted()
+              .collect(Collectors.toList());
+        } // end try-with-resources
+
+        for (final Path file : files) {
+          final String fileName = file.getFileName().toString();
+          window.submit(() -> verify(
+              fileName.substring(0, fileName.length() - Checker.EXTENSION_CBOR.length()),
+              file
+          ));
+        } // end for (file...)
+      } else {
+        // ... regular file
+        //     => concatenation of signed proofs
+        try (InputStream fis = new BufferedInputStream(Files.newInputStream(input))) {
+          final CborDecoder decoder = new CborDecoder(fis);
+
+          for (int index = 0; ; index++) { // NOPMD no condition in loop
+            final List<DataItem> items = new ArrayList<>(ITEMS_PER_PROOF); // NOPMD new in loop
+            while (items.size() < ITEMS_PER_PROOF) {
+              final DataItem item = decoder.decodeNext();
+
+              if (null == item) {
+                // ... end of stream
+                break;
+              } // end if
+
+              items.add(item);
+            } // end while (proof incomplete)
+
+            if (items.isEmpty()) {
+              // ... end of stream
+              break;
+            } // end if
+
+            final String identifier = "#" + index;
+            window.submit(() -> verify(identifier, items));
+          } // end for (index...)
+        } // end try-with-resources
+      } // end else
+
+      window.drain();
+    } finally {
+      executor.shutdownNow();
+    } // end finally
+
+    result.stop();
+
+    return result;
+  } // end method */
+
+  /**
+   * Verifies one signed proof stored in a file.
+   *
+   * @param identifier of signed proof
+   * @param file       containing signed proof
+   *
+   * @return result of verification
+   */
+  /* package */ static Result verify(
+      final String identifier,
+      final Path file
+  ) {
+    final long startTime = System.nanoTime();
+
+    try {
+      return verify(identifier, CborDecoder.decode(Files.readAllBytes(file)), startTime);
+    } catch (CborException | IOException e) {
+      return new Result(identifier, e, System.nanoTime() - startTime);
+    } // end catch (...)
+  } // end method */
+
+  /**
+   * Verifies one signed proof.
+   *
+   * @param identifier of signed proof
+   * @param items      CBOR data items of signed proof,
+   *                   {@code message || signature || compactCertificate}
+   *
+   * @return result of verification
+   */
+  /* package */ static Result verify(
+      final String identifier,
+      final List<DataItem> items
+  ) {
+    return verify(identifier, items, System.nanoTime());
+  } // end method */
+
+  /**
+   * Verifies one signed proof.
+   *
+   * @param identifier of signed proof
+   * @param items      CBOR data items of signed proof,
+   *                   {@code message || signature || compactCertificate}
+   * @param startTime  of verification, see {@link System#nanoTime()}
+   *
+   * @return result of verification
+   */
+  private static Result verify(
+      final String identifier,
+      final List<DataItem> items,
+      final long startTime
+  ) {
+    try {
+      if (ITEMS_PER_PROOF != items.size()) {
+        throw new IllegalArgumentException("wrong number of items: " + items.size());
+      } // end if
+
+      Checker.verifySignature(items.iterator());
+
+      return new Result(identifier, null, System.nanoTime() - startTime);
+    } catch (RuntimeException e) { // NOPMD avoid catching generic exceptions
+      // Note: Malformed proofs cause all kinds of runtime exceptions,
+      //       e.g. ClassCastException or NoSuchElementException.
+      return new Result(identifier, e, System.nanoTime() - startTime);
+    } // end catch (RuntimeException)
+  } // end method */
+
+  /**
+   * Result of verifying one signed proof.
+   */
+  public static final class Result {
+    /**
+     * Identifier of signed proof, i.e. prefix of file name or index in stream.
+     */
+    private final String insIdentifier; // */
+
+    /**
+     * Flag indicating whether verification succeeded.
+     */
+    private final boolean insValid; // */
+
+    /**
+     * Reason for failure, empty if verification succeeded.
+     */
+    private final String insReason; // */
+
+    /**
+     * Time spent on verification in nanoseconds.
+     */
+    private final long insLatency; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param identifier of signed proof
+     * @param exception  reason for failure, {@code null} if verification succeeded
+     * @param latency    time spent on verification in nanoseconds
+     */
+    /* package */ Result(
+        final String identifier,
+        final @CheckForNull Exception exception,
+        final long latency
+    ) {
+      insIdentifier = identifier;
+      insValid = null == exception;
+      insReason = insValid ? "" : reason(exception);
+      insLatency = latency;
+    } // end constructor */
+
+    /**
+     * Returns reason for failure.
+     *
+     * @param exception causing the failure
+     *
+     * @return message of {@code exception} or its class name if there is no message
+     */
+    /* package */ static String reason(
+        final Exception exception
+    ) {
+      final String message = exception.getMessage();
+
+      return (null == message)
+          ? exception.getClass().getSimpleName()
+          : message.replaceAll("\\R", " ");
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return identifier of signed proof
+     */
+    public String getIdentifier() {
+      return insIdentifier;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return time spent on verification in nanoseconds
+     */
+    public long getLatency() {
+      return insLatency;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return reason for failure, empty if verification succeeded
+     */
+    public String getReason() {
+      return insReason;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return {@code TRUE} if verification succeeded, {@code FALSE} otherwise
+     */
+    public boolean isValid() {
+      return insValid;
+    } // end method */
+
+    /**
+     * Converts to compact record, i.e. one line of text.
+     *
+     * @return {@code "identifier OK latency"} or
+     *         {@code "identifier FAIL latency reason"},
+     *         where {@code latency} is in microseconds, e.g. {@code "1234us"}
+     */
+    @Override
+    public String toString() {
+      return insIdentifier
+          + (insValid ? " OK " : " FAIL ")
+          + (insLatency / 1_000) + "us"
+          + (insValid ? "" : ' ' + insReason);
+    } // end method */
+  } // end inner class
+
+  /**
+   * Aggregated figures of a batch verification.
+   */
+  public static final class Statistics {
+    /**
+     * Start time, see {@link System#nanoTime()}.
+     */
+    private final long insStartTime = System.nanoTime(); // */
+
+    /**
+     * Number of signed proofs.
+     */
+    private long insCount; // */
+
+    /**
+     * Number of signed proofs with valid signature.
+     */
+    private long insValid; // */
+
+    /**
+     * Sum of latencies in nanoseconds.
+     */
+    private long insLatency; // */
+
+    /**
+     * Wall-clock time spent on the batch in nanoseconds.
+     */
+    private long insRuntime; // */
+
+    /**
+     * Adds a result.
+     *
+     * @param result to be added
+     */
+    /* package */ void add(
+        final Result result
+    ) {
+      insCount++;
+      insLatency += result.getLatency();
+
+      if (result.isValid()) {
+        insValid++;
+      } // end if
+    } // end method */
+
+    /**
+     * Stops the wall-clock.
+     */
+    /* package */ void stop() {
+      insRuntime = System.nanoTime() - insStartTime;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return number of signed proofs
+     */
+    public long getCount() {
+      return insCount;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return number of signed proofs with invalid signature
+     */
+    public long getInvalid() {
+      return insCount - insValid;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return wall-clock time spent on the batch in nanoseconds
+     */
+    public long getRuntime() {
+      return insRuntime;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return throughput in signed proofs per second
+     */
+    public double getThroughput() {
+      return (0 == insRuntime) ? 0 : insCount * 1e9 / insRuntime;
+    } // end method */
+
+    /**
+     * Getter.
+     *
+     * @return number of signed proofs with valid signature
+     */
+    public long getValid() {
+      return insValid;
+    } // end method */
+
+    /**
+     * Converts to human-readable text.
+     *
+     * @return aggregated figures
+     */
+    @Override
+    public String toString() {
+      return String.format(
+          "proofs = %d, valid = %d, invalid = %d, runtime = %d ms,"
+              + " throughput = %.1f proofs/s, mean latency = %d us",
+          insCount,
+          insValid,
+          getInvalid(),
+          insRuntime / 1_000_000,
+          getThroughput(),
+          (0 == insCount) ? 0 : insLatency / insCount / 1_000
+      );
+    } // end method */
+  } // end inner class
+
+  /**
+   * Bounded window of verifications in flight.
+   *
+   * <p>Results are handed to a consumer in the order verifications are
+   * submitted. If the window is full, submitting blocks until the oldest
+   * verification finished.
+   *
+   * <p><i><b>Note:</b> Instances are used by one thread only.</i>
+   */
+  private static final class Window {
+    /**
+     * Executor performing verifications.
+     */
+    private final ExecutorService insExecutor; // */
+
+    /**
+     * Maximum number of verifications in flight.
+     */
+    private final int insCapacity; // */
+
+    /**
+     * Consumer of results.
+     */
+    private final Consumer<Result> insConsumer; // */
+
+    /**
+     * Verifications in flight, oldest first.
+     */
+    private final Deque<Future<Result>> insFutures = new ArrayDeque<>(); // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param executor performing verifications
+     * @param capacity maximum number of verifications in flight
+     * @param consumer of results
+     */
+    private Window(
+        final ExecutorService executor,
+        final int capacity,
+        final Consumer<Result> consumer
+    ) {
+      insExecutor = executor;
+      insCapacity = capacity;
+      insConsumer = consumer;
+    } // end constructor */
+
+    /**
+     * Submits a verification.
+     *
+     * @param task performing a verification
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private void submit(
+        final Callable<Result> task
+    ) throws InterruptedException {
+      if (insFutures.size() >= insCapacity) {
+        // ... window full
+        //     => wait for oldest verification
+        consumeOldest();
+      } // end if
+
+      insFutures.add(insExecutor.submit(task));
+    } // end method */
+
+    /**
+     * Waits until all verifications in flight finished.
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private void drain() throws InterruptedException {
+      while (!insFutures.isEmpty()) {
+        consumeOldest();
+      } // end while (verifications in flight)
+    } // end method */
+
+    /**
+     * Waits for the oldest verification and hands its result to the consumer.
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private void consumeOldest() throws InterruptedException {
+      try {
+        insConsumer.accept(insFutures.remove().get());
+      } catch (ExecutionException e) {
+        // Note: Verification tasks catch exceptions and report them as result.
+        //       Thus, this is an unexpected situation.
+        throw new IllegalStateException(e.getCause()); // NOPMD preserve stack trace
+      } // end catch (ExecutionException)
+    } // end method */
+  } // end inner class
+} // end class
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cursor-style reader for a subset of
+ * <a href="https://www.rfc-editor.org/rfc/rfc8949.html">CBOR</a>.
+ *
+ * <p>In contrast to {@link co.nstant.in.cbor.CborDecoder} this class does not
+ * build a tree of data items. Instead, each method reads exactly one data
+ * item at the current position and advances the position. Thus, a caller
+ * knowing the schema reads primitive values directly from the underlying
+ * octet string.
+ *
+ * <p>Supported are those data items used by {@link InformationOfProof}:
+ * <ol>
+ *   <li>major type 0 and 1, i.e. unsigned and negative integers,
+ *   <li>major type 3, i.e. UTF-8 text with definite length,
+ *   <li>major type 5, i.e. maps with definite length.
+ * </ol>
+ *
+ * <p>Malformed input causes an {@link IllegalArgumentException} with a
+ * message indicating the offset of the offending octet.
+ *
+ * <p><i><b>Note:</b> Instances of this class are not thread-safe.</i>
+ */
+/* package */ final class CborReader {
+  /**
+   * Major type of unsigned integers.
+   */
+  /* package */ static final int MAJOR_UNSIGNED = 0; // */
+
+  /**
+   * Major type of negative integers.
+   */
+  /* package */ static final int MAJOR_NEGATIVE = 1; // */
+
+  /**
+   * Major type of UTF-8 text.
+   */
+  /* package */ static final int MAJOR_TEXT = 3; // */
+
+  /**
+   * Major type of maps.
+   */
+  /* package */ static final int MAJOR_MAP = 5; // */
+
+  /**
+   * Additional information indicating that the argument is in the next octet.
+   */
+  private static final int ONE_OCTET = 24; // */
+
+  /**
+   * Additional information indicating indefinite length.
+   */
+  private static final int INDEFINITE = 31; // */
+
+  /**
+   * Octet string to read from.
+   */
+  private final byte[] insBuffer; // */
+
+  /**
+   * Offset of next octet to read.
+   */
+  private int insPosition; // */
+
+  /**
+   * Comfort constructor.
+   *
+   * @param buffer octet string to read from, not copied
+   */
+  /* package */ CborReader(
+      final byte[] buffer
+  ) {
+    insBuffer = buffer; // NOPMD array stored directly, intentionally not copied
+    insPosition = 0;
+  } // end constructor */
+
+  /**
+   * Returns offset of next octet to read.
+   *
+   * @return offset
+   */
+  /* package */ int getPosition() {
+    return insPosition;
+  } // end method */
+
+  /**
+   * Reads an integer, i.e. CBOR major type 0 or 1.
+   *
+   * @return value of integer
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>data item is not an integer
+   *                                    <li>value exceeds range of {@link Long}
+   *                                    <li>end of octet string is reached
+   *                                  </ol>
+   */
+  /* package */ long readLong() {
+    final int offset = insPosition;
+    final int initial = readOctet();
+    final int majorType = initial >>> 5;
+    if ((MAJOR_UNSIGNED != majorType) && (MAJOR_NEGATIVE != majorType)) {
+      throw new IllegalArgumentException(String.format(
+          "integer expected at offset %d, but found major type %d", offset, majorType
+      ));
+    } // end if
+    // ... integer
+
+    final long argument = readArgument(initial & 0x1f, offset);
+    if (argument < 0) {
+      // ... argument exceeds 63 bit
+      throw new IllegalArgumentException(
+          "integer at offset " + offset + " exceeds range of long"
+      );
+    } // end if
+
+    return (MAJOR_UNSIGNED == majorType) ? argument : -1 - argument;
+  } // end method */
+
+  /**
+   * Reads an integer, i.e. CBOR major type 0 or 1, within range of {@link Integer}.
+   *
+   * @return value of integer
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>data item is not an integer
+   *                                    <li>value exceeds range of {@link Integer}
+   *                                    <li>end of octet string is reached
+   *                                  </ol>
+   */
+  /* package */ int readInt() {
+    final int offset = insPosition;
+    final long result = readLong();
+    if ((result < Integer.MIN_VALUE) || (result > Integer.MAX_VALUE)) {
+      throw new IllegalArgumentException(
+          "integer at offset " + offset + " exceeds range of int"
+      );
+    } // end if
+
+    return (int) result;
+  } // end method */
+
+  /**
+   * Reads UTF-8 text with definite length, i.e. CBOR major type 3.
+   *
+   * @return text
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>data item is not text
+   *                                    <li>length is indefinite
+   *                                    <li>end of octet string is reached
+   *                                  </ol>
+   */
+  /* package */ String readText() {
+    final int offset = insPosition;
+    final int length = readLength(MAJOR_TEXT, "text", offset);
+    final String result = new String(insBuffer, insPosition, length, StandardCharsets.UTF_8);
+    insPosition += length;
+
+    return result;
+  } // end method */
+
+  /**
+   * Reads header of a map with definite length, i.e. CBOR major type 5.
+   *
+   * <p>Afterwards the caller reads key and value of each entry.
+   *
+   * @return number of entries in map
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>data item is not a map
+   *                                    <li>length is indefinite
+   *                                    <li>end of octet string is reached
+   *                                  </ol>
+   */
+  /* package */ int readMapHeader() {
+    final int offset = insPosition;
+    final int result = readLength(MAJOR_MAP, "map", offset);
+    if (result > ((insBuffer.length - insPosition) >> 1)) {
+      // ... not enough octets left for given number of entries
+      throw new IllegalArgumentException(
+          "map at offset " + offset + " exceeds end of data"
+      );
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * Checks that all octets are read.
+   *
+   * @throws IllegalArgumentException if octets are left
+   */
+  /* package */ void checkEnd() {
+    if (insPosition != insBuffer.length) {
+      throw new IllegalArgumentException(String.format(
+          "unexpected data at offset %d, %d octet left",
+          insPosition, insBuffer.length - insPosition
+      ));
+    } // end if
+  } // end method */
+
+  /**
+   * Reads length of a data item with given major type.
+   *
+   * @param majorType expected major type
+   * @param name      of data item used in exception message
+   * @param offset    of initial octet
+   *
+   * @return length, it is assured that {@code length} octets are available
+   *         for a data item with major type 3
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>major type differs
+   *                                    <li>length is indefinite
+   *                                    <li>end of octet string is reached
+   *                                  </ol>
+   */
+  private int readLength(
+      final int majorType,
+      final String name,
+      final int offset
+  ) {
+    final int initial = readOctet();
+    if ((initial >>> 5) != majorType) {
+      throw new IllegalArgumentException(String.format(
+          "%s expected at offset %d, but found major type %d", name, offset, initial >>> 5
+      ));
+    } // end if
+    // ... correct major type
+
+    final int additionalInformation = initial & 0x1f;
+    if (INDEFINITE == additionalInformation) {
+      throw new IllegalArgumentException(
+          name + " at offset " + offset + " with indefinite length not supported"
+      );
+    } // end if
+    // ... definite length
+
+    final long result = readArgument(additionalInformation, offset);
+    if ((result < 0) || (result > (insBuffer.length - insPosition))) {
+      throw new IllegalArgumentException(
+          name + " at offset " + offset + " exceeds end of data"
+      );
+    } // end if
+
+    return (int) result;
+  } // end method */
+
+  /**
+   * Reads argument of a data item.
+   *
+   * <p>Values greater than {@link Long#MAX_VALUE} are returned as negative
+   * numbers, i.e. the caller has to check the sign.
+   *
+   * @param additionalInformation five least significant bit of initial octet
+   * @param offset                of initial octet
+   *
+   * @return argument
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>additional information is reserved
+   *                                        or indicates indefinite length
+   *                                    <li>end of octet string is reached
+   *                                  </ol>
+   */
+  private long readArgument(
+      final int additionalInformation,
+      final int offset
+  ) {
+    if (additionalInformation < ONE_OCTET) {
+      // ... argument in initial octet
+      return additionalInformation;
+    } else if (additionalInformation > 27) { // NOPMD literal in conditional statement
+      throw new IllegalArgumentException(String.format(
+          "unsupported additional information %d at offset %d", additionalInformation, offset
+      ));
+    } // end if
+    // ... argument in 1, 2, 4 or 8 octet following the initial octet
+
+    final int length = 1 << (additionalInformation - ONE_OCTET);
+    if (length > (insBuffer.length - insPosition)) {
+      throw new IllegalArgumentException(
+          "argument at offset " + offset + " exceeds end of data"
+      );
+    } // end if
+
+    long result = 0;
+    for (int i = length; i-- > 0;) { // NOPMD assignment in operand
+      result = (result << 8) | (insBuffer[insPosition++] & 0xff);
+    } // end for (i...)
+
+    return result;
+  } // end method */
+
+  /**
+   * Reads one octet.
+   *
+   * @return octet in range {@code [0, 255]}
+   *
+   * @throws IllegalArgumentException if end of octet string is reached
+   */
+  private int readOctet() {
+    if (insPosition >= insBuffer.length) {
+      throw new IllegalArgumentException(
+          "unexpected end of data at offset " + insPosition
+      );
+    } // end if
+
+    return insBuffer[insPosition++] & 0xff;
+  } // end method */
+} // end class
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writer for a subset of <a href="https://www.rfc-editor.org/rfc/rfc8949.html">CBOR</a>.
+ *
+ * <p>This is the counterpart to {@link CborReader}. In contrast to
+ * {@link co.nstant.in.cbor.CborBuilder} and {@link co.nstant.in.cbor.CborEncoder}
+ * this class neither builds data items nor uses an intermediate stream.
+ * Instead, a caller knowing the schema computes the exact length of the
+ * encoding with the {@code sizeOf...} methods and afterwards writes each
+ * data item directly into a {@link ByteBuffer}.
+ *
+ * <p>The encoding is the same as the one produced by
+ * {@link co.nstant.in.cbor.CborEncoder}, i.e. integers and lengths use the
+ * shortest possible form.
+ */
+/* package */ final class CborWriter {
+  /**
+   * Additional information indicating that the argument is in the next octet.
+   */
+  private static final int ONE_OCTET = 24; // */
+
+  /**
+   * Private default-constructor.
+   */
+  private CborWriter() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Compares two integers according to the canonical order of map keys.
+   *
+   * <p>Keys in a canonical map are sorted by the octets of their encoding,
+   * first by length, then in lexical order. For integers this is the same
+   * as ordering by length of encoding, then by major type and then by
+   * (unsigned) argument.
+   *
+   * @param value1 first integer
+   * @param value2 second integer
+   *
+   * @return negative number, zero or positive number if the encoding of
+   *         {@code value1} sorts before, equal or after the encoding of
+   *         {@code value2}
+   */
+  /* package */ static int compareCanonical(
+      final long value1,
+      final long value2
+  ) {
+    int result = Integer.compare(sizeOfInteger(value1), sizeOfInteger(value2));
+
+    if (0 == result) {
+      // ... same length, negative integers sort after unsigned integers
+      result = Boolean.compare(value1 < 0, value2 < 0);
+    } // end if
+
+    if (0 == result) {
+      // ... same length and same major type
+      result = Long.compareUnsigned(argument(value1), argument(value2));
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns length of encoded integer, i.e. CBOR major type 0 or 1.
+   *
+   * @param value integer
+   *
+   * @return number of octets in encoding
+   */
+  /* package */ static int sizeOfInteger(
+      final long value
+  ) {
+    return sizeOfHead(argument(value));
+  } // end method */
+
+  /**
+   * Returns length of encoded UTF-8 text, i.e. CBOR major type 3.
+   *
+   * @param text to be encoded
+   *
+   * @return number of octets in encoding
+   */
+  /* package */ static int sizeOfText(
+      final String text
+  ) {
+    final int length = utf8Length(text);
+
+    return sizeOfHead(length) + length;
+  } // end method */
+
+  /**
+   * Returns length of encoded map header, i.e. CBOR major type 5.
+   *
+   * <p>The length of keys and values is not included.
+   *
+   * @param size number of entries in map
+   *
+   * @return number of octets in encoding
+   */
+  /* package */ static int sizeOfMapHeader(
+      final int size
+  ) {
+    return sizeOfHead(size);
+  } // end method */
+
+  /**
+   * Writes an integer, i.e. CBOR major type 0 or 1.
+   *
+   * @param buffer to write to
+   * @param value  integer
+   *
+   * @throws BufferOverflowException if not enough space is left in {@code buffer}
+   */
+  /* package */ static void writeInteger(
+      final ByteBuffer buffer,
+      final long value
+  ) {
+    writeHead(
+        buffer,
+        (value < 0) ? CborReader.MAJOR_NEGATIVE : CborReader.MAJOR_UNSIGNED,
+        argument(value)
+    );
+  } // end method */
+
+  /**
+   * Writes UTF-8 text, i.e. CBOR major type 3.
+   *
+   * <p>Characters are encoded directly into {@code buffer}. Unpaired surrogates
+   * are replaced by {@code '?'}, same as {@link String#getBytes(java.nio.charset.Charset)}.
+   *
+   * @param buffer to write to
+   * @param text   to be encoded
+   *
+   * @throws BufferOverflowException if not enough space is left in {@code buffer}
+   */
+  /* package */ static void writeText(
+      final ByteBuffer buffer,
+      final String text
+  ) {
+    writeHead(buffer, CborReader.MAJOR_TEXT, utf8Length(text));
+
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      final char character = text.charAt(i);
+
+      if (character < 0x80) { // NOPMD literal in conditional statement
+        // ... one octet
+        buffer.put((byte) character);
+      } else if (character < 0x800) { // NOPMD literal in conditional statement
+        // ... two octet
+        buffer
+            .put((byte) (0xc0 | (character >> 6)))
+            .put((byte) (0x80 | (character & 0x3f)));
+      } else if (isSurrogatePair(text, i)) {
+        // ... four octet
+        final int codePoint = Character.toCodePoint(character, text.charAt(++i));
+        buffer
+            .put((byte) (0xf0 | (codePoint >> 18)))
+            .put((byte) (0x80 | ((codePoint >> 12) & 0x3f)))
+            .put((byte) (0x80 | ((codePoint >> 6) & 0x3f)))
+            .put((byte) (0x80 | (codePoint & 0x3f)));
+      } else if (Character.isSurrogate(character)) {
+        // ... unpaired surrogate
+        buffer.put((byte) '?');
+      } else {
+        // ... three octet
+        buffer
+            .put((byte) (0xe0 | (character >> 12)))
+            .put((byte) (0x80 | ((character >> 6) & 0x3f)))
+            .put((byte) (0x80 | (character & 0x3f)));
+      } // end if
+    } // end for (i...)
+  } // end method */
+
+  /**
+   * Writes header of a map with definite length, i.e. CBOR major type 5.
+   *
+   * <p>Afterwards the caller writes key and value of each entry.
+   *
+   * @param buffer to write to
+   * @param size   number of entries in map
+   *
+   * @throws BufferOverflowException if not enough space is left in {@code buffer}
+   */
+  /* package */ static void writeMapHeader(
+      final ByteBuffer buffer,
+      final int size
+  ) {
+    writeHead(buffer, CborReader.MAJOR_MAP, size);
+  } // end method */
+
+  /**
+   * Returns number of octets in UTF-8 encoding of given text.
+   *
+   * @param text to be encoded
+   *
+   * @return number of octets, same as {@code text.getBytes(UTF_8).length}
+   */
+  /* package */ static int utf8Length(
+      final String text
+  ) {
+    final int length = text.length();
+    int result = length;
+
+    for (int i = 0; i < length; i++) {
+      final char character = text.charAt(i);
+
+      if (character < 0x80) { // NOPMD literal in conditional statement
+        // ... one octet, already counted
+      } else if (character < 0x800) { // NOPMD literal in conditional statement
+        result += 1;
+      } else if (isSurrogatePair(text, i)) {
+        result += 2; // two char => four octet
+        i++; // NOPMD reassigning loop control variable
+      } else if (!Character.isSurrogate(character)) {
+        result += 2;
+      } // end if
+    } // end for (i...)
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns argument for encoding an integer.
+   *
+   * @param value integer
+   *
+   * @return {@code value} for non-negative integers, {@code -1 - value} otherwise
+   */
+  private static long argument(
+      final long value
+  ) {
+    return (value < 0) ? ~value : value;
+  } // end method */
+
+  /**
+   * Estimates whether a surrogate pair starts at given index.
+   *
+   * @param text  to be inspected
+   * @param index of character in {@code text}
+   *
+   * @return {@code TRUE} if a high surrogate at {@code index} is followed by
+   *         a low surrogate, {@code FALSE} otherwise
+   */
+  private static boolean isSurrogatePair(
+      final String text,
+      final int index
+  ) {
+    return Character.isHighSurrogate(text.charAt(index))
+        && ((index + 1) < text.length())
+        && Character.isLowSurrogate(text.charAt(index + 1));
+  } // end method */
+
+  /**
+   * Returns length of initial octet plus argument.
+   *
+   * @param argument non-negative argument
+   *
+   * @return number of octets
+   */
+  private static int sizeOfHead(
+      final long argument
+  ) {
+    if (argument < ONE_OCTET) {
+      return 1;
+    } else if (argument <= 0xff) { // NOPMD literal in conditional statement
+      return 2;
+    } else if (argument <= 0xffff) { // NOPMD literal in conditional statement
+      return 3;
+    } else if (argument <= 0xffff_ffffL) { // NOPMD literal in conditional statement
+      return 5;
+    } // end if
+
+    return 9;
+  } // end method */
+
+  /**
+   * Writes initial octet plus argument in shortest possible form.
+   *
+   * @param buffer    to write to
+   * @param majorType of data item
+   * @param argument  non-negative argument
+   *
+   * @throws BufferOverflowException if not enough space is left in {@code buffer}
+   */
+  private static void writeHead(
+      final ByteBuffer buffer,
+      final int majorType,
+      final long argument
+  ) {
+    final int initial = majorType << 5;
+    final int size = sizeOfHead(argument);
+
+    if (1 == size) {
+      // ... argument in initial octet
+      buffer.put((byte) (initial | (int) argument));
+    } else {
+      // ... argument in 1, 2, 4 or 8 octet following the initial octet,
+      //     written octet by octet, thus independent of the buffer's byte order
+      buffer.put((byte) (initial | (ONE_OCTET + Integer.numberOfTrailingZeros(size - 1))));
+      for (int shift = (size - 2) << 3; shift >= 0; shift -= 8) {
+        buffer.put((byte) (argument >>> shift));
+      } // end for (shift...)
+    } // end else
+  } // end method */
+} // end class
@@ -21,7 +21,6 @@ import co.nstant.in.cbor.CborException;
 import co.nstant.in.cbor.model.ByteString;
 import co.nstant.in.cbor.model.DataItem;
 import co.nstant.in.cbor.model.Number;
-import com.gmail.alfred65fiedler.utils.Base45;
 import com.gmail.alfred65fiedler.utils.Hex;
 import com.google.zxing.BinaryBitmap;
 import com.google.zxing.ChecksumException;
@@ -32,8 +31,11 @@ import com.google.zxing.common.HybridBinarizer;
 import com.google.zxing.qrcode.QRCodeReader;
 import de.gematik.poc.vaccination.pki.CborSigner;
 import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Base45;
+import de.gematik.poc.vaccination.utils.LruCache;
 import de.gematik.poc.vaccination.utils.Utils;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.InvalidKeyException;
@@ -64,6 +66,23 @@ public final class Checker {
    */
   /* package */ static final String EXTENSION_CBOR = "_cbor.bin"; // */
 
+  /**
+   * Name of system property controlling the capacity of
+   * {@link #CACHE_COMPACT_CERTIFICATE}.
+   */
+  /* package */ static final String PROPERTY_CACHE_CAPACITY =
+      "vaccination.certvac.compactCertificateCacheCapacity"; // */
+
+  /**
+   * Cache with successfully verified compact certificates.
+   *
+   * <p>Keys are the octets of a compact certificate, values are the public keys
+   * contained therein. Default capacity is 1024 entries, see
+   * {@link #PROPERTY_CACHE_CAPACITY}.
+   */
+  /* package */ static final LruCache<ByteBuffer, ECPublicKey> CACHE_COMPACT_CERTIFICATE =
+      new LruCache<>(Integer.getInteger(PROPERTY_CACHE_CAPACITY, 1024)); // */
+
   /**
    * Private default-constructor.
    */
@@ -249,7 +268,7 @@ public final class Checker {
               final byte[] compactCert = ((ByteString) cborItems.next())
                   // spotbugs: BC_UNCONFIRMED_CAST_OF_RETURN_VALUE
                   .getBytes();
-              final ECPublicKey puk = CborSigner.verifyCompactCertificate(compactCert);
+              final ECPublicKey puk = verifyCompactCertificate(compactCert);
 
               if (CborSigner.verify(message, signature, puk)) {
                 // ... valid signature
@@ -280,6 +299,53 @@ public final class Checker {
     } // end catch (...)
   } // end method */
 
+  /**
+   * Verifies given compact certificate, uses {@link #CACHE_COMPACT_CERTIFICATE}.
+   *
+   * <p>Only a few issuers sign a huge number of proofs. Thus, the same compact
+   * certificate is verified over and over again. This method verifies each
+   * compact certificate once (see
+   * {@link CborSigner#verifyCompactCertificate(byte[])}) and afterwards
+   * returns the public key from cache as long as the entry is not evicted.
+   *
+   * @param compactCert compact certificate to be verified
+   *
+   * @return public key contained in the compact certificate
+   *
+   * @throws CborException            if underlying methods do so
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws InvalidKeySpecException  if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws SignatureException       if underlying methods do so
+   */
+  /* package */ static ECPublicKey verifyCompactCertificate(
+      final byte[] compactCert
+  ) throws
+      CborException,
+      CertificateException,
+      IOException,
+      InvalidKeyException,
+      InvalidKeySpecException,
+      KeyStoreException,
+      NoSuchAlgorithmException,
+      SignatureException {
+    final ByteBuffer key = ByteBuffer.wrap(compactCert);
+    final ECPublicKey cached = CACHE_COMPACT_CERTIFICATE.get(key);
+
+    if (null != cached) {
+      // ... compact certificate already verified
+      return cached;
+    } // end if
+
+    final ECPublicKey result = CborSigner.verifyCompactCertificate(compactCert);
+    CACHE_COMPACT_CERTIFICATE.put(key, result);
+
+    return result;
+  } // end method */
+
   /**
    * Extracts registrar and version number from gieven {@code message}.
    *
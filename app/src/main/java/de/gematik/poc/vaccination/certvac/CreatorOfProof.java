@@ -19,16 +19,11 @@ package de.gematik.poc.vaccination.certvac; // NOPMD high number of imports
 import co.nstant.in.cbor.CborBuilder;
 import co.nstant.in.cbor.CborEncoder;
 import co.nstant.in.cbor.CborException;
-import com.gmail.alfred65fiedler.utils.Base45;
 import com.gmail.alfred65fiedler.utils.Hex;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import de.gematik.poc.vaccination.pki.CborSigner;
 import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Base45;
 import de.gematik.poc.vaccination.utils.Utils;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -43,7 +38,6 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.Base64;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
@@ -62,6 +56,10 @@ public final class CreatorOfProof {
   /**
    * Creates 2D-barcodes.
    *
+   * <p>The content is Base45 encoded exactly once and rendered exactly once.
+   * For statistics about the size of various encodings see
+   * {@link #showStatistics(ConcurrentLinkedQueue)}.
+   *
    * @param arguments arguments used within this method,
    *                  <ol>
    *                    <li>element is a prefix for a file name used to store
@@ -102,7 +100,64 @@ public final class CreatorOfProof {
         Utils.PATH_UC30.resolve(prefix + "_cbor.bin")
     );
 
-    // --- start investigation on various encodings  . . . . . . . . . . . . . . . . . . . . . . . .
+    // --- create QR-code
+    QrCodeRenderer.render(
+        content,
+        QrCodeRenderer.Format.PNG,
+        Utils.PATH_UC40.resolve(prefix + QrCodeRenderer.Format.PNG.getExtension())
+    );
+  } // end method */
+
+  /**
+   * Shows size statistics of various encodings of a signed proof.
+   *
+   * <p>This is a diagnostic action. It compares the number of bit needed for
+   * the content of a QR-code if the signed proof is encoded as decimal number,
+   * Base45 or Base64. Because converting an octet string into a decimal
+   * number is expensive for long octet strings, this is not done by
+   * {@link #createBarcode(ConcurrentLinkedQueue)}.
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>element is a prefix for a file name used to store
+   *                        the information in files-system
+   *                  </ol>
+   *
+   * @throws IOException if underlying methods do so
+   */
+  public static void showStatistics(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws IOException {
+    if (arguments.size() < 1) { // NOPMD literal in conditional statement
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "prefix: prefix of file-name used to read signed proof"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                // delimiter
+                  newLine + newLine + "Usage: "  // start prefix with usage description
+                      + CmdLine.ACTION_QR_STATS  // action followed by parameter list
+                      + " prefix"
+                      + newLine + "  ",          // end prefix
+                  newLine + newLine              // suffix
+              ))
+      );
+
+      return;
+    } // end if
+    // ... enough arguments
+
+    final String prefix = arguments.remove();
+
+    // --- get content
+    final byte[] content = Files.readAllBytes(
+        Utils.PATH_UC30.resolve(prefix + "_cbor.bin")
+    );
+
+    // --- investigation on various encodings
     final String base10 = new BigInteger(1, content).toString();
     final String base45 = Base45.encode(content);
     final String base64 = Base64.getEncoder().encodeToString(content);
@@ -126,30 +181,11 @@ public final class CreatorOfProof {
         "10: %5.1f%%: %d bit", 100.0 * bit10 / ((double) bitOs), bit10
     ));
     CmdLine.LOGGER.atInfo().log(String.format(
-        "10: %5.1f%%: %d bit", 100.0 * bit45 / ((double) bitOs), bit45
+        "45: %5.1f%%: %d bit", 100.0 * bit45 / ((double) bitOs), bit45
     ));
     CmdLine.LOGGER.atInfo().log(String.format(
         "64: %5.1f%%: %d bit", 100.0 * bit64 / ((double) bitOs), bit64
     ));
-    // end investigation on various encodings ___________________________________________________ */
-
-    // --- create QR-code
-    // QR-code tutorial: https://www.thonky.com/qr-code-tutorial/introduction
-    // Aztec-code: http://barcodeguide.seagullscientific.com/Content/Symbologies/Aztec_Code.htm
-    // Aztec-code: https://en.wikipedia.org/wiki/Aztec_Code
-    final String text = Base45.encode(content);
-    final int size = 1;
-    MatrixToImageWriter.writeToPath(
-        new QRCodeWriter().encode(
-            text,
-            BarcodeFormat.QR_CODE,
-            size, // width
-            size, // height
-            Map.of(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H)
-        ),
-        "PNG",
-        Utils.PATH_UC40.resolve(prefix + ".png")
-    );
   } // end method */
 
   /**
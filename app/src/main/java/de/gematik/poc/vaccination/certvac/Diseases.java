@@ -52,6 +52,30 @@ public enum Diseases {
   HEPATITIS_C(-2, "Hepatitis C"), // */
   ;
 
+  /**
+   * Infimum of encoded values.
+   */
+  private static final int MIN_ENCODED_VALUE = Arrays.stream(values())
+      .mapToInt(Diseases::getEncodedValue)
+      .min()
+      .getAsInt(); // */
+
+  /**
+   * Supremum of encoded values.
+   */
+  private static final int MAX_ENCODED_VALUE = Arrays.stream(values())
+      .mapToInt(Diseases::getEncodedValue)
+      .max()
+      .getAsInt(); // */
+
+  /**
+   * Diseases indexed by encoded value minus {@link #MIN_ENCODED_VALUE}.
+   *
+   * <p>Encoded values might be negative, thus the offset. Gaps in the range of
+   * encoded values are filled with {@code null}.
+   */
+  private static final Diseases[] LOOKUP = createLookup(); // */
+
   /**
    * Value representing a disease in serialized form.
    */
@@ -79,18 +103,43 @@ public enum Diseases {
   /**
    * Pseudo constructor.
    *
+   * <p>The lookup is a direct array access, see {@link #LOOKUP}.
+   *
    * @param encodedValue corresponding to a disease
    *
+   * @return disease with given encoded value
+   *
    * @throws NoSuchElementException if there is no corresponding disease to
    *                                {@code encodedValue}
    */
   public static Diseases getInstance(
       final int encodedValue
   ) {
-    return Arrays.stream(Diseases.values())
-        .filter(disease -> disease.getEncodedValue() == encodedValue)
-        .findAny()
-        .get();
+    if ((MIN_ENCODED_VALUE <= encodedValue) && (encodedValue <= MAX_ENCODED_VALUE)) {
+      final Diseases result = LOOKUP[encodedValue - MIN_ENCODED_VALUE];
+
+      if (null != result) {
+        return result;
+      } // end if
+    } // end if
+    // ... no disease with given encoded value
+
+    throw new NoSuchElementException("unknown disease: " + encodedValue);
+  } // end method */
+
+  /**
+   * Creates lookup table for {@link #getInstance(int)}.
+   *
+   * @return diseases indexed by encoded value minus {@link #MIN_ENCODED_VALUE}
+   */
+  private static Diseases[] createLookup() {
+    final Diseases[] result = new Diseases[MAX_ENCODED_VALUE - MIN_ENCODED_VALUE + 1];
+
+    for (final Diseases disease : values()) {
+      result[disease.getEncodedValue() - MIN_ENCODED_VALUE] = disease;
+    } // end for (disease...)
+
+    return result;
   } // end method */
 
   /**
@@ -19,6 +19,7 @@ package de.gematik.poc.vaccination.certvac;
 import co.nstant.in.cbor.model.DataItem;
 import co.nstant.in.cbor.model.Number;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.util.stream.IntStream;
 
 /**
  * Aggregation of health related information.
@@ -46,7 +47,9 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
  * </ol>
  *
  * <p>It follows that from the perspective of this class object sharing is
- * possible without side-effects.
+ * possible without side-effects. Because only 48 different values exist,
+ * {@link #valueOf(int, int)} and {@link #fromEncoded(int)} return shared
+ * instances from a precomputed table, rather than creating new ones.
  *
  */
 // Note 1: Spotbugs claims "BC_UNCONFIRMED_CAST",
@@ -78,6 +81,16 @@ public final class HealthStatus {
    */
   /* package */ static final int OFFSET = 24; // */
 
+  /**
+   * All possible instances.
+   *
+   * <p>The index of an instance is its encoded value plus {@link #OFFSET}, i.e.
+   * {@code 8 * harmlessness + shieldStrength}.
+   */
+  private static final HealthStatus[] TABLE = IntStream.range(0, (MAX_HARMLESSNESS + 1) << 3)
+      .mapToObj(index -> new HealthStatus(index & 0x7, index >> 3))
+      .toArray(HealthStatus[]::new); // */
+
   /**
    * Value of harmlessness, see {@link #getHarmlessness()}.
    */
@@ -123,6 +136,79 @@ public final class HealthStatus {
   public HealthStatus(
       final int shieldStrength,
       final int harmlessness
+  ) {
+    checkRange(shieldStrength, harmlessness);
+    // ... shieldStrength  AND  harmlessness in supported range
+
+    insShieldStrength = shieldStrength;
+    insHarmlessness = harmlessness;
+  } // end constructor */
+
+  /**
+   * Pseudo constructor.
+   *
+   * <p>In contrast to {@link #HealthStatus(int, int)} this method does not
+   * create a new instance. Instead, a shared instance is returned.
+   *
+   * @param shieldStrength an integer indicating the strength of vaccination
+   * @param harmlessness   an integer indicating how harmless the individual is
+   *
+   * @return corresponding instance
+   *
+   * @throws IllegalArgumentException if
+   *                                  <ol>
+   *                                    <li>{@code shieldStrength} is not in range
+   *                                        {@code [0,} {@link #MAX_SHIELD_STRENGTH}{@code ]}
+   *                                    <li>{@code harmlessness} is not in range
+   *                                        {@code [0,} {@link #MAX_HARMLESSNESS}{@code ]}
+   *                                  </ol>
+   */
+  public static HealthStatus valueOf(
+      final int shieldStrength,
+      final int harmlessness
+  ) {
+    checkRange(shieldStrength, harmlessness);
+
+    return TABLE[(harmlessness << 3) + shieldStrength];
+  } // end method */
+
+  /**
+   * Pseudo constructor, inverse-operation to {@link #encode()}.
+   *
+   * <p>A shared instance is returned, see {@link #valueOf(int, int)}.
+   *
+   * @param encoded value as returned by {@link #encode()}
+   *
+   * @return corresponding instance
+   *
+   * @throws IllegalArgumentException if {@code encoded} is not in range
+   *                                  {@code [-24, 23]}
+   */
+  public static HealthStatus fromEncoded(
+      final int encoded
+  ) {
+    final int index = encoded + OFFSET;
+    if ((index < 0) || (index >= TABLE.length)) {
+      throw new IllegalArgumentException(String.format(
+          "encoded value out of range [%d, %d]", -OFFSET, TABLE.length - 1 - OFFSET
+      ));
+    } // end if
+
+    return TABLE[index];
+  } // end method */
+
+  /**
+   * Checks range of instance attributes.
+   *
+   * @param shieldStrength an integer indicating the strength of vaccination
+   * @param harmlessness   an integer indicating how harmless the individual is
+   *
+   * @throws IllegalArgumentException if a parameter is out of range,
+   *                                  see {@link #HealthStatus(int, int)}
+   */
+  private static void checkRange(
+      final int shieldStrength,
+      final int harmlessness
   ) {
     if ((0 > shieldStrength) || (shieldStrength > MAX_SHIELD_STRENGTH)) {
       throw new IllegalArgumentException(
@@ -135,12 +221,7 @@ public final class HealthStatus {
           "harmlessness out of range [0, " + MAX_HARMLESSNESS + ']'
       );
     } // end if
-
-    // ... shieldStrength  AND  harmlessness in supported range
-
-    insShieldStrength = shieldStrength;
-    insHarmlessness = harmlessness;
-  } // end constructor */
+  } // end method */
 
   /**
    * Decode.
@@ -184,29 +265,51 @@ public final class HealthStatus {
       final int version,
       final DataItem item
   ) {
-    final int harmlessness;
-    final int shieldStrength;
+    final Number number = (Number) item; // spotbugs: BC_UNCONFIRMED_CAST
+
+    return decode(registrar, version, number.getValue().intValueExact());
+  } // end method */
+
+  /**
+   * Decode.
+   *
+   * <p>Same as {@link #decode(Registrar, int, DataItem)}, but the integer is
+   * already extracted from the CBOR data item. This way callers reading CBOR
+   * without building data items (see {@link CborReader}) avoid wrapping.
+   * The returned instance is shared, see {@link #fromEncoded(int)}.
+   *
+   * @param registrar of version number
+   * @param version   of encoded {@code value}
+   * @param value     integer from which an instance is constructed
+   *
+   * @return corresponding instance
+   *
+   * @throws IllegalArgumentException  if
+   *                                   <ol>
+   *                                     <li>registrar is not (yet) implemented
+   *                                     <li>version is not (yet) implemented
+   *                                     <li>{@code value} is out of range
+   *                                   </ol>
+   */
+  public static HealthStatus decode(
+      final Registrar registrar,
+      final int version,
+      final int value
+  ) {
     switch (registrar) {
       case GERMANY: {
         switch (version) { // NOPMD too few branches
           case -1:
-            final Number number = (Number) item; // spotbugs: BC_UNCONFIRMED_CAST
-            final int value = number.getValue().intValueExact() + OFFSET;
-            harmlessness = value >> 3;
-            shieldStrength = value & 0x7;
-            break;
+            return fromEncoded(value);
 
           default:
             throw new IllegalArgumentException("unknown version: " + version);
         } // end switch (version)
-      }
-      break; // end Germany
+      } // end Germany
 
       default:
         throw new IllegalArgumentException("unknown registrar: " + registrar);
     } // end switch (registrar)
-
-    return new HealthStatus(shieldStrength, harmlessness);
   } // end method */
 
   /**
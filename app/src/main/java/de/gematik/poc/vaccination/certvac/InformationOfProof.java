@@ -16,19 +16,12 @@
 
 package de.gematik.poc.vaccination.certvac;
 
-import co.nstant.in.cbor.CborBuilder;
-import co.nstant.in.cbor.CborDecoder;
-import co.nstant.in.cbor.CborEncoder;
-import co.nstant.in.cbor.CborException;
-import co.nstant.in.cbor.builder.MapBuilder;
-import co.nstant.in.cbor.model.DataItem;
-import co.nstant.in.cbor.model.Number;
-import co.nstant.in.cbor.model.UnicodeString;
 import com.gmail.alfred65fiedler.utils.Hex;
 import de.gematik.poc.vaccination.userinterface.CmdLine;
 import de.gematik.poc.vaccination.utils.Utils;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.Instant;
@@ -36,11 +29,15 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
@@ -50,13 +47,29 @@ import java.util.stream.Collectors;
  * <p>This class provides methods to access the information as
  * well as export and import it to and from various formats.
  */
-// Note 1: Spotbugs claims "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE",
-//         Short message: Unchecked/unconfirmed cast of return value from method
-//         That finding is suppressed because casting is intentional.
-@edu.umd.cs.findbugs.annotations.SuppressFBWarnings({
-    "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE" // see note 1
-}) // */
 public final class InformationOfProof {
+  /**
+   * Version used by {@link #encode()}, registrar is {@link Registrar#GERMANY}.
+   */
+  private static final int VERSION = -1; // */
+
+  /**
+   * {@link Diseases} in canonical order of their encoded values.
+   *
+   * <p>Used by {@link #encode(ByteBuffer)} to write map entries in the same
+   * order as {@link co.nstant.in.cbor.CborEncoder} does.
+   */
+  private static final Diseases[] CANONICAL_ORDER = Arrays.stream(Diseases.values())
+      .sorted((d1, d2) -> CborWriter.compareCanonical(d1.getEncodedValue(), d2.getEncodedValue()))
+      .toArray(Diseases[]::new); // */
+
+  /**
+   * Marker in {@link #insHealthStatus} for diseases without health status.
+   *
+   * <p>This value is outside the range of {@link HealthStatus#encode()}.
+   */
+  private static final byte ABSENT = Byte.MIN_VALUE; // */
+
   /**
    * Day of birth.
    */
@@ -68,9 +81,13 @@ public final class InformationOfProof {
   private final ZonedDateTime insExpirationDate; // */
 
   /**
-   * Mapping of {@link Diseases} to a corresponding {@link HealthStatus}.
+   * Health status per disease, indexed by {@link Diseases#ordinal()}.
+   *
+   * <p>Each element is either {@link HealthStatus#encode()} or {@link #ABSENT}.
+   * Compared to a {@link Map} this representation needs just one octet per
+   * disease. {@link #getHealthStatusMap()} provides a {@link Map} view.
    */
-  private final Map<Diseases, HealthStatus> insHealthStatusMap; // */
+  private final byte[] insHealthStatus; // */
 
   /**
    * Name of person vaccinated.
@@ -87,18 +104,41 @@ public final class InformationOfProof {
    * @param expirationDate  of information provided in {@code healthStatusMap}
    * @param healthStatusMap with information about a number of {@link Diseases}
    *                        and the {@link HealthStatus} of the individual
-   *                        considering the corresponding disease.
+   *                        considering the corresponding disease,
+   *                        the content is copied
    */
   public InformationOfProof(
       final String name,
       final LocalDate dayOfBirth,
       final ZonedDateTime expirationDate,
       final Map<Diseases, HealthStatus> healthStatusMap
+  ) {
+    this(name, dayOfBirth, expirationDate, emptyHealthStatus());
+
+    healthStatusMap.forEach((disease, healthStatus) -> insHealthStatus[disease.ordinal()] =
+        (byte) healthStatus.encode()
+    ); // end forEach((disease, healthStatus) -> ...)
+  } // end constructor */
+
+  /**
+   * Constructor used by {@link #decode(byte[])}.
+   *
+   * @param name           of an individual to whom the {@link InformationOfProof} belongs
+   * @param dayOfBirth     of individual
+   * @param expirationDate of information provided in {@code healthStatus}
+   * @param healthStatus   encoded health status per disease, see {@link #insHealthStatus},
+   *                       the array is not copied
+   */
+  private InformationOfProof(
+      final String name,
+      final LocalDate dayOfBirth,
+      final ZonedDateTime expirationDate,
+      final byte[] healthStatus
   ) {
     insName = name;
     insDayOfBirth = dayOfBirth;
     insExpirationDate = expirationDate;
-    insHealthStatusMap = healthStatusMap;
+    insHealthStatus = healthStatus;
   } // end constructor */
 
   /**
@@ -133,9 +173,7 @@ public final class InformationOfProof {
    */
   public static void create(
       final ConcurrentLinkedQueue<String> arguments
-  ) throws
-      CborException,
-      IOException {
+  ) throws IOException {
     if (arguments.size() < 7) { // NOPMD literal in conditional statement
       // ... too few arguments
       CmdLine.LOGGER.atInfo().log("too few arguments");
@@ -166,12 +204,12 @@ public final class InformationOfProof {
     CmdLine.LOGGER.atInfo().log("expirationDate: \"{}\"", expirationDate);
 
     // --- get information for insHealtStatusMap
-    final Map<Diseases, HealthStatus> healthStatusMap = new ConcurrentHashMap<>();
+    final Map<Diseases, HealthStatus> healthStatusMap = new EnumMap<>(Diseases.class);
     while (!arguments.isEmpty()) {
       final Diseases disease = Diseases.getInstance(Integer.parseInt(arguments.remove()));
       final int shieldStrength = Integer.parseInt(arguments.remove());
       final int harmlessness = Integer.parseInt(arguments.remove());
-      final HealthStatus healthStatus = new HealthStatus(// NOPMD new in loop
+      final HealthStatus healthStatus = HealthStatus.valueOf(
           shieldStrength,
           harmlessness
       );
@@ -235,8 +273,9 @@ public final class InformationOfProof {
    *
    * <p>Pseudo-constructor, inverse-operation to {@link #encode()}.
    *
-   * <p>This method takes a given {@link List} and construct an instance of
-   * this class according to the given version indication.
+   * <p>This method reads the CBOR data items from {@code content} in one pass
+   * (see {@link CborReader}) and constructs an instance of this class
+   * according to the given version indication.
    *
    * <p>Together {@code registrar} and {@code version} specify how the
    * {@code items} is decodes:
@@ -264,6 +303,7 @@ public final class InformationOfProof {
    *                   Each value is {@link HealthStatus#encode()} encoded as
    *                   CBOR integer (unsigned or negative).
    *             </ol>
+   *             No octets are allowed after the map.
    *       </ul>
    * </ul>
    *
@@ -271,14 +311,14 @@ public final class InformationOfProof {
    *
    * @return corresponding instance
    *
-   * @throws ArithmeticException      if {@code registrar} or {@code version}
-   *                                  exceeds range of {@link Integer}
-   * @throws NoSuchElementException   if less than expected elements are
-   *                                  available in {@code dataItem}
-   * @throws ClassCastException       if any {@link DataItem} in {@code dataItem}
-   *                                  has an unexpected {@link Class}
+   * @throws NoSuchElementException   if {@code registrar} or a disease is unknown
    * @throws IllegalArgumentException if
    *                                  <ol>
+   *                                    <li>{@code content} is malformed, e.g.
+   *                                        truncated, with unexpected data
+   *                                        items, integers out of range,
+   *                                        duplicate diseases or trailing
+   *                                        octets
    *                                    <li>registrar is not (yet) implemented
    *                                    <li>version is not (yet) implemented
    *                                    <li>an underlying constructor does so
@@ -286,35 +326,37 @@ public final class InformationOfProof {
    */
   public static InformationOfProof decode(
       final byte[] content
-  ) throws CborException {
-    // --- create an iterator for CBOR data items in content
-    final Iterator<DataItem> iterator = CborDecoder.decode(content).iterator();
+  ) {
+    final CborReader reader = new CborReader(content);
 
     // --- retrieve registrar and version number from message
-    final Iterator<Object> itVersion = Checker.extractVersionNumber(iterator).iterator();
-    final Registrar registrar = (Registrar) itVersion.next();
-    final int version = (Integer) itVersion.next();
+    final Registrar registrar = Registrar.getInstance(reader.readInt());
+    final int version = reader.readInt();
 
     switch (registrar) {
       case GERMANY: {
         switch (version) { // NOPMD too few branches
           case -1:
-            final String name = ((UnicodeString) iterator.next()).getString();
-            final LocalDate dayOfBirth = decodeDayOfBirth(
-                (Number) iterator.next() // spotbugs: BC_UNCONFIRMED_CAST_OF_RETURN_VALUE
-            );
-            final ZonedDateTime expirationDate = decodeExpirationDate(((Number) iterator.next()));
-            final co.nstant.in.cbor.model.Map map = (co.nstant.in.cbor.model.Map) iterator
-                // spotbugs: BC_UNCONFIRMED_CAST_OF_RETURN_VALUE
-                .next();
-            final Map<Diseases, HealthStatus> healthStatusMap = new ConcurrentHashMap<>();
-            map.getKeys().forEach(key -> healthStatusMap.put(
-                Diseases.getInstance(((Number) key).getValue().intValueExact()),
-                HealthStatus.decode(registrar, version, map.get(key))
-            ));
+            final String name = reader.readText();
+            final LocalDate dayOfBirth = decodeDayOfBirth(reader.readLong());
+            final ZonedDateTime expirationDate = decodeExpirationDate(reader.readLong());
+            final int size = reader.readMapHeader();
+            final byte[] healthStatus = emptyHealthStatus();
+            for (int i = size; i-- > 0;) { // NOPMD assignment in operand
+              final int offset = reader.getPosition();
+              final int index = Diseases.getInstance(reader.readInt()).ordinal();
+              final int value = HealthStatus.decode(registrar, version, reader.readInt()).encode();
+              if (ABSENT != healthStatus[index]) {
+                throw new IllegalArgumentException(
+                    "duplicate disease at offset " + offset
+                );
+              } // end if
+              healthStatus[index] = (byte) value;
+            } // end for (i...)
+            reader.checkEnd();
 
             return new InformationOfProof(
-              name, dayOfBirth, expirationDate, healthStatusMap
+              name, dayOfBirth, expirationDate, healthStatus
             );
             // end version == -1
 
@@ -341,30 +383,115 @@ public final class InformationOfProof {
    *
    * @return encoded instance
    */
-  public byte[] encode() throws CborException {
-    final int version = -1;
-
-    final MapBuilder<CborBuilder> mapBuilder = new CborBuilder()
-        .add(Registrar.GERMANY.getIdentifier()) // add registrar
-        .add(version)                           // version
-        .add(getName())                         // name
-        .add(encodeDayOfBirth())                // dayOfBirth
-        .add(encodeExpirationDate())            // expirationDate
-        .addMap();                              // add map
-
-    getHealthStatusMap().forEach((diseases, healthStatus) -> mapBuilder.put(
-        diseases.getEncodedValue(),
-        healthStatus.encode())
-    ); // end forEach((diseases, healthStatus) -> ...)
-
-    final ByteArrayOutputStream result = new ByteArrayOutputStream();
-    new CborEncoder(result).encode(
-        mapBuilder
-        .end()   // end map
-        .build() // get all items
-    );
+  public byte[] encode() {
+    final byte[] result = new byte[getEncodedLength()];
+    encode(ByteBuffer.wrap(result));
+
+    return result;
+  } // end method */
+
+  /**
+   * Encode into given buffer.
+   *
+   * <p>Same as {@link #encode()}, but the encoding is written directly into
+   * {@code buffer} starting at its current position. Afterwards the position
+   * is advanced by {@link #getEncodedLength()}. This way a caller encoding
+   * many instances reuses one buffer.
+   *
+   * <p>Entries of {@link #getHealthStatusMap()} are written in canonical order
+   * (see {@link CborWriter#compareCanonical(long, long)}), same as
+   * {@link co.nstant.in.cbor.CborEncoder} does. Thus, the encoding is
+   * byte-identical to one produced by that encoder.
+   *
+   * @param buffer to write to
+   *
+   * @throws BufferOverflowException if {@code buffer} has less than
+   *                                 {@link #getEncodedLength()} octets
+   *                                 remaining, then nothing is written
+   */
+  public void encode(
+      final ByteBuffer buffer
+  ) {
+    final int length = getEncodedLength();
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    } // end if
+    // ... enough space in buffer
+
+    CborWriter.writeInteger(buffer, Registrar.GERMANY.getIdentifier()); // registrar
+    CborWriter.writeInteger(buffer, VERSION);                          // version
+    CborWriter.writeText(buffer, getName());                           // name
+    CborWriter.writeInteger(buffer, encodeDayOfBirth());               // dayOfBirth
+    CborWriter.writeInteger(buffer, encodeExpirationDate());           // expirationDate
+    CborWriter.writeMapHeader(buffer, sizeOf(insHealthStatus));           // map
+    for (final Diseases disease : CANONICAL_ORDER) {
+      final byte healthStatus = insHealthStatus[disease.ordinal()];
+
+      if (ABSENT != healthStatus) {
+        CborWriter.writeInteger(buffer, disease.getEncodedValue());
+        CborWriter.writeInteger(buffer, healthStatus);
+      } // end if
+    } // end for (disease...)
+  } // end method */
+
+  /**
+   * Returns length of encoding.
+   *
+   * <p>The length is computed without encoding, see {@link #encode(ByteBuffer)}.
+   *
+   * @return number of octets in {@link #encode()}
+   */
+  public int getEncodedLength() {
+    int result = CborWriter.sizeOfInteger(Registrar.GERMANY.getIdentifier())
+        + CborWriter.sizeOfInteger(VERSION)
+        + CborWriter.sizeOfText(getName())
+        + CborWriter.sizeOfInteger(encodeDayOfBirth())
+        + CborWriter.sizeOfInteger(encodeExpirationDate())
+        + CborWriter.sizeOfMapHeader(sizeOf(insHealthStatus));
+
+    for (final Diseases disease : CANONICAL_ORDER) {
+      final byte healthStatus = insHealthStatus[disease.ordinal()];
+
+      if (ABSENT != healthStatus) {
+        result += CborWriter.sizeOfInteger(disease.getEncodedValue())
+            + CborWriter.sizeOfInteger(healthStatus);
+      } // end if
+    } // end for (disease...)
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns array for health status with all elements {@link #ABSENT}.
+   *
+   * @return array indexed by {@link Diseases#ordinal()}
+   */
+  private static byte[] emptyHealthStatus() {
+    final byte[] result = new byte[Diseases.values().length];
+    Arrays.fill(result, ABSENT);
 
-    return result.toByteArray();
+    return result;
+  } // end method */
+
+  /**
+   * Returns number of diseases with a health status.
+   *
+   * @param healthStatus encoded health status, see {@link #insHealthStatus}
+   *
+   * @return number of elements other than {@link #ABSENT}
+   */
+  private static int sizeOf(
+      final byte[] healthStatus
+  ) {
+    int result = 0;
+
+    for (final byte value : healthStatus) {
+      if (ABSENT != value) {
+        result++;
+      } // end if
+    } // end for (value...)
+
+    return result;
   } // end method */
 
   /**
@@ -372,18 +499,17 @@ public final class InformationOfProof {
    *
    * <p>This is kind of the inverse operation to {@link #encodeDayOfBirth()}.
    *
-   * @param number difference between {@link LocalDate#EPOCH} and day of birth
+   * @param days difference between {@link LocalDate#EPOCH} and day of birth
    *
    * @return decoded value, i.e. {@link LocalDate#EPOCH} plus {@link LocalDate#plusDays(long)},
-   *         where the summand is taken from {@code number}, i.e. {@link Number#getValue()}
+   *         where the summand is {@code days}
    *
-   * @throws ArithmeticException if the value encoded in {@code number}
-   *                             exceeds range of {@link Long}
+   * @throws java.time.DateTimeException if the result exceeds the supported range
    */
   private static LocalDate decodeDayOfBirth(
-      final Number number
+      final long days
   ) {
-    return  LocalDate.EPOCH.plusDays(number.getValue().longValueExact());
+    return  LocalDate.EPOCH.plusDays(days);
   } // end method */
 
   /**
@@ -391,18 +517,17 @@ public final class InformationOfProof {
    *
    * <p>This is kind of the inverse operation to {@link #encodeExpirationDate()}.
    *
-   * @param number with amount of seconds since the EPOCH for expiration date
+   * @param seconds amount of seconds since the EPOCH for expiration date
    *
    * @return decoded value
    *
-   * @throws ArithmeticException if the value encoded in {@code number}
-   *                             exceeds range of {@link Long}
+   * @throws java.time.DateTimeException if the result exceeds the supported range
    */
   private static ZonedDateTime decodeExpirationDate(
-      final Number number
+      final long seconds
   ) {
     return ZonedDateTime.ofInstant(
-        Instant.ofEpochSecond(number.getValue().longValueExact()),
+        Instant.ofEpochSecond(seconds),
         CmdLine.TIME_ZONE
     );
   } // end method */
@@ -410,7 +535,7 @@ public final class InformationOfProof {
   /**
    * Returns encoded value for day of birth.
    *
-   * <p>This is kind of the inverse operation to {@link #decodeDayOfBirth(Number)}.
+   * <p>This is kind of the inverse operation to {@link #decodeDayOfBirth(long)}.
    *
    * @return difference between {@link LocalDate#EPOCH} and day of birth
    */
@@ -421,7 +546,7 @@ public final class InformationOfProof {
   /**
    * Returns encoded value for expiration date.
    *
-   * <p>This is kind of the inverse operation to {@link #decodeExpirationDate(Number)}.
+   * <p>This is kind of the inverse operation to {@link #decodeExpirationDate(long)}.
    *
    * @return number of seconds since the EPOCH
    */
@@ -450,10 +575,13 @@ public final class InformationOfProof {
   /**
    * Return mapping of {@link Diseases} to the corresponding {@link HealthStatus}.
    *
+   * <p>The returned {@link Map} is an unmodifiable view, iterating in the
+   * order of {@link Diseases#ordinal()}.
+   *
    * @return mapping of {@link Diseases} to {@link HealthStatus}
    */
   public Map<Diseases, HealthStatus> getHealthStatusMap() {
-    return insHealthStatusMap;
+    return new HealthStatusMap(insHealthStatus);
   } // end method */
 
   /**
@@ -479,4 +607,74 @@ public final class InformationOfProof {
         getName(), getDayOfBirth(), getExpirationDate(), getHealthStatusMap()
     );
   } // end method */
+
+  /**
+   * Unmodifiable {@link Map} view on an array of encoded health status.
+   */
+  private static final class HealthStatusMap extends AbstractMap<Diseases, HealthStatus> {
+    /**
+     * Encoded health status, see {@link InformationOfProof#insHealthStatus}.
+     */
+    private final byte[] insHealthStatus; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param healthStatus encoded health status, the array is not copied
+     */
+    private HealthStatusMap(
+        final byte[] healthStatus
+    ) {
+      super();
+      insHealthStatus = healthStatus;
+    } // end constructor */
+
+    @Override
+    public boolean containsKey(
+        final Object key
+    ) {
+      return null != get(key);
+    } // end method */
+
+    @Override
+    public HealthStatus get(
+        final Object key
+    ) {
+      if (key instanceof Diseases) {
+        final byte healthStatus = insHealthStatus[((Diseases) key).ordinal()];
+
+        if (ABSENT != healthStatus) {
+          return HealthStatus.fromEncoded(healthStatus);
+        } // end if
+      } // end if
+
+      return null;
+    } // end method */
+
+    @Override
+    public Set<Map.Entry<Diseases, HealthStatus>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Map.Entry<Diseases, HealthStatus>> iterator() {
+          return Arrays.stream(Diseases.values())
+              .filter(disease -> ABSENT != insHealthStatus[disease.ordinal()])
+              .<Map.Entry<Diseases, HealthStatus>>map(disease -> new SimpleImmutableEntry<>(
+                  disease,
+                  HealthStatus.fromEncoded(insHealthStatus[disease.ordinal()])
+              ))
+              .iterator();
+        } // end method */
+
+        @Override
+        public int size() {
+          return HealthStatusMap.this.size();
+        } // end method */
+      }; // end new AbstractSet
+    } // end method */
+
+    @Override
+    public int size() {
+      return sizeOf(insHealthStatus);
+    } // end method */
+  } // end inner class
 } // end class
@@ -0,0 +1,541 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac; // NOPMD high number of imports
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.model.DataItem;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Base45;
+import de.gematik.poc.vaccination.utils.Utils;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+
+/**
+ * This class decodes and verifies all QR-codes in a directory.
+ *
+ * <p>Decoding a QR-code from an image consists of several steps, each of them
+ * with different costs. Here these steps run as stages of a pipeline, such
+ * that they overlap for consecutive images:
+ * <ol>
+ *   <li>{@link Step#LOAD}: read image from file-system,
+ *   <li>{@link Step#BINARIZE}: convert image into a black-and-white matrix,
+ *   <li>{@link Step#DECODE}: decode QR-code from black-and-white matrix,
+ *   <li>{@link Step#BASE45}: convert content of QR-code to octet string,
+ *   <li>{@link Step#VERIFY}: verify signed proof contained in octet string.
+ * </ol>
+ *
+ * <p>Each stage is served by its own worker threads. Stages are connected by
+ * bounded queues. Thus, a slow stage throttles the stages in front of it and
+ * the number of images in memory stays bounded.
+ *
+ * <p>If a step fails for an image, the remaining steps are skipped for that
+ * image and the failure is reported in its {@link BatchVerifier.Result}.
+ */
+public final class QrCodePipeline {
+  /**
+   * File extension of images with QR-codes.
+   */
+  /* package */ static final String EXTENSION_PNG = ".png"; // */
+
+  /**
+   * Capacity of queues between stages per worker thread.
+   */
+  private static final int QUEUE_CAPACITY_PER_THREAD = 4; // */
+
+  /**
+   * Item indicating end of input.
+   */
+  private static final Item POISON = new Item(Path.of(EXTENSION_PNG)); // */
+
+  /**
+   * Private default-constructor.
+   */
+  private QrCodePipeline() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Decodes and verifies all QR-codes in a directory.
+   *
+   * <p>A report with one {@link BatchVerifier.Result} per line is written to
+   * {@link Utils#PATH_UC50}. The file name of the report is the name of the
+   * directory followed by {@link BatchVerifier#EXTENSION_BATCH}. Aggregated
+   * figures are logged.
+   *
+   * <p>Assertions: At least one elements is present in {@code arguments}.
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>path to a directory with images of QR-codes,
+   *                        relative paths are resolved against
+   *                        {@link Utils#PATH_UC40}
+   *                    <li>optional number of worker threads per stage,
+   *                        default is the number of available processors
+   *                  </ol>
+   *
+   * @throws InterruptedException if underlying methods do so
+   * @throws IOException          if underlying methods do so
+   */
+  public static void decodeDirectory(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws
+      InterruptedException,
+      IOException {
+    if (arguments.size() < 1) { // NOPMD literal in conditional statement
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "directory: directory with files \"*" + EXTENSION_PNG + "\"",
+              "threads  : optional number of worker threads per stage"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                      // delimiter
+                  newLine + newLine + "Usage: "        // start prefix with usage description
+                      + CmdLine.ACTION_QR_DECODE_BATCH // action followed by parameter list
+                      + " directory [threads]"
+                      + newLine + "  ",                // end prefix
+                  newLine + newLine                    // suffix
+              ))
+      );
+
+      return;
+    } // end if
+    // ... enough arguments
+
+    final Path directory = Utils.PATH_UC40.resolve(arguments.remove()).normalize();
+    final int threads = arguments.isEmpty()
+        ? Runtime.getRuntime().availableProcessors()
+        : Integer.parseInt(arguments.remove());
+    final Path report = Utils.PATH_UC50.resolve(
+        directory.getFileName() + BatchVerifier.EXTENSION_BATCH
+    );
+
+    final BatchVerifier.Statistics statistics;
+    try (BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+      statistics = decode(directory, threads, result -> {
+        try {
+          writer.write(result.toString());
+          writer.newLine();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } // end catch (IOException)
+      });
+    } // end try-with-resources
+
+    CmdLine.LOGGER.atInfo().log("decodeDirectory: report in {}", report);
+    CmdLine.LOGGER.atInfo().log("decodeDirectory: {}", statistics);
+  } // end method */
+
+  /**
+   * Decodes and verifies all QR-codes in a directory.
+   *
+   * <p>The {@code consumer} is called by the thread calling this method, once
+   * per image in the order images leave the pipeline.
+   *
+   * @param directory with images of QR-codes, i.e. files with suffix
+   *                  {@link #EXTENSION_PNG}
+   * @param threads   number of worker threads per stage
+   * @param consumer  of results
+   *
+   * @return aggregated figures
+   *
+   * @throws InterruptedException if the calling thread is interrupted
+   * @throws IOException          if listing the directory fails
+   */
+  public static BatchVerifier.Statistics decode(
+      final Path directory,
+      final int threads,
+      final Consumer<BatchVerifier.Result> consumer
+  ) throws
+      InterruptedException,
+      IOException {
+    final BatchVerifier.Statistics result = new BatchVerifier.Statistics();
+    final Step[] steps = Step.values();
+    // Note: One additional thread feeds the pipeline.
+    final ExecutorService executor = Executors.newFixedThreadPool(steps.length * threads + 1);
+
+    try {
+      // --- create queues, queue i is input for step i, last queue is output
+      final List<BlockingQueue<Item>> queues = Stream
+          .generate(() -> new ArrayBlockingQueue<Item>(threads * QUEUE_CAPACITY_PER_THREAD))
+          .limit(steps.length + 1L)
+          .collect(Collectors.toList());
+
+      // --- start stages
+      for (int i = 0; i < steps.length; i++) {
+        final Stage stage = new Stage(// NOPMD new in loop
+            steps[i],
+            queues.get(i),
+            queues.get(i + 1),
+            threads,
+            (i + 1 < steps.length) ? threads : 1
+        );
+
+        for (int j = threads; j-- > 0; ) { // NOPMD assignment in operand
+          executor.execute(stage);
+        } // end for (j...)
+      } // end for (i...)
+
+      // --- feed pipeline from a separate thread, such that this thread consumes results
+      final List<Path> files;
+      try (Stream<Path> stream = Files.list(directory)) {
+        files = stream
+            .filter(path -> path.getFileName().toString().endsWith(EXTENSION_PNG))
+            .sorted()
+            .collect(Collectors.toList());
+      } // end try-with-resources
+      executor.execute(() -> {
+        try {
+          for (final Path file : files) {
+            queues.get(0).put(new Item(file)); // NOPMD new in loop
+          } // end for (file...)
+
+          for (int j = threads; j-- > 0; ) { // NOPMD assignment in operand
+            queues.get(0).put(POISON);
+          } // end for (j...)
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } // end catch (InterruptedException)
+      });
+
+      // --- consume results
+      final BlockingQueue<Item> output = queues.get(steps.length);
+      for (Item item = output.take(); POISON != item; item = output.take()) { // NOPMD ==
+        final BatchVerifier.Result verification = item.toResult();
+        result.add(verification);
+        consumer.accept(verification);
+      } // end for (item...)
+    } finally {
+      executor.shutdownNow();
+    } // end finally
+
+    result.stop();
+
+    return result;
+  } // end method */
+
+  /**
+   * Steps performed for each image.
+   */
+  /* package */ enum Step {
+    /**
+     * Read image from file-system.
+     */
+    LOAD {
+      @Override
+      /* package */ void process(
+          final Item item,
+          final QRCodeReader reader
+      ) throws IOException {
+        item.insImage = ImageIO.read(item.insPath.toFile());
+
+        if (null == item.insImage) {
+          throw new IOException("no image");
+        } // end if
+      } // end method */
+    },
+
+    /**
+     * Convert image into black-and-white matrix.
+     */
+    BINARIZE {
+      @Override
+      /* package */ void process(
+          final Item item,
+          final QRCodeReader reader
+      ) throws Exception {
+        item.insBitmap = new BinaryBitmap(new HybridBinarizer(
+            new BufferedImageLuminanceSource(item.insImage)
+        ));
+        item.insImage = null; // NOPMD assigning null, allows garbage collection
+
+        // Note: The binarizer works lazily. Requesting the matrix here
+        //       performs the binarization in this stage. The matrix is
+        //       cached within the bitmap.
+        item.insBitmap.getBlackMatrix();
+      } // end method */
+    },
+
+    /**
+     * Decode QR-code from black-and-white matrix.
+     */
+    DECODE {
+      @Override
+      /* package */ void process(
+          final Item item,
+          final QRCodeReader reader
+      ) throws Exception {
+        item.insText = reader.decode(item.insBitmap).getText();
+        item.insBitmap = null; // NOPMD assigning null, allows garbage collection
+      } // end method */
+    },
+
+    /**
+     * Convert content of QR-code to octet string.
+     */
+    BASE45 {
+      @Override
+      /* package */ void process(
+          final Item item,
+          final QRCodeReader reader
+      ) {
+        item.insOctets = Base45.decode(item.insText);
+        item.insText = null; // NOPMD assigning null, allows garbage collection
+      } // end method */
+    },
+
+    /**
+     * Verify signed proof.
+     */
+    VERIFY {
+      @Override
+      /* package */ void process(
+          final Item item,
+          final QRCodeReader reader
+      ) throws Exception {
+        final List<DataItem> items = CborDecoder.decode(item.insOctets);
+        item.insOctets = null; // NOPMD assigning null, allows garbage collection
+
+        if (BatchVerifier.ITEMS_PER_PROOF != items.size()) {
+          throw new IllegalArgumentException("wrong number of items: " + items.size());
+        } // end if
+
+        Checker.verifySignature(items.iterator());
+      } // end method */
+    };
+
+    /**
+     * Performs this step on given item.
+     *
+     * @param item   to be processed
+     * @param reader for decoding QR-codes, one per worker thread
+     *
+     * @throws Exception if this step fails for {@code item}
+     */
+    /* package */ abstract void process(
+        Item item,
+        QRCodeReader reader
+    ) throws Exception; // NOPMD signature declares throwing Exception
+  } // end enum
+
+  /**
+   * Image travelling through the pipeline.
+   */
+  private static final class Item {
+    /**
+     * Path to image.
+     */
+    private final Path insPath; // */
+
+    /**
+     * Start time, see {@link System#nanoTime()}.
+     */
+    private final long insStartTime = System.nanoTime(); // */
+
+    /**
+     * Image, output of {@link Step#LOAD}.
+     */
+    @CheckForNull
+    private BufferedImage insImage; // */
+
+    /**
+     * Black-and-white matrix, output of {@link Step#BINARIZE}.
+     */
+    @CheckForNull
+    private BinaryBitmap insBitmap; // */
+
+    /**
+     * Content of QR-code, output of {@link Step#DECODE}.
+     */
+    @CheckForNull
+    private String insText; // */
+
+    /**
+     * Octet string, output of {@link Step#BASE45}.
+     */
+    @CheckForNull
+    private byte[] insOctets; // */
+
+    /**
+     * Step which failed, {@code null} if no step failed (yet).
+     */
+    @CheckForNull
+    private Step insFailedStep; // */
+
+    /**
+     * Reason for failure, {@code null} if no step failed (yet).
+     */
+    @CheckForNull
+    private Exception insException; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param path to image
+     */
+    private Item(
+        final Path path
+    ) {
+      insPath = path;
+    } // end constructor */
+
+    /**
+     * Converts to result.
+     *
+     * @return result of decoding and verifying the QR-code in this image
+     */
+    private BatchVerifier.Result toResult() {
+      final String fileName = insPath.getFileName().toString();
+      final Exception exception = insException;
+
+      return new BatchVerifier.Result(
+          fileName.substring(0, fileName.length() - EXTENSION_PNG.length()),
+          (null == exception) ? null : new Exception(// NOPMD generic exception
+              insFailedStep + ": " + BatchVerifier.Result.reason(exception),
+              exception
+          ),
+          System.nanoTime() - insStartTime
+      );
+    } // end method */
+  } // end inner class
+
+  /**
+   * Stage of the pipeline, i.e. a step served by one or more worker threads.
+   */
+  private static final class Stage implements Runnable {
+    /**
+     * Step performed by this stage.
+     */
+    private final Step insStep; // */
+
+    /**
+     * Input queue.
+     */
+    private final BlockingQueue<Item> insInput; // */
+
+    /**
+     * Output queue.
+     */
+    private final BlockingQueue<Item> insOutput; // */
+
+    /**
+     * Number of worker threads still active in this stage.
+     */
+    private final AtomicInteger insActive; // */
+
+    /**
+     * Number of worker threads in the next stage.
+     */
+    private final int insNextWorkers; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param step        performed by this stage
+     * @param input       queue
+     * @param output      queue
+     * @param workers     number of worker threads in this stage
+     * @param nextWorkers number of worker threads in the next stage
+     */
+    private Stage(
+        final Step step,
+        final BlockingQueue<Item> input,
+        final BlockingQueue<Item> output,
+        final int workers,
+        final int nextWorkers
+    ) {
+      insStep = step;
+      insInput = input;
+      insOutput = output;
+      insActive = new AtomicInteger(workers);
+      insNextWorkers = nextWorkers;
+    } // end constructor */
+
+    /**
+     * Processes items until end of input.
+     *
+     * <p>The last worker thread of this stage finishing (normally or
+     * abruptly) passes the end of input to the next stage.
+     */
+    @Override
+    public void run() {
+      final QRCodeReader reader = new QRCodeReader();
+
+      try {
+        for (Item item = insInput.take(); POISON != item; item = insInput.take()) { // NOPMD ==
+          if (null == item.insException) {
+            try {
+              insStep.process(item, reader);
+            } catch (Exception e) { // NOPMD avoid catching generic exceptions
+              item.insFailedStep = insStep;
+              item.insException = e;
+            } // end catch (Exception)
+          } // end if (no failure so far)
+
+          insOutput.put(item);
+        } // end for (item...)
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        // Note: This is done even if this worker thread is terminated by an
+        //       error (e.g. OutOfMemoryError). Otherwise, the next stage
+        //       would wait forever for the end of input.
+        if (0 == insActive.decrementAndGet()) {
+          // ... last worker thread of this stage
+          //     => signal end of input to next stage
+          signalEnd();
+        } // end if
+      } // end finally
+    } // end method */
+
+    /**
+     * Passes end of input to each worker thread of the next stage.
+     */
+    private void signalEnd() {
+      try {
+        for (int j = insNextWorkers; j-- > 0; ) { // NOPMD assignment in operand
+          insOutput.put(POISON);
+        } // end for (j...)
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } // end catch (InterruptedException)
+    } // end method */
+  } // end inner class
+} // end class
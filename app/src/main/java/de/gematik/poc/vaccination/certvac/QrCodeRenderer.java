@@ -0,0 +1,565 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac; // NOPMD high number of imports
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.decoder.Version;
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Base45;
+import de.gematik.poc.vaccination.utils.Utils;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * This class renders QR-codes for many signed proofs at once.
+ *
+ * <p>{@link CreatorOfProof#createBarcode(ConcurrentLinkedQueue)} renders one
+ * QR-code per call. Here all signed proofs in a directory are rendered by a
+ * bounded pool of worker threads. State which does not depend on the content
+ * of a QR-code, i.e. encoding hints and the {@link QRCodeWriter}, is created
+ * once and shared by all worker threads. The QR-code version is estimated
+ * from the length of the content, see {@link #getVersion(int)}. Images are
+ * written through buffered streams in one of the formats in {@link Format}.
+ *
+ * <p>If rendering fails for a signed proof, the remaining signed proofs are
+ * rendered nevertheless and the failure is reported.
+ */
+public final class QrCodeRenderer {
+  /**
+   * Width and height of QR-code, same as in {@link CreatorOfProof}.
+   *
+   * <p>The QR-code is rendered with the smallest possible size, i.e. one
+   * pixel per module.
+   */
+  private static final int SIZE = 1; // */
+
+  /**
+   * Size of output buffer in octet.
+   */
+  private static final int BUFFER_SIZE = 0x4000; // */
+
+  /**
+   * Error correction level.
+   */
+  private static final ErrorCorrectionLevel LEVEL = ErrorCorrectionLevel.H; // */
+
+  /**
+   * Largest QR-code version.
+   */
+  private static final int MAX_VERSION = 40; // */
+
+  /**
+   * Maximum number of alphanumeric characters in a QR-code of version
+   * {@link #MAX_VERSION} with error correction level {@link #LEVEL}.
+   */
+  /* package */ static final int MAX_LENGTH = 1852; // */
+
+  /**
+   * Number of bit in mode indicator.
+   */
+  private static final int MODE_BITS = 4; // */
+
+  /**
+   * Encoding hints, index is the QR-code version.
+   *
+   * <p>Element zero contains no version hint, i.e. the version is estimated
+   * by the QR-code writer.
+   */
+  private static final List<Map<EncodeHintType, Object>> HINTS = IntStream
+      .rangeClosed(0, MAX_VERSION)
+      .mapToObj(version -> (0 == version)
+          ? Map.<EncodeHintType, Object>of(EncodeHintType.ERROR_CORRECTION, LEVEL)
+          : Map.<EncodeHintType, Object>of(
+              EncodeHintType.ERROR_CORRECTION, LEVEL,
+              EncodeHintType.QR_VERSION, version
+          ))
+      .collect(Collectors.toList()); // */
+
+  /**
+   * Cache of QR-code versions, index is the number of characters, zero
+   * indicates a version not yet estimated.
+   *
+   * <p><i><b>Note:</b> Concurrent estimations for the same length produce the
+   *    same value and writing an {@code int} is atomic. Thus, no
+   *    synchronization is necessary.</i>
+   */
+  private static final int[] VERSIONS = new int[MAX_LENGTH + 1]; // */
+
+  /**
+   * Writer for QR-codes.
+   *
+   * <p><i><b>Note:</b> {@link QRCodeWriter} has no state. Thus, one instance
+   *    is shared by all worker threads.</i>
+   */
+  private static final QRCodeWriter WRITER = new QRCodeWriter(); // */
+
+  /**
+   * Private default-constructor.
+   */
+  private QrCodeRenderer() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Renders QR-codes for all signed proofs in a directory.
+   *
+   * <p>Images are written to a directory in {@link Utils#PATH_UC40} with the
+   * same name as the input directory. Thus, they are suitable as input for
+   * {@link QrCodePipeline#decodeDirectory(ConcurrentLinkedQueue)} if the
+   * format is {@link Format#PNG}. The number of images and failures are
+   * logged.
+   *
+   * <p>Assertions: At least one elements is present in {@code arguments}.
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>path to a directory with signed proofs,
+   *                        relative paths are resolved against
+   *                        {@link Utils#PATH_UC30}
+   *                    <li>optional format of images, see {@link Format},
+   *                        default is {@link Format#PNG}
+   *                    <li>optional number of worker threads, default is
+   *                        the number of available processors
+   *                  </ol>
+   *
+   * @throws InterruptedException if underlying methods do so
+   * @throws IOException          if underlying methods do so
+   */
+  public static void encodeDirectory(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws
+      InterruptedException,
+      IOException {
+    if (arguments.size() < 1) { // NOPMD literal in conditional statement
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "directory: directory with files \"*" + Checker.EXTENSION_CBOR + "\"",
+              "format   : optional format of images, one of "
+                  + Stream.of(Format.values())
+                      .map(format -> format.name().toLowerCase(Locale.ROOT))
+                      .collect(Collectors.joining(", ")),
+              "threads  : optional number of worker threads"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                      // delimiter
+                  newLine + newLine + "Usage: "        // start prefix with usage description
+                      + CmdLine.ACTION_QR_ENCODE_BATCH // action followed by parameter list
+                      + " directory [format [threads]]"
+                      + newLine + "  ",                // end prefix
+                  newLine + newLine                    // suffix
+              ))
+      );
+
+      return;
+    } // end if
+    // ... enough arguments
+
+    final Path directory = Utils.PATH_UC30.resolve(arguments.remove()).normalize();
+    final Format format = arguments.isEmpty()
+        ? Format.PNG
+        : Format.valueOf(arguments.remove().toUpperCase(Locale.ROOT));
+    final int threads = arguments.isEmpty()
+        ? Runtime.getRuntime().availableProcessors()
+        : Integer.parseInt(arguments.remove());
+    final Path output = Utils.PATH_UC40.resolve(directory.getFileName());
+    Files.createDirectories(output);
+
+    final long startTime = System.nanoTime();
+    final SortedMap<String, Exception> failures = render(directory, output, format, threads);
+    final long runtime = System.nanoTime() - startTime;
+
+    failures.forEach((identifier, exception) -> CmdLine.LOGGER.atWarn().log(
+        "encodeDirectory: {} FAIL {}", identifier, BatchVerifier.Result.reason(exception)
+    ));
+    CmdLine.LOGGER.atInfo().log("encodeDirectory: images in {}", output);
+    CmdLine.LOGGER.atInfo().log(
+        "encodeDirectory: failures = {}, runtime = {} ms",
+        failures.size(),
+        runtime / 1_000_000
+    );
+  } // end method */
+
+  /**
+   * Renders QR-codes for all signed proofs in a directory.
+   *
+   * <p>For each file {@code identifier + }{@link Checker#EXTENSION_CBOR} in
+   * {@code directory} an image {@code identifier + extension} is written to
+   * {@code output}, where {@code extension} is {@link Format#getExtension()}.
+   *
+   * @param directory with signed proofs, i.e. files with suffix
+   *                  {@link Checker#EXTENSION_CBOR}
+   * @param output    directory where images are written to
+   * @param format    of images
+   * @param threads   number of worker threads
+   *
+   * @return failures, key is the identifier of a signed proof, value is the
+   *         reason for failure, empty if all QR-codes are rendered
+   *
+   * @throws InterruptedException if the calling thread is interrupted
+   * @throws IOException          if listing the directory fails
+   */
+  public static SortedMap<String, Exception> render(
+      final Path directory,
+      final Path output,
+      final Format format,
+      final int threads
+  ) throws
+      InterruptedException,
+      IOException {
+    final List<Path> files;
+    try (Stream<Path> stream = Files.list(directory)) {
+      files = stream
+          .filter(path -> path.getFileName().toString().endsWith(Checker.EXTENSION_CBOR))
+          .sorted()
+          .collect(Collectors.toList());
+    } // end try-with-resources
+
+    final SortedMap<String, Exception> result = new TreeMap<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      final List<String> identifiers = new ArrayList<>(files.size());
+      final List<Future<?>> futures = new ArrayList<>(files.size());
+
+      for (final Path file : files) {
+        final String fileName = file.getFileName().toString();
+        final String identifier = fileName.substring(
+            0, fileName.length() - Checker.EXTENSION_CBOR.length()
+        );
+        final Path target = output.resolve(identifier + format.getExtension());
+
+        identifiers.add(identifier);
+        futures.add(executor.submit(() -> {
+          render(Files.readAllBytes(file), format, target);
+
+          return null;
+        }));
+      } // end for (file...)
+
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (ExecutionException e) {
+          final Throwable cause = e.getCause();
+          result.put(
+              identifiers.get(i),
+              (cause instanceof Exception) ? (Exception) cause : e
+          );
+        } // end catch (ExecutionException)
+      } // end for (i...)
+    } finally {
+      executor.shutdownNow();
+    } // end finally
+
+    return result;
+  } // end method */
+
+  /**
+   * Renders the QR-code for one signed proof.
+   *
+   * @param signedProof content of QR-code as octet string
+   * @param format      of image
+   * @param target      path of image
+   *
+   * @throws IOException     if writing the image fails
+   * @throws WriterException if encoding the QR-code fails
+   */
+  public static void render(
+      final byte[] signedProof,
+      final Format format,
+      final Path target
+  ) throws
+      IOException,
+      WriterException {
+    final BitMatrix matrix = encode(signedProof);
+
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+      format.write(matrix, out);
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Encodes a signed proof into a QR-code.
+   *
+   * @param signedProof content of QR-code as octet string
+   *
+   * @return QR-code, one pixel per module including the quiet zone
+   *
+   * @throws WriterException if underlying methods do so
+   */
+  /* package */ static BitMatrix encode(
+      final byte[] signedProof
+  ) throws WriterException {
+    // QR-code tutorial: https://www.thonky.com/qr-code-tutorial/introduction
+    // Aztec-code: http://barcodeguide.seagullscientific.com/Content/Symbologies/Aztec_Code.htm
+    // Aztec-code: https://en.wikipedia.org/wiki/Aztec_Code
+    final String text = Base45.encode(signedProof);
+
+    return WRITER.encode(
+        text,
+        BarcodeFormat.QR_CODE,
+        SIZE, // width
+        SIZE, // height
+        getHints(text.length())
+    );
+  } // end method */
+
+  /**
+   * Returns encoding hints for a text of given length.
+   *
+   * <p>The hints contain the error correction level and, if possible, the
+   * QR-code version, see {@link #getVersion(int)}. Thus, the QR-code writer
+   * need not search for the smallest version.
+   *
+   * @param length number of alphanumeric characters, e.g. Base45 encoded
+   *
+   * @return encoding hints
+   */
+  /* package */ static Map<EncodeHintType, Object> getHints(
+      final int length
+  ) {
+    return HINTS.get(getVersion(length));
+  } // end method */
+
+  /**
+   * Estimates the smallest QR-code version for alphanumeric text.
+   *
+   * <p>Base45 uses the alphanumeric character set of QR-codes. Thus, the
+   * QR-code writer encodes Base45 in alphanumeric mode, i.e.
+   * <ol>
+   *   <li>mode indicator with {@link #MODE_BITS} bit,
+   *   <li>character count indicator with 9, 11 or 13 bit, depending on the
+   *       version,
+   *   <li>11 bit per pair of characters and 6 bit for a trailing single
+   *       character.
+   * </ol>
+   *
+   * <p>Signed proofs have (almost) the same length. Thus, the version is
+   * estimated once per length and cached.
+   *
+   * @param length number of alphanumeric characters
+   *
+   * @return smallest version with enough capacity for {@code length}
+   *         characters, zero if {@code length} exceeds {@link #MAX_LENGTH}
+   */
+  /* package */ static int getVersion(
+      final int length
+  ) {
+    if ((length < 0) || (length > MAX_LENGTH)) {
+      return 0;
+    } // end if
+    // ... length is within range of cache
+
+    int result = VERSIONS[length];
+
+    if (0 == result) {
+      // ... version not yet estimated for this length
+      final int dataBits = 11 * (length >> 1) + 6 * (length & 1);
+
+      for (int version = 1; version <= MAX_VERSION; version++) {
+        final int countBits;
+        if (version <= 9) { // NOPMD literal in conditional statement
+          countBits = 9;
+        } else if (version <= 26) { // NOPMD literal in conditional statement
+          countBits = 11;
+        } else {
+          countBits = 13;
+        } // end if
+
+        final Version qrVersion = Version.getVersionForNumber(version);
+        final int dataCodewords = qrVersion.getTotalCodewords()
+            - qrVersion.getECBlocksForLevel(LEVEL).getTotalECCodewords();
+
+        if (MODE_BITS + countBits + dataBits <= 8 * dataCodewords) {
+          result = version;
+          break;
+        } // end if
+      } // end for (version...)
+
+      VERSIONS[length] = result;
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * Formats of images.
+   */
+  public enum Format {
+    /**
+     * Portable Network Graphics.
+     */
+    PNG(".png") {
+      @Override
+      /* package */ void write(
+          final BitMatrix matrix,
+          final OutputStream out
+      ) throws IOException {
+        MatrixToImageWriter.writeToStream(matrix, "PNG", out);
+      } // end method */
+    },
+
+    /**
+     * Raw 1-bit bitmap, i.e. binary portable bitmap ({@code P4}).
+     *
+     * <p>After a short header each row is stored with one bit per pixel, most
+     * significant bit first, a set bit is black. Each row is padded to a
+     * multiple of eight bit.
+     */
+    PBM(".pbm") {
+      @Override
+      /* package */ void write(
+          final BitMatrix matrix,
+          final OutputStream out
+      ) throws IOException {
+        final int width = matrix.getWidth();
+        final int height = matrix.getHeight();
+        out.write(
+            ("P4\n" + width + ' ' + height + '\n').getBytes(StandardCharsets.US_ASCII)
+        );
+
+        final byte[] row = new byte[(width + 7) >> 3];
+        for (int y = 0; y < height; y++) {
+          Arrays.fill(row, (byte) 0);
+
+          for (int x = 0; x < width; x++) {
+            if (matrix.get(x, y)) {
+              row[x >> 3] |= (byte) (0x80 >>> (x & 7));
+            } // end if
+          } // end for (x...)
+
+          out.write(row);
+        } // end for (y...)
+      } // end method */
+    },
+
+    /**
+     * Scalable Vector Graphics.
+     *
+     * <p>One unit in the coordinate system corresponds to one module. Black
+     * modules are drawn as one path with one rectangle per horizontal run of
+     * black modules.
+     */
+    SVG(".svg") {
+      @Override
+      /* package */ void write(
+          final BitMatrix matrix,
+          final OutputStream out
+      ) throws IOException {
+        final int width = matrix.getWidth();
+        final int height = matrix.getHeight();
+        final StringBuilder svg = new StringBuilder(256)
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+            .append(width).append(' ').append(height)
+            .append("\" shape-rendering=\"crispEdges\">\n")
+            .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>\n")
+            .append("<path fill=\"#000\" d=\"");
+
+        for (int y = 0; y < height; y++) {
+          int x = 0;
+          while (x < width) {
+            if (matrix.get(x, y)) {
+              // ... start of a run of black modules
+              final int start = x;
+              while ((x < width) && matrix.get(x, y)) {
+                x++;
+              } // end while (black)
+              final int length = x - start;
+
+              svg.append('M').append(start).append(' ').append(y)
+                  .append('h').append(length)
+                  .append("v1h-").append(length)
+                  .append('z');
+            } else {
+              x++;
+            } // end else
+          } // end while (x...)
+        } // end for (y...)
+
+        svg.append("\"/>\n</svg>\n");
+        out.write(svg.toString().getBytes(StandardCharsets.UTF_8));
+      } // end method */
+    };
+
+    /**
+     * File extension of images in this format.
+     */
+    private final String insExtension; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param extension file extension
+     */
+    Format(
+        final String extension
+    ) {
+      insExtension = extension;
+    } // end constructor */
+
+    /**
+     * Getter.
+     *
+     * @return file extension of images in this format, e.g. {@code ".png"}
+     */
+    public String getExtension() {
+      return insExtension;
+    } // end method */
+
+    /**
+     * Writes QR-code in this format.
+     *
+     * @param matrix QR-code
+     * @param out    destination, not closed by this method
+     *
+     * @throws IOException if underlying methods do so
+     */
+    /* package */ abstract void write(
+        BitMatrix matrix,
+        OutputStream out
+    ) throws IOException;
+  } // end enum
+} // end class
@@ -42,6 +42,31 @@ public enum Registrar {
   GERMANY(49), // */
   ;
 
+  /**
+   * Infimum of identifiers.
+   */
+  private static final int MIN_IDENTIFIER = Arrays.stream(values())
+      .mapToInt(Registrar::getIdentifier)
+      .min()
+      .getAsInt(); // */
+
+  /**
+   * Supremum of identifiers.
+   */
+  private static final int MAX_IDENTIFIER = Arrays.stream(values())
+      .mapToInt(Registrar::getIdentifier)
+      .max()
+      .getAsInt(); // */
+
+  /**
+   * Registrars indexed by identifier minus {@link #MIN_IDENTIFIER}.
+   *
+   * <p>Identifiers are the result of the zig-zag mapping in the constructor,
+   * thus they might be negative, hence the offset. Gaps in the range of
+   * identifiers are filled with {@code null}.
+   */
+  private static final Registrar[] LOOKUP = createLookup(); // */
+
   /**
    * Identifier of a registrar.
    */
@@ -81,17 +106,43 @@ public enum Registrar {
   /**
    * Pseudo constructor.
    *
-   * @param identifier corresponding to a disease
+   * <p>The lookup is a direct array access, see {@link #LOOKUP}.
+   *
+   * @param identifier corresponding to a registrar, i.e. as returned by
+   *                   {@link #getIdentifier()}
    *
-   * @throws NoSuchElementException if there is no corresponding disease to
+   * @return registrar with given identifier
+   *
+   * @throws NoSuchElementException if there is no corresponding registrar to
    *                                {@code identifier}
    */
   public static Registrar getInstance(
       final int identifier
   ) {
-    return Arrays.stream(Registrar.values())
-        .filter(registrar -> registrar.insIdentifier == identifier)
-        .findAny()
-        .get();
+    if ((MIN_IDENTIFIER <= identifier) && (identifier <= MAX_IDENTIFIER)) {
+      final Registrar result = LOOKUP[identifier - MIN_IDENTIFIER];
+
+      if (null != result) {
+        return result;
+      } // end if
+    } // end if
+    // ... no registrar with given identifier
+
+    throw new NoSuchElementException("unknown registrar: " + identifier);
+  } // end method */
+
+  /**
+   * Creates lookup table for {@link #getInstance(int)}.
+   *
+   * @return registrars indexed by identifier minus {@link #MIN_IDENTIFIER}
+   */
+  private static Registrar[] createLookup() {
+    final Registrar[] result = new Registrar[MAX_IDENTIFIER - MIN_IDENTIFIER + 1];
+
+    for (final Registrar registrar : values()) {
+      result[registrar.getIdentifier() - MIN_IDENTIFIER] = registrar;
+    } // end for (registrar...)
+
+    return result;
   } // end method */
 } // end enum
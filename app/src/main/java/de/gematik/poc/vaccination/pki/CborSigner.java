@@ -26,19 +26,16 @@ import co.nstant.in.cbor.model.DataItem;
 import co.nstant.in.cbor.model.Number;
 import com.gmail.alfred65fiedler.crypto.AfiElcParameterSpec;
 import com.gmail.alfred65fiedler.crypto.AfiElcUtils;
-import com.gmail.alfred65fiedler.tlv.BerTlv;
 import com.gmail.alfred65fiedler.tlv.DerBitString;
-import com.gmail.alfred65fiedler.tlv.DerInteger;
-import com.gmail.alfred65fiedler.tlv.DerSequence;
-import com.gmail.alfred65fiedler.utils.AfiBigInteger;
-import com.gmail.alfred65fiedler.utils.AfiUtils;
 import com.gmail.alfred65fiedler.utils.Hex;
 import de.gematik.poc.vaccination.certvac.InformationOfProof;
 import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.LruCache;
 import de.gematik.poc.vaccination.utils.Utils;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -83,6 +80,30 @@ public final class CborSigner { // NOPMD too many methods
    */
   /* package */ static final String SUFFIX_COMPACT = "_compactCert"; // */
 
+  /**
+   * Maximum number of octet a DER encoded {@code ECDSA-Sig-Value} exceeds
+   * the corresponding signature in format {@code R || S}.
+   *
+   * <p>Tag and length-field of {@code SEQUENCE} take at most four octet, tag,
+   * length-field and padding of each {@code INTEGER} take at most five octet.
+   */
+  /* package */ static final int DER_OVERHEAD = 14; // */
+
+  /**
+   * Name of system property controlling the capacity of {@link #CACHE_POINT}.
+   */
+  /* package */ static final String PROPERTY_POINT_CACHE_CAPACITY =
+      "vaccination.pki.pointCacheCapacity"; // */
+
+  /**
+   * Cache with decompressed points from compact certificates.
+   *
+   * <p>Keys are compressed points, values are the corresponding public keys.
+   * Default capacity is 1024 entries, see {@link #PROPERTY_POINT_CACHE_CAPACITY}.
+   */
+  /* package */ static final LruCache<ByteBuffer, ECPublicKey> CACHE_POINT =
+      new LruCache<>(Integer.getInteger(PROPERTY_POINT_CACHE_CAPACITY, 1024)); // */
+
   /**
    * Private default-constructor.
    */
@@ -220,9 +241,16 @@ public final class CborSigner { // NOPMD too many methods
    * {@link ECPublicKey} contained in the compact certificate is returned.
    * If the verification fails for any reason an exception is thrown.
    *
+   * <p>The public key of the issuer is resolved once per identifier, see
+   * {@link IssuerKeys}. The public key of the subject is decompressed once per
+   * point, see {@link #decompress(byte[])}. Thus, verifying a compact
+   * certificate typically costs one signature verification.
+   *
    * @param octets compact certificate to be verified
    *
    * @return public key contained in the compact certificate
+   *
+   * @throws NoSuchElementException if the issuer is absent
    */
   public static ECPublicKey verifyCompactCertificate(
       final byte[] octets
@@ -242,32 +270,66 @@ public final class CborSigner { // NOPMD too many methods
     final Iterator<DataItem> itContent = CborDecoder.decode(message).iterator();
     final int identifier = ((Number) itContent.next()).getValue()
         .intValueExact(); // spotbugs: BC_UNCONFIRMED_CAST_OF_RETURN_VALUE
-    if (verify(message, signature, Integer.toString(identifier))) {
+
+    if (verify(message, signature, IssuerKeys.get(identifier))) {
       // ... signature is valid
       //     => extract and create public key
-      // TODO estimate domain parameter from registrar and version number, rather
-      //      than use fixed domain parameter
-      final AfiElcParameterSpec dp = AfiElcParameterSpec.brainpoolP256r1;
-
       // extract compressed point from signed message
       final byte[] compressed = ((ByteString) itContent.next())
           .getBytes(); // spotbugs: BC_UNCONFIRMED_CAST_OF_RETURN_VALUE
 
-      // convert compressed point to point on elliptic curve
-      final ECPoint point = AfiElcUtils.os2p(compressed, dp);
-
-      // estimate public key from point and domain parameters
-      final ECPublicKeySpec publicKeySpec = new ECPublicKeySpec(point, dp);
-
-      // estimate public key
-      final KeyFactory keyFactory = KeyFactory.getInstance("EC");
-      return (ECPublicKey) keyFactory.generatePublic(publicKeySpec);
+      return decompress(compressed);
     } // end if
     // ... signature is invalid
 
     throw new IllegalArgumentException("invalid certificate");
   } // end method */
 
+  /**
+   * Converts compressed point to public key, uses {@link #CACHE_POINT}.
+   *
+   * <p>Decompressing a point requires a modular square root. Because only a
+   * few subjects sign a huge number of proofs, each compressed point is
+   * decompressed once and afterwards the public key is returned from cache
+   * as long as the entry is not evicted.
+   *
+   * @param compressed point from compact certificate
+   *
+   * @return public key
+   *
+   * @throws InvalidKeySpecException  if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  /* package */ static ECPublicKey decompress(
+      final byte[] compressed
+  ) throws
+      InvalidKeySpecException,
+      NoSuchAlgorithmException {
+    final ByteBuffer key = ByteBuffer.wrap(compressed);
+    final ECPublicKey cached = CACHE_POINT.get(key);
+    if (null != cached) {
+      return cached;
+    } // end if
+    // ... point not (or no longer) cached
+
+    // TODO estimate domain parameter from registrar and version number, rather
+    //      than use fixed domain parameter
+    final AfiElcParameterSpec dp = AfiElcParameterSpec.brainpoolP256r1;
+
+    // convert compressed point to point on elliptic curve
+    final ECPoint point = AfiElcUtils.os2p(compressed, dp);
+
+    // estimate public key from point and domain parameters
+    final ECPublicKeySpec publicKeySpec = new ECPublicKeySpec(point, dp);
+
+    // estimate public key
+    final KeyFactory keyFactory = KeyFactory.getInstance("EC");
+    final ECPublicKey result = (ECPublicKey) keyFactory.generatePublic(publicKeySpec);
+    CACHE_POINT.put(key, result);
+
+    return result;
+  } // end method */
+
   /**
    * Extracts elements from a compact certificate.
    *
@@ -435,13 +497,9 @@ public final class CborSigner { // NOPMD too many methods
       UnrecoverableKeyException {
     // --- get private key
     final ECPrivateKey prk = PublicKeyInfrastructure.getPrivateKey(commonName);
-    final int tau = (int) Math.round(Math.ceil(prk.getParams().getOrder().bitLength() / 8.0));
-
-    // --- compute digital signature
-    final DerBitString signature = PublicKeyInfrastructure.signEcdsa(message, prk);
 
-    // --- compress signature
-    return compressSignature(signature, tau);
+    // --- compute digital signature, already in format R || S
+    return PublicKeyInfrastructure.signEcdsaP1363(message, prk);
   } // end constructor */
 
   /**
@@ -466,9 +524,9 @@ public final class CborSigner { // NOPMD too many methods
       NoSuchAlgorithmException,
       SignatureException {
     // --- verify signature
-    return PublicKeyInfrastructure.verifyEcdsa(
+    return PublicKeyInfrastructure.verifyEcdsaP1363(
         message,
-        expandSignature(signature),                      // expand signature
+        signature,                                       // no expansion necessary
         PublicKeyInfrastructure.getPublicKey(commonName) // get public key
     );
   } // end method */
@@ -495,49 +553,339 @@ public final class CborSigner { // NOPMD too many methods
       NoSuchAlgorithmException,
       SignatureException {
     // --- verify signature
-    return PublicKeyInfrastructure.verifyEcdsa(
+    return PublicKeyInfrastructure.verifyEcdsaP1363(
         message,
-        expandSignature(signature), // expand signature
-        puk                         // get public key
+        signature, // no expansion necessary
+        puk        // public key
     );
   } // end method */
 
+  /**
+   * Compresses a signature from DER format to format {@code R || S}.
+   *
+   * @param signature {@code signatureValue} according to
+   *                  <a href="https://tools.ietf.org/html/rfc5280">RFC 5280</a>
+   * @param tau       number of octet in {@code R} and {@code S}
+   *
+   * @return ECDSA signature {@code R || S}
+   */
   /* package */ static byte[] compressSignature(
       final DerBitString signature,
       final int tau
   ) {
-    final List<BerTlv> sigC = ((DerSequence) BerTlv.getInstance(signature.getDecoded()))
-        .getDecoded();
+    return compressSignature(signature.getDecoded(), tau);
+  } // end method */
+
+  /**
+   * Compresses a signature from DER format to format {@code R || S}.
+   *
+   * <p>The DER encoded {@code ECDSA-Sig-Value} is parsed directly, i.e. no
+   * intermediate TLV objects or {@link BigInteger}s are created.
+   *
+   * @param signature DER encoded {@code SEQUENCE {INTEGER r, INTEGER s}}
+   * @param tau       number of octet in {@code R} and {@code S}
+   *
+   * @return ECDSA signature {@code R || S}
+   *
+   * @throws IllegalArgumentException if {@code signature} is not a DER encoded
+   *                                  {@code ECDSA-Sig-Value} or {@code r} or
+   *                                  {@code s} exceed {@code tau} octet
+   */
+  /* package */ static byte[] compressSignature(
+      final byte[] signature,
+      final int tau
+  ) {
+    final byte[] result = new byte[tau << 1];
+
+    // --- skip tag and length-field of SEQUENCE
+    if (0x30 != signature[0]) { // NOPMD literal in conditional statement
+      throw new IllegalArgumentException("SEQUENCE expected");
+    } // end if
+    int index = skipLength(signature, 1);
 
-    // --- extract r and s from signature
-    final BigInteger biR = ((DerInteger) sigC.get(0)).getDecoded();
-    final BigInteger biS = ((DerInteger) sigC.get(1)).getDecoded();
+    // --- copy r and s, right aligned
+    index = copyDerInteger(signature, index, result, 0, tau);
+    copyDerInteger(signature, index, result, tau, tau);
 
-    return AfiUtils.concatenate(
-        AfiBigInteger.i2os(biR, tau),
-        AfiBigInteger.i2os(biS, tau)
-    );
+    return result;
+  } // end method */
+
+  /**
+   * Skips DER encoded length-field.
+   *
+   * @param octets DER encoded TLV object
+   * @param index  of length-field
+   *
+   * @return index of value-field
+   */
+  private static int skipLength(
+      final byte[] octets,
+      final int index
+  ) {
+    final int first = octets[index] & 0xff;
+
+    return index + 1 + ((first < 0x80) ? 0 : (first & 0x7f));
+  } // end method */
+
+  /**
+   * Copies value of a DER encoded {@code INTEGER} without leading zeros.
+   *
+   * @param octets      DER encoded {@code INTEGER} at position {@code index}
+   * @param index       of tag
+   * @param destination receiving the value right aligned
+   * @param offset      of value in {@code destination}
+   * @param tau         number of octet available in {@code destination}
+   *
+   * @return index after the {@code INTEGER}
+   *
+   * @throws IllegalArgumentException if there is no {@code INTEGER} at
+   *                                  {@code index} or its value exceeds
+   *                                  {@code tau} octet
+   */
+  private static int copyDerInteger(
+      final byte[] octets,
+      final int index,
+      final byte[] destination,
+      final int offset,
+      final int tau
+  ) {
+    if (0x02 != octets[index]) { // NOPMD literal in conditional statement
+      throw new IllegalArgumentException("INTEGER expected");
+    } // end if
+
+    // --- estimate length of value-field
+    int length = 0;
+    final int first = octets[index + 1] & 0xff;
+    int start = index + 2;
+    if (first < 0x80) { // NOPMD literal in conditional statement
+      length = first;
+    } else {
+      for (int i = first & 0x7f; i-- > 0; ) { // NOPMD assignment in operand
+        length = (length << 8) | (octets[start++] & 0xff);
+      } // end for (i...)
+    } // end else
+    final int end = start + length;
+
+    // --- skip leading zeros, e.g. padding
+    while ((start < end) && (0 == octets[start])) {
+      start++;
+    } // end while
+
+    final int significant = end - start;
+    if (significant > tau) {
+      throw new IllegalArgumentException("integer exceeds " + tau + " octet");
+    } // end if
+
+    System.arraycopy(octets, start, destination, offset + tau - significant, significant);
+
+    return end;
   } // end method */
 
+  /**
+   * Expands a signature from format {@code R || S} to DER format.
+   *
+   * @param signature as concatenation of {@code R || S}
+   *
+   * @return {@code signatureValue} according to
+   *         <a href="https://tools.ietf.org/html/rfc5280">RFC 5280</a>
+   *
+   * @throws IllegalArgumentException if the number of octet in {@code signature}
+   *                                  is less than two or odd
+   */
   /* package */ static DerBitString expandSignature(
       final byte[] signature
   ) {
+    final byte[] buffer = new byte[signature.length + DER_OVERHEAD];
+    final int length = expandSignature(signature, buffer);
+
+    return new DerBitString(Arrays.copyOfRange(buffer, 0, length));
+  } // end method */
+
+  /**
+   * Expands a signature from format {@code R || S} to DER format.
+   *
+   * <p>The DER encoded {@code ECDSA-Sig-Value} is written directly into the
+   * given buffer. No intermediate objects are created.
+   *
+   * @param signature as concatenation of {@code R || S}
+   * @param buffer    receiving {@code SEQUENCE {INTEGER r, INTEGER s}}, the
+   *                  capacity has to be at least
+   *                  {@code signature.length + }{@link #DER_OVERHEAD}
+   *
+   * @return number of octet written to {@code buffer}
+   *
+   * @throws IllegalArgumentException if the number of octet in {@code signature}
+   *                                  is less than two or odd
+   */
+  /* package */ static int expandSignature(
+      final byte[] signature,
+      final byte[] buffer
+  ) {
+    checkSignatureLength(signature);
+    // ... even number of octet in signature
+
+    final int size = signature.length >> 1;
+
+    // --- estimate position and length of R and S without leading zeros
+    final int offsetR = skipLeadingZeros(signature, 0, size);
+    final int offsetS = skipLeadingZeros(signature, size, signature.length);
+    final int lengthR = lengthDerInteger(signature, offsetR, size);
+    final int lengthS = lengthDerInteger(signature, offsetS, signature.length);
+    final int lengthContent = lengthR + lengthS;
+
+    // --- write SEQUENCE
+    int index = 0;
+    buffer[index++] = 0x30; // tag SEQUENCE
+    index = writeLength(buffer, index, lengthContent);
+    index = writeDerInteger(buffer, index, signature, offsetR, size);
+
+    return writeDerInteger(buffer, index, signature, offsetS, signature.length);
+  } // end method */
+
+  /**
+   * Checks that given signature in format {@code R || S} has an even length
+   * of at least two octet, i.e. {@code R} and {@code S} each contain at least
+   * one octet.
+   *
+   * @param signature as concatenation of {@code R || S}
+   *
+   * @throws IllegalArgumentException if the number of octet in {@code signature}
+   *                                  is less than two or odd
+   */
+  /* package */ static void checkSignatureLength(
+      final byte[] signature
+  ) {
+    if (signature.length < 2) { // NOPMD literal in conditional statement
+      // ... R or S would be empty
+      throw new IllegalArgumentException("signature R || S too short");
+    } // end if
+
     if (1 == (signature.length & 1)) { // NOPMD literal in conditional statment
       // ... length of signature is odd
       //     => do not know how to split that evenly into R || S
       throw new IllegalArgumentException("odd number of octet in signature R || S");
     } // end if
-    // ... even number of octet in signature
+  } // end method */
 
-    final int size = signature.length >> 1;
-    final byte[] octetR = Arrays.copyOfRange(signature, 0, size);
-    final byte[] octetS = Arrays.copyOfRange(signature, size, signature.length);
-
-    return new DerBitString(
-        new DerSequence(List.of(
-            new DerInteger(new BigInteger(1, octetR)),
-            new DerInteger(new BigInteger(1, octetS))
-        )).toByteArray()
-    );
+  /**
+   * Returns index of first non-zero octet.
+   *
+   * <p>If all octet are zero, then the index of the last octet is returned,
+   * because a DER encoded {@code INTEGER} contains at least one octet.
+   *
+   * @param octets     unsigned integer in big-endian order
+   * @param startIndex index of first octet
+   * @param endIndex   index after last octet
+   *
+   * @return index of first significant octet
+   */
+  private static int skipLeadingZeros(
+      final byte[] octets,
+      final int startIndex,
+      final int endIndex
+  ) {
+    int result = startIndex;
+    while ((result < endIndex - 1) && (0 == octets[result])) {
+      result++;
+    } // end while
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns length of DER encoded {@code INTEGER}.
+   *
+   * @param octets     unsigned integer in big-endian order
+   * @param startIndex index of first significant octet
+   * @param endIndex   index after last octet
+   *
+   * @return length of tag, length-field and value-field
+   */
+  private static int lengthDerInteger(
+      final byte[] octets,
+      final int startIndex,
+      final int endIndex
+  ) {
+    // Note: A leading 0x00 is necessary if the most significant bit is set.
+    final int lengthValue = endIndex - startIndex + ((octets[startIndex] < 0) ? 1 : 0);
+
+    return 1 + lengthLength(lengthValue) + lengthValue;
+  } // end method */
+
+  /**
+   * Returns number of octet necessary for encoding given length.
+   *
+   * @param length to be encoded
+   *
+   * @return number of octet in DER encoded length-field
+   */
+  private static int lengthLength(
+      final int length
+  ) {
+    if (length < 0x80) { // NOPMD literal in conditional statement
+      return 1;
+    } else if (length < 0x100) { // NOPMD literal in conditional statement
+      return 2;
+    } // end if
+
+    return 3;
+  } // end method */
+
+  /**
+   * Writes DER encoded length-field.
+   *
+   * @param buffer receiving the length-field
+   * @param index  of first octet to be written
+   * @param length to be encoded
+   *
+   * @return index after last octet written
+   */
+  private static int writeLength(
+      final byte[] buffer,
+      final int index,
+      final int length
+  ) {
+    int result = index;
+    if (length >= 0x100) { // NOPMD literal in conditional statement
+      buffer[result++] = (byte) 0x82;
+      buffer[result++] = (byte) (length >> 8);
+    } else if (length >= 0x80) { // NOPMD literal in conditional statement
+      buffer[result++] = (byte) 0x81;
+    } // end if
+    buffer[result++] = (byte) length;
+
+    return result;
+  } // end method */
+
+  /**
+   * Writes DER encoded {@code INTEGER}.
+   *
+   * @param buffer     receiving the {@code INTEGER}
+   * @param index      of first octet to be written
+   * @param octets     unsigned integer in big-endian order
+   * @param startIndex index of first significant octet
+   * @param endIndex   index after last octet
+   *
+   * @return index after last octet written
+   */
+  private static int writeDerInteger(
+      final byte[] buffer,
+      final int index,
+      final byte[] octets,
+      final int startIndex,
+      final int endIndex
+  ) {
+    final boolean padding = octets[startIndex] < 0;
+    final int lengthValue = endIndex - startIndex;
+
+    int result = index;
+    buffer[result++] = 0x02; // tag INTEGER
+    result = writeLength(buffer, result, lengthValue + (padding ? 1 : 0));
+    if (padding) {
+      buffer[result++] = 0;
+    } // end if
+    System.arraycopy(octets, startIndex, buffer, result, lengthValue);
+
+    return result + lengthValue;
   } // end method */
 } // end class
@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store of certificates issued by a certification authority.
+ *
+ * <p>Formerly each issued certificate was added to the key store with
+ * certificates of the issuing CA, i.e. that key store was read, extended by
+ * one entry and written again. Thus, issuing {@code N} certificates took time
+ * proportional to {@code N^2}. This class stores issued certificates in two
+ * files within the directory of the CA:
+ * <ol>
+ *   <li>{@link #SUFFIX_LOG}: concatenation of DER-encoded certificates,
+ *   <li>{@link #SUFFIX_INDEX}: one record per certificate with offset and
+ *       length within the log and the common name of the subject.
+ * </ol>
+ *
+ * <p>Both files are only appended to. Thus, the cost of issuing a certificate
+ * does not depend on the number of certificates issued before.
+ *
+ * <p>In particular:
+ * <ol>
+ *   <li>Writers are serialized by the lock of this class within a process and
+ *       by a lock on the log file between processes.
+ *   <li>The log is written before the index. Records pointing beyond the end
+ *       of the log (e.g. after an interrupted write) are ignored. An
+ *       incomplete record at the end of the index (e.g. after an interrupted
+ *       write) is ignored when reading and removed before appending.
+ *   <li>A PKCS#12 key store with all issued certificates is available on
+ *       demand, see {@link #exportKeyStore(Path, String)}.
+ * </ol>
+ */
+/* package */ final class CertificateLog {
+  /**
+   * Suffix of file name with concatenated DER-encoded certificates.
+   */
+  /* package */ static final String SUFFIX_LOG = "_issued.X509.der"; // */
+
+  /**
+   * Suffix of file name with offset index.
+   */
+  /* package */ static final String SUFFIX_INDEX = "_issued.X509.idx"; // */
+
+  /**
+   * Number of octet in a record of the index without the common name, i.e.
+   * offset, length and length of the common name.
+   */
+  private static final int RECORD_FIX = Long.BYTES + Integer.BYTES + Short.BYTES; // */
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(CertificateLog.class); // */
+
+  /**
+   * Size of the complete records at the start of an index.
+   *
+   * <p>Key is the absolute path of an index. Thus, before appending only
+   * records written afterwards (e.g. by other processes) are checked.
+   * Guarded by the lock of this class.
+   */
+  private static final Map<Path, Long> VALIDATED = new HashMap<>(); // */
+
+  /**
+   * Private default-constructor.
+   *
+   * <p><i><b>Note:</b> This is a utility class.</i>
+   */
+  private CertificateLog() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Appends certificates to the log of a CA.
+   *
+   * <p>All certificates are written with one write-operation to the log and
+   * one write-operation to the index.
+   *
+   * @param directory    of CA
+   * @param commonNameCa common name of CA
+   * @param certificates issued by CA
+   *
+   * @throws CertificateException if underlying methods do so
+   * @throws IOException          if underlying methods do so
+   */
+  /* package */ static void append(
+      final Path directory,
+      final String commonNameCa,
+      final List<X509Certificate> certificates
+  ) throws
+      CertificateException,
+      IOException {
+    if (certificates.isEmpty()) {
+      return;
+    } // end if
+    // ... at least one certificate
+
+    // --- encode certificates outside of lock
+    final ByteArrayOutputStream log = new ByteArrayOutputStream();
+    final List<Integer> lengths = new ArrayList<>(certificates.size());
+    for (final X509Certificate x509 : certificates) {
+      final byte[] der = x509.getEncoded();
+      log.write(der, 0, der.length);
+      lengths.add(der.length);
+    } // end for (x509...)
+
+    synchronized (CertificateLog.class) {
+      try (FileChannel channel = FileChannel.open(
+          directory.resolve(commonNameCa + SUFFIX_LOG),
+          StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE,
+          StandardOpenOption.APPEND
+      )) {
+        final FileLock lock = channel.lock();
+
+        try {
+          // --- compose index records, offsets start at current end of log
+          final ByteArrayOutputStream index = new ByteArrayOutputStream();
+          final DataOutputStream dos = new DataOutputStream(index);
+          long offset = channel.size();
+          for (int i = 0; i < certificates.size(); i++) {
+            final int length = lengths.get(i);
+            dos.writeLong(offset);
+            dos.writeInt(length);
+            dos.writeUTF(PublicKeyInfrastructure.getCommonName(certificates.get(i)));
+            offset += length;
+          } // end for (i...)
+
+          // --- write log, then index
+          final ByteBuffer buffer = ByteBuffer.wrap(log.toByteArray());
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          } // end while (bytes remaining)
+          appendIndex(directory.resolve(commonNameCa + SUFFIX_INDEX), index.toByteArray());
+        } finally {
+          lock.release();
+        } // end finally
+      } // end try-with-resources
+    } // end synchronized
+  } // end method */
+
+  /**
+   * Appends records to an index.
+   *
+   * <p>If the index ends with an incomplete record, then that record is
+   * removed before appending. Otherwise, that record and all records appended
+   * afterwards would be misread.
+   *
+   * <p>Assertions: The caller holds the lock of this class and the lock on
+   * the corresponding log.
+   *
+   * @param path    of index
+   * @param records to be appended
+   *
+   * @throws IOException if underlying methods do so
+   */
+  private static void appendIndex(
+      final Path path,
+      final byte[] records
+  ) throws IOException {
+    final Path key = path.toAbsolutePath().normalize();
+
+    try (FileChannel channel = FileChannel.open(
+        path,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE
+    )) {
+      final long size = channel.size();
+      long start = VALIDATED.getOrDefault(key, 0L);
+      if (start > size) {
+        // ... index shrunk since last validation, e.g. replaced
+        start = 0;
+      } // end if
+
+      // --- read records not yet validated
+      final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - start));
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, start + buffer.position()) < 0) {
+          throw new EOFException("index truncated: " + path);
+        } // end if
+      } // end while (bytes remaining)
+      buffer.flip();
+
+      // --- remove incomplete record, if any
+      final long complete = start + lengthComplete(buffer);
+      if (complete < size) {
+        LOGGER.atWarn().log("incomplete record at end of {} removed", path);
+        channel.truncate(complete);
+      } // end if
+
+      // --- append records
+      final ByteBuffer output = ByteBuffer.wrap(records);
+      long position = complete;
+      while (output.hasRemaining()) {
+        position += channel.write(output, position);
+      } // end while (bytes remaining)
+
+      VALIDATED.put(key, position);
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Returns number of octet in complete records.
+   *
+   * @param buffer with records of an index, position at start of a record
+   *
+   * @return number of octet from the position of {@code buffer} to the end of
+   *         the last complete record
+   */
+  /* package */ static int lengthComplete(
+      final ByteBuffer buffer
+  ) {
+    int result = 0;
+
+    while (buffer.remaining() - result >= RECORD_FIX) {
+      final int lengthRecord = RECORD_FIX + (
+          buffer.getShort(buffer.position() + result + RECORD_FIX - Short.BYTES) & 0xffff
+      );
+      if (buffer.remaining() - result < lengthRecord) {
+        break;
+      } // end if
+
+      result += lengthRecord;
+    } // end while (record header available)
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns certificate issued by a CA for given subject.
+   *
+   * <p>Only the index and the bytes of the requested certificate are read.
+   * If more than one certificate was issued for {@code commonNameSubject},
+   * then the latest one is returned.
+   *
+   * @param directory         of CA
+   * @param commonNameCa      common name of CA
+   * @param commonNameSubject common name of subject
+   *
+   * @return certificate, {@code null} if no certificate was issued for
+   *         {@code commonNameSubject}
+   *
+   * @throws CertificateException if underlying methods do so
+   * @throws IOException          if underlying methods do so
+   */
+  @CheckForNull
+  /* package */ static X509Certificate getCertificate(
+      final Path directory,
+      final String commonNameCa,
+      final String commonNameSubject
+  ) throws
+      CertificateException,
+      IOException {
+    final Path path = directory.resolve(commonNameCa + SUFFIX_LOG);
+    if (!Files.isRegularFile(path)) {
+      return null;
+    } // end if
+    // ... log present
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final Entry entry = readIndex(directory, commonNameCa, channel.size())
+          .get(commonNameSubject);
+      if (null == entry) {
+        return null;
+      } // end if
+      // ... entry present
+
+      final ByteBuffer buffer = ByteBuffer.allocate(entry.insLength);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, entry.insOffset + buffer.position()) < 0) {
+          throw new EOFException("log truncated: " + path);
+        } // end if
+      } // end while (bytes remaining)
+
+      return (X509Certificate) CertificateFactory
+          .getInstance(PublicKeyInfrastructure.CERTIFICATE_TYPE)
+          .generateCertificate(new ByteArrayInputStream(buffer.array()));
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Returns all certificates issued by a CA.
+   *
+   * @param directory    of CA
+   * @param commonNameCa common name of CA
+   *
+   * @return mapping from common name of subject to certificate in the order
+   *         of issuance, if more than one certificate was issued for the same
+   *         subject, then the latest one is present
+   *
+   * @throws CertificateException if underlying methods do so
+   * @throws IOException          if underlying methods do so
+   */
+  /* package */ static Map<String, X509Certificate> readAll(
+      final Path directory,
+      final String commonNameCa
+  ) throws
+      CertificateException,
+      IOException {
+    final Map<String, X509Certificate> result = new LinkedHashMap<>();
+    final Path path = directory.resolve(commonNameCa + SUFFIX_LOG);
+    if (!Files.isRegularFile(path)) {
+      return result;
+    } // end if
+    // ... log present
+
+    final byte[] log = Files.readAllBytes(path);
+    final CertificateFactory certificateFactory = CertificateFactory.getInstance(
+        PublicKeyInfrastructure.CERTIFICATE_TYPE
+    );
+    for (final Map.Entry<String, Entry> i : readIndex(
+        directory,
+        commonNameCa,
+        log.length
+    ).entrySet()) {
+      final Entry entry = i.getValue();
+      result.put(i.getKey(), (X509Certificate) certificateFactory.generateCertificate(
+          new ByteArrayInputStream(log, (int) entry.insOffset, entry.insLength)
+      ));
+    } // end for (i...)
+
+    return result;
+  } // end method */
+
+  /**
+   * Exports all certificates issued by a CA to the key store with
+   * certificates of that CA.
+   *
+   * <p>The key store keeps its previous entries (e.g. the certificate-chain
+   * of the CA) and is replaced atomically. Thus, readers never see a
+   * partially written key store. Calling this method repeatedly is harmless.
+   *
+   * @param directory    of CA
+   * @param commonNameCa common name of CA
+   *
+   * @return number of exported certificates
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  /* package */ static int exportKeyStore(
+      final Path directory,
+      final String commonNameCa
+  ) throws
+      CertificateException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    final Path path = directory.resolve(
+        commonNameCa + PublicKeyInfrastructure.SUFFIX_KEYSTORE_X509
+    );
+    final KeyStore keyStore = KeyStore.getInstance(
+        path.toFile(),
+        PublicKeyInfrastructure.KEYSTORE_PASSWORD
+    );
+
+    final Map<String, X509Certificate> issued = readAll(directory, commonNameCa);
+    for (final Map.Entry<String, X509Certificate> entry : issued.entrySet()) {
+      keyStore.setCertificateEntry(entry.getKey(), entry.getValue());
+    } // end for (entry...)
+
+    final Path tmp = Files.createTempFile(directory, commonNameCa, ".tmp");
+    try {
+      try (OutputStream fos = Files.newOutputStream(tmp)) {
+        keyStore.store(fos, PublicKeyInfrastructure.KEYSTORE_PASSWORD);
+      } // end try-with-resources
+      Files.move(
+          tmp,
+          path,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE
+      );
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // end finally
+
+    LOGGER.atInfo().log("{} certificates exported to {}", issued.size(), path);
+
+    return issued.size();
+  } // end method */
+
+  /**
+   * Reads index of a CA.
+   *
+   * @param directory    of CA
+   * @param commonNameCa common name of CA
+   * @param sizeLog      current size of log in bytes, records pointing beyond
+   *                     are ignored
+   *
+   * @return mapping from common name of subject to position within log in the
+   *         order of issuance
+   *
+   * @throws IOException if underlying methods do so
+   */
+  private static Map<String, Entry> readIndex(
+      final Path directory,
+      final String commonNameCa,
+      final long sizeLog
+  ) throws IOException {
+    final Map<String, Entry> result = new LinkedHashMap<>();
+    final Path path = directory.resolve(commonNameCa + SUFFIX_INDEX);
+    if (!Files.isRegularFile(path)) {
+      return result;
+    } // end if
+    // ... index present
+
+    final ByteArrayInputStream bais = new ByteArrayInputStream(Files.readAllBytes(path));
+    final DataInputStream dis = new DataInputStream(bais);
+    try {
+      while (bais.available() > 0) {
+        final long offset = dis.readLong();
+        final int length = dis.readInt();
+        final String commonName = dis.readUTF();
+
+        if (offset + length <= sizeLog) {
+          result.remove(commonName); // keep order of issuance for re-issued subjects
+          result.put(commonName, new Entry(offset, length));
+        } // end if
+      } // end while (bytes available)
+    } catch (EOFException e) {
+      // ... last record incomplete, e.g. because of an interrupted write
+      LOGGER.atWarn().log("incomplete record at end of {} ignored", path);
+    } // end catch (EOFException)
+
+    return result;
+  } // end method */
+
+  /**
+   * Position of a certificate within the log.
+   */
+  private static final class Entry {
+    /**
+     * Offset of first byte.
+     */
+    private final long insOffset; // */
+
+    /**
+     * Number of bytes.
+     */
+    private final int insLength; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param offset of first byte
+     * @param length number of bytes
+     */
+    private Entry(
+        final long offset,
+        final int length
+    ) {
+      insOffset = offset;
+      insLength = length;
+    } // end constructor */
+  } // end inner class
+} // end class
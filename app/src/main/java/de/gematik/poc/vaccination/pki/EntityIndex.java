@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index mapping the common name of an entity to its directory in the PKI-structure.
+ *
+ * <p>{@link PublicKeyInfrastructure} stores each entity in a directory named
+ * after the common name of that entity. Searching such a directory by walking
+ * the file-system costs time proportional to the size of the PKI-structure.
+ * This class keeps the mapping from common name to directory in memory, such
+ * that lookups take constant time.
+ *
+ * <p>In particular:
+ * <ol>
+ *   <li>The index is built once per base path of a PKI-structure, either from
+ *       a persisted index (if present) or by walking the file-system.
+ *   <li>The index is updated whenever an entity is created, see
+ *       {@link #add(Path, Path)}.
+ *   <li>If a common name is absent in the index or the indexed directory
+ *       vanished (e.g. because another process modified the PKI-structure)
+ *       the index is rebuilt by walking the file-system.
+ *   <li>A common name still absent after such a rebuild is remembered as
+ *       missing. Further lookups of that name fail without walking the
+ *       file-system again. Thus, each unknown common name costs at most one
+ *       rebuild. A missing name is forgotten if it is added or if the index
+ *       is rebuilt for another reason.
+ *   <li>Optionally, i.e. if system property {@link #PROPERTY_PERSIST} is
+ *       {@code "true"}, the index is persisted in file {@link #INDEX_FILE_NAME}
+ *       within the base path whenever entities are added. A rebuild caused by
+ *       a lookup never persists the index.
+ * </ol>
+ */
+// Note 1: Spotbugs claims: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE, i.e.
+//         Possible null pointer dereference due to return value of called method
+//         That finding is correct. It belongs to places where the file name of a
+//         path is requested (which might be null). This finding is ignored hereafter,
+//         because only paths within the base path are considered.
+@edu.umd.cs.findbugs.annotations.SuppressFBWarnings({
+    "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE" // see note 1
+}) // */
+/* package */ final class EntityIndex {
+  /**
+   * Name of file within base path used for persisting the index.
+   */
+  /* package */ static final String INDEX_FILE_NAME = "entityIndex.properties"; // */
+
+  /**
+   * Name of system property controlling whether the index is persisted.
+   */
+  /* package */ static final String PROPERTY_PERSIST = "vaccination.pki.persistIndex"; // */
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(EntityIndex.class); // */
+
+  /**
+   * Current index.
+   *
+   * <p><i><b>Note:</b> Readers use this attribute without synchronization.
+   * Writers replace or modify it while holding the lock of this class.</i>
+   */
+  private static volatile Index claIndex = new Index(// NOPMD volatile
+      Paths.get(""),
+      new ConcurrentHashMap<>()
+  ); // */
+
+  /**
+   * Private default-constructor.
+   *
+   * <p><i><b>Note:</b> This is a utility class.</i>
+   */
+  private EntityIndex() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Returns path to directory of the entity with the given {@code commonName}.
+   *
+   * @param basePath   of PKI-structure
+   * @param commonName of entity
+   *
+   * @return path to directory of entity
+   *
+   * @throws IOException            if underlying methods do so
+   * @throws NoSuchElementException if there is no entity with given
+   *                                {@code commonName}
+   */
+  /* package */ static Path getPath(
+      final Path basePath,
+      final String commonName
+  ) throws IOException {
+    final Index index = getIndex(basePath);
+    final Path result = index.insMapping.get(commonName);
+
+    if ((null != result) && Files.isDirectory(result)) {
+      // ... index hit
+      return result;
+    } // end if
+
+    synchronized (EntityIndex.class) {
+      // Note: Check again while holding the lock, because another thread
+      //       possibly rebuilt the index in the meantime.
+      final Index current = getIndex(basePath);
+      final Path path = current.insMapping.get(commonName);
+
+      if (null == path) {
+        if (current.insMissing.contains(commonName)) {
+          // ... commonName known to be missing
+          //     => do not rebuild again
+          throw noSuchEntity(commonName);
+        } // end if
+      } else if (Files.isDirectory(path)) {
+        // ... index rebuilt by another thread
+        return path;
+      } // end else if
+      // ... commonName absent or directory vanished
+      //     => rebuild index from file-system, keep missing names only if
+      //        the rebuild is caused by an absent commonName
+
+      final Index rebuilt = build(basePath, false, null == path);
+      final Path found = rebuilt.insMapping.get(commonName);
+
+      if (null == found) {
+        rebuilt.insMissing.add(commonName);
+
+        throw noSuchEntity(commonName);
+      } // end if
+
+      return found;
+    } // end synchronized
+  } // end method */
+
+  /**
+   * Creates exception indicating that there is no entity with given common name.
+   *
+   * @param commonName of entity
+   *
+   * @return appropriate exception
+   */
+  private static NoSuchElementException noSuchEntity(
+      final String commonName
+  ) {
+    return new NoSuchElementException("no entity with commonName: " + commonName);
+  } // end method */
+
+  /**
+   * Adds a newly created entity to the index.
+   *
+   * @param basePath  of PKI-structure
+   * @param directory of newly created entity
+   *
+   * @throws IOException if underlying methods do so
+   */
+  /* package */ static void add(
+      final Path basePath,
+      final Path directory
+  ) throws IOException {
+    synchronized (EntityIndex.class) {
+      final Index index = getIndex(basePath);
+      final String commonName = directory.getFileName().toString();
+      index.insMapping.put(commonName, directory);
+      index.insMissing.remove(commonName);
+
+      if (Boolean.getBoolean(PROPERTY_PERSIST)) {
+        store(index);
+      } // end if
+    } // end synchronized
+  } // end method */
+
+  /**
+   * Adds many newly created entities to the index.
+   *
+   * <p>In contrast to calling {@link #add(Path, Path)} for each entity the
+   * index is persisted (if at all) only once.
+   *
+   * @param basePath    of PKI-structure
+   * @param directories of newly created entities
+   *
+   * @throws IOException if underlying methods do so
+   */
+  /* package */ static void addAll(
+      final Path basePath,
+      final Collection<Path> directories
+  ) throws IOException {
+    synchronized (EntityIndex.class) {
+      final Index index = getIndex(basePath);
+      directories.forEach(directory -> {
+        final String commonName = directory.getFileName().toString();
+        index.insMapping.put(commonName, directory);
+        index.insMissing.remove(commonName);
+      });
+
+      if (Boolean.getBoolean(PROPERTY_PERSIST)) {
+        store(index);
+      } // end if
+    } // end synchronized
+  } // end method */
+
+  /**
+   * Returns the index for given base path, builds it if necessary.
+   *
+   * @param basePath of PKI-structure
+   *
+   * @return index for {@code basePath}
+   *
+   * @throws IOException if underlying methods do so
+   */
+  private static Index getIndex(
+      final Path basePath
+  ) throws IOException {
+    final Index index = claIndex;
+
+    return index.insBasePath.equals(basePath) ? index : build(basePath, true, false);
+  } // end method */
+
+  /**
+   * Builds index for given base path.
+   *
+   * @param basePath      of PKI-structure
+   * @param readPersisted if {@code TRUE} a persisted index is used if present,
+   *                      otherwise the file-system is walked
+   * @param keepMissing   if {@code TRUE} common names remembered as missing
+   *                      for the same base path are kept unless found now,
+   *                      otherwise they are forgotten
+   *
+   * @return index for {@code basePath}
+   *
+   * @throws IOException if underlying methods do so
+   */
+  private static synchronized Index build(
+      final Path basePath,
+      final boolean readPersisted,
+      final boolean keepMissing
+  ) throws IOException {
+    final Map<String, Path> mapping = new ConcurrentHashMap<>();
+    final Path indexFile = basePath.resolve(INDEX_FILE_NAME);
+
+    if (readPersisted && Files.isRegularFile(indexFile)) {
+      // ... persisted index available
+      //     => use it
+      final Properties properties = new Properties();
+      try (InputStream fis = Files.newInputStream(indexFile)) {
+        properties.load(fis);
+      } // end try-with-resources
+      properties.stringPropertyNames().forEach(commonName -> mapping.put(
+          commonName,
+          basePath.resolve(properties.getProperty(commonName))
+      ));
+      LOGGER.atDebug().log("index with {} entries read from {}", mapping.size(), indexFile);
+    } else {
+      // ... no persisted index
+      //     => walk file-system
+      try (Stream<Path> stream = Files.walk(basePath)) {
+        stream
+            .filter(Files::isDirectory)
+            .filter(directory -> !directory.equals(basePath))
+            .forEach(directory -> mapping.putIfAbsent(
+                directory.getFileName().toString(),
+                directory
+            ));
+      } // end try-with-resources
+      LOGGER.atDebug().log("index with {} entries built for {}", mapping.size(), basePath);
+    } // end else
+
+    final Index previous = claIndex;
+    final Index result = new Index(basePath, mapping);
+
+    if (keepMissing && previous.insBasePath.equals(basePath)) {
+      previous.insMissing.stream()
+          .filter(commonName -> !mapping.containsKey(commonName))
+          .forEach(result.insMissing::add);
+    } // end if
+
+    claIndex = result;
+
+    return result;
+  } // end method */
+
+  /**
+   * Persists given index.
+   *
+   * @param index to be persisted
+   *
+   * @throws IOException if underlying methods do so
+   */
+  private static void store(
+      final Index index
+  ) throws IOException {
+    final Properties properties = new Properties();
+    index.insMapping.forEach((commonName, directory) -> properties.setProperty(
+        commonName,
+        index.insBasePath.relativize(directory).toString()
+    ));
+
+    try (OutputStream fos = Files.newOutputStream(
+        index.insBasePath.resolve(INDEX_FILE_NAME)
+    )) {
+      properties.store(fos, "mapping commonName -> directory relative to base path");
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Index for one base path.
+   */
+  private static final class Index {
+    /**
+     * Base path of PKI-structure.
+     */
+    private final Path insBasePath; // */
+
+    /**
+     * Mapping from common name to directory.
+     */
+    private final Map<String, Path> insMapping; // */
+
+    /**
+     * Common names known to be absent in the PKI-structure.
+     */
+    private final Set<String> insMissing = ConcurrentHashMap.newKeySet(); // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param basePath of PKI-structure
+     * @param mapping  from common name to directory
+     */
+    private Index(
+        final Path basePath,
+        final Map<String, Path> mapping
+    ) {
+      insBasePath = basePath;
+      insMapping = mapping;
+    } // end constructor */
+  } // end inner class
+} // end class
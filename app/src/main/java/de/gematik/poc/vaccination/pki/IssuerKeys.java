@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import de.gematik.poc.vaccination.utils.IntKeyMap;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.NoSuchElementException;
+
+/**
+ * Public keys of issuers of compact certificates, keyed by the integer
+ * identifier contained in compact certificates.
+ *
+ * <p>An identifier is the numeric common name of the issuer, see
+ * {@link CborSigner#createCompactCertificate(java.util.concurrent.ConcurrentLinkedQueue)}.
+ * Without this class each verification converts the identifier to a
+ * {@link String} and looks up the public key of the issuer. This class
+ * resolves each identifier once and afterwards returns the public key from an
+ * {@link IntKeyMap}, i.e. without boxing, string conversion or file-system
+ * access.
+ *
+ * <p>Public keys are resolved from {@link TrustStore#getInstance()} if a trust
+ * store is configured, otherwise from
+ * {@link PublicKeyInfrastructure#getPublicKey(String)}. Resolved keys are
+ * bound to their source, i.e. the trust store or the base path of the
+ * PKI-structure. If the source changes, then all keys are resolved again.
+ *
+ * <p><i><b>Note:</b> Within one source the public key of an issuer is assumed
+ *    to be fixed. This holds, because {@link PublicKeyInfrastructure} never
+ *    replaces an existing entity.</i>
+ */
+/* package */ final class IssuerKeys {
+  /**
+   * Current mapping, replaced by writers while holding the lock of this class.
+   */
+  private static volatile Mapping claMapping = new Mapping(// NOPMD volatile
+      Paths.get(""),
+      IntKeyMap.empty()
+  ); // */
+
+  /**
+   * Private default-constructor.
+   *
+   * <p><i><b>Note:</b> This is a utility class.</i>
+   */
+  private IssuerKeys() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Returns public key of issuer with given identifier.
+   *
+   * @param identifier of issuer, i.e. numeric common name
+   *
+   * @return public key of issuer
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws InvalidKeySpecException  if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws NoSuchElementException   if there is no issuer with given
+   *                                  {@code identifier}
+   */
+  /* package */ static ECPublicKey get(
+      final int identifier
+  ) throws
+      CertificateException,
+      InvalidKeySpecException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    final TrustStore trustStore = TrustStore.getInstance();
+    final Object source = (null == trustStore)
+        ? PublicKeyInfrastructure.claPkiBasePath
+        : trustStore;
+
+    final Mapping mapping = claMapping;
+    if (mapping.insSource.equals(source)) {
+      final ECPublicKey cached = mapping.insKeys.get(identifier);
+      if (null != cached) {
+        return cached;
+      } // end if
+    } // end if
+    // ... source changed or identifier not yet resolved
+
+    final ECPublicKey result;
+    if (null == trustStore) {
+      result = PublicKeyInfrastructure.getPublicKey(Integer.toString(identifier));
+    } else {
+      result = trustStore.getPublicKey(identifier);
+      if (null == result) {
+        throw new NoSuchElementException("no entity in trust store with identifier: " + identifier);
+      } // end if
+    } // end else
+
+    synchronized (IssuerKeys.class) {
+      final Mapping current = claMapping;
+      claMapping = new Mapping(
+          source,
+          (current.insSource.equals(source) ? current.insKeys : IntKeyMap.<ECPublicKey>empty())
+              .with(identifier, result)
+      );
+    } // end synchronized
+
+    return result;
+  } // end method */
+
+  /**
+   * Removes all resolved public keys.
+   */
+  /* package */ static void clear() {
+    synchronized (IssuerKeys.class) {
+      claMapping = new Mapping(Paths.get(""), IntKeyMap.empty());
+    } // end synchronized
+  } // end method */
+
+  /**
+   * Resolved public keys for one source.
+   */
+  private static final class Mapping {
+    /**
+     * Source of public keys, i.e. trust store or base path of PKI-structure.
+     */
+    private final Object insSource; // */
+
+    /**
+     * Mapping from identifier to public key.
+     */
+    private final IntKeyMap<ECPublicKey> insKeys; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param source of public keys
+     * @param keys   mapping from identifier to public key
+     */
+    private Mapping(
+        final Object source,
+        final IntKeyMap<ECPublicKey> keys
+    ) {
+      insSource = source;
+      insKeys = keys;
+    } // end constructor */
+  } // end inner class
+} // end class
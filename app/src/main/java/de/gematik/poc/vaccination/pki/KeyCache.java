@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import de.gematik.poc.vaccination.utils.LruCache;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.security.KeyStore;
+
+/**
+ * Cache for keys read from {@link KeyStore} files.
+ *
+ * <p>Opening a {@link KeyStore} file includes a password based key derivation
+ * and thus is expensive. This class caches the keys retrieved from such files.
+ * In particular:
+ * <ol>
+ *   <li>Entries are keyed by the common name of an entity.
+ *   <li>Each entry remembers path, size and time of last modification of the
+ *       {@link KeyStore} file it was read from. If any of these changed, the
+ *       entry is considered stale and ignored.
+ *   <li>The number of entries is bounded, least recently used entries are
+ *       evicted, see {@link LruCache}. The capacity is taken from system
+ *       property {@link #PROPERTY_CAPACITY}, default is
+ *       {@link #DEFAULT_CAPACITY}.
+ * </ol>
+ *
+ * @param <T> type of cached keys
+ */
+/* package */ final class KeyCache<T extends Key> {
+  /**
+   * Default capacity.
+   */
+  /* package */ static final int DEFAULT_CAPACITY = 256; // */
+
+  /**
+   * Name of system property controlling the capacity.
+   */
+  /* package */ static final String PROPERTY_CAPACITY = "vaccination.pki.keyCacheCapacity"; // */
+
+  /**
+   * Cached entries.
+   */
+  private final LruCache<String, Entry<T>> insCache = new LruCache<>(
+      Integer.getInteger(PROPERTY_CAPACITY, DEFAULT_CAPACITY)
+  ); // */
+
+  /**
+   * Removes all entries.
+   */
+  /* package */ void clear() {
+    insCache.clear();
+  } // end method */
+
+  /**
+   * Returns cached key if it is still valid.
+   *
+   * @param commonName of entity
+   * @param path       of {@link KeyStore} file the key is retrieved from
+   * @param attributes of {@link KeyStore} file read before the key is retrieved
+   *
+   * @return cached key, or {@code null} if absent or stale
+   */
+  @CheckForNull
+  /* package */ T get(
+      final String commonName,
+      final Path path,
+      final BasicFileAttributes attributes
+  ) {
+    final Entry<T> entry = insCache.get(commonName);
+
+    return ((null == entry) || !entry.isValid(path, attributes)) ? null : entry.insKey;
+  } // end method */
+
+  /**
+   * Stores key.
+   *
+   * <p><i><b>Note:</b> The {@code attributes} have to be read before the key
+   *    is retrieved from the {@link KeyStore} file. Otherwise, a modification
+   *    in between would go unnoticed.</i>
+   *
+   * @param commonName of entity
+   * @param path       of {@link KeyStore} file the key is retrieved from
+   * @param attributes of {@link KeyStore} file read before the key is retrieved
+   * @param key        retrieved from {@link KeyStore} file
+   */
+  /* package */ void put(
+      final String commonName,
+      final Path path,
+      final BasicFileAttributes attributes,
+      final T key
+  ) {
+    insCache.put(commonName, new Entry<>(path, attributes, key));
+  } // end method */
+
+  /**
+   * Returns number of entries.
+   *
+   * @return number of entries
+   */
+  /* package */ int size() {
+    return insCache.size();
+  } // end method */
+
+  /**
+   * Cached key together with information about its origin.
+   *
+   * @param <T> type of cached key
+   */
+  private static final class Entry<T> {
+    /**
+     * Path of {@link KeyStore} file.
+     */
+    private final Path insPath; // */
+
+    /**
+     * Time of last modification of {@link KeyStore} file.
+     */
+    private final FileTime insLastModified; // */
+
+    /**
+     * Size of {@link KeyStore} file.
+     */
+    private final long insSize; // */
+
+    /**
+     * Key.
+     */
+    private final T insKey; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param path       of {@link KeyStore} file
+     * @param attributes of {@link KeyStore} file
+     * @param key        retrieved from {@link KeyStore} file
+     */
+    private Entry(
+        final Path path,
+        final BasicFileAttributes attributes,
+        final T key
+    ) {
+      insPath = path;
+      insLastModified = attributes.lastModifiedTime();
+      insSize = attributes.size();
+      insKey = key;
+    } // end constructor */
+
+    /**
+     * Checks whether this entry is still valid.
+     *
+     * @param path       of {@link KeyStore} file
+     * @param attributes current attributes of {@link KeyStore} file
+     *
+     * @return {@code TRUE} if {@link KeyStore} file is unchanged,
+     *         {@code FALSE} otherwise
+     */
+    private boolean isValid(
+        final Path path,
+        final BasicFileAttributes attributes
+    ) {
+      return insPath.equals(path)
+          && (insSize == attributes.size())
+          && insLastModified.equals(attributes.lastModifiedTime());
+    } // end method */
+  } // end inner class
+} // end class
@@ -38,6 +38,7 @@ import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.KeyPair;
@@ -47,6 +48,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.SecureRandom;
 import java.security.Signature;
 import java.security.SignatureException;
 import java.security.UnrecoverableKeyException;
@@ -60,9 +62,18 @@ import java.security.spec.ECFieldFp;
 import java.security.spec.ECParameterSpec;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.security.auth.x500.X500Principal;
 import org.slf4j.Logger;
@@ -147,6 +158,43 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
    */
   /* package */ static Path claPkiBasePath = CmdLine.BASE_PATH.resolve(("pki")); // */
 
+  /**
+   * Suffix of signature algorithms expecting signatures in format {@code R || S}
+   * according to IEEE P1363 rather than DER format.
+   */
+  /* package */ static final String SUFFIX_P1363 = "inP1363Format"; // */
+
+  /**
+   * Signature algorithms for which no P1363 variant is available.
+   */
+  private static final Set<String> UNSUPPORTED_P1363 = ConcurrentHashMap.newKeySet(); // */
+
+  /**
+   * Number of bits in serial numbers of X.509 certificates.
+   *
+   * <p>Serial numbers are random and positive with the most significant bit
+   * set. Thus, the DER encoding of a serial number is 16 octets long, i.e.
+   * well below the limit of 20 octets from RFC 5280, clause 4.1.2.2, and
+   * certificates issued by the same CA at the same time (e.g. by
+   * {@link #createEndEntities(ConcurrentLinkedQueue)}) have distinct serial
+   * numbers with overwhelming probability.
+   */
+  private static final int SERIAL_NUMBER_BITS = 127; // */
+
+  /**
+   * Source of randomness for serial numbers.
+   */
+  private static final SecureRandom RANDOM_SERIAL = new SecureRandom(); // */
+
+  /**
+   * Thread-local buffer for signatures converted to DER format.
+   *
+   * <p>Not used on virtual threads, see {@link Utils#isVirtualThread()}.
+   */
+  private static final ThreadLocal<byte[]> BUFFER_DER = ThreadLocal.withInitial(
+      () -> new byte[2 * 66 + CborSigner.DER_OVERHEAD] // NOPMD literal, enough for 521 bit
+  ); // */
+
   /**
    * Suffix used for {@link KeyStore}s storing {@link Certificate}s only.
    */
@@ -184,6 +232,16 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
    */
   private static final Logger LOGGER = LoggerFactory.getLogger(PublicKeyInfrastructure.class); // */
 
+  /**
+   * Cache for private keys, see {@link #getPrivateKey(String)}.
+   */
+  /* package */ static final KeyCache<ECPrivateKey> CACHE_PRIVATE_KEY = new KeyCache<>(); // */
+
+  /**
+   * Cache for public keys, see {@link #getPublicKey(String)}.
+   */
+  /* package */ static final KeyCache<ECPublicKey> CACHE_PUBLIC_KEY = new KeyCache<>(); // */
+
   /**
    * Private default-constructor.
    *
@@ -374,6 +432,296 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     return true;
   } // end method */
 
+  /**
+   * Creates many end-entities signed by the same CA.
+   *
+   * <p>Assertions:
+   * <ol>
+   *   <li>At least two elements are present in {@code arguments}.
+   *   <li>All elements in {@code arguments} have a length greater than zero.
+   * </ol>
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>commonName of CA signing the X.509 certificates
+   *                    <li>one or more commonNames of end-entities
+   *                  </ol>
+   *
+   * @return {@code TRUE} if all end-entities are successfully created,
+   *         {@code FALSE} otherwise
+   *
+   * @throws CertificateException      if underlying methods do so
+   * @throws InterruptedException      if underlying methods do so
+   * @throws IOException               if underlying methods do so
+   * @throws KeyStoreException         if underlying methods do so
+   * @throws NoSuchAlgorithmException  if underlying methods do so
+   * @throws UnrecoverableKeyException if underlying methods do so
+   */
+  public static boolean createEndEntities(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws
+      CertificateException,
+      InterruptedException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException,
+      UnrecoverableKeyException {
+    if (arguments.size() < 2) { // NOPMD literal in conditional statement
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "commonNameCa: common name of CA (arbitrary printable string)",
+              "commonName  : common name of end-entity (arbitrary printable string)"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                   // delimiter
+                  newLine + newLine + "Usage: "     // start prefix with usage description
+                      + CmdLine.ACTION_PKI_ENTITIES // action followed by parameter list
+                      + " commonNameCa commonName [commonName ...]"
+                      + newLine + "  ",             // end prefix
+                  newLine + newLine                 // suffix
+              ))
+      );
+
+      return false;
+    } // end if
+    // ... enough arguments
+
+    LOGGER.atInfo().log("start: createEndEntities");
+
+    final String certificationAuthority = arguments.remove();
+    final List<String> commonNames = new ArrayList<>(arguments);
+    arguments.clear();
+
+    final SortedMap<String, Exception> failures = createEntities(
+        commonNames,
+        certificationAuthority,
+        AfiElcParameterSpec.brainpoolP256r1,
+        Runtime.getRuntime().availableProcessors()
+    );
+    failures.forEach((commonName, exception) -> LOGGER.atError()
+        .setCause(exception)
+        .log("ERROR: creating end-entity CN=\"{}\" failed", commonName));
+
+    LOGGER.atInfo().log(
+        "end  : createEndEntities, created = {}, failed = {}",
+        commonNames.size() - failures.size(),
+        failures.size()
+    );
+
+    return failures.isEmpty();
+  } // end method */
+
+  /**
+   * Exports certificates issued by a CA to the key store with certificates
+   * of that CA.
+   *
+   * <p>Issued certificates are appended to the {@link CertificateLog} of the
+   * issuing CA. This method provides them on demand as PKCS#12 key store, as
+   * formerly written for each issued certificate.
+   *
+   * <p>Assertions:
+   * <ol>
+   *   <li>At least one element is present in {@code arguments}.
+   *   <li>The first element in {@code arguments} has a length greater than zero.
+   * </ol>
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>commonName of CA
+   *                  </ol>
+   *
+   * @return {@code TRUE} if certificates are successfully exported,
+   *         {@code FALSE} otherwise
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  public static boolean exportIssued(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws
+      CertificateException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    if (arguments.isEmpty()) {
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "commonNameCa: common name of CA (arbitrary printable string)"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                        // delimiter
+                  newLine + newLine + "Usage: "          // start prefix with usage description
+                      + CmdLine.ACTION_PKI_EXPORT_ISSUED // action followed by parameter list
+                      + " commonNameCa"
+                      + newLine + "  ",                  // end prefix
+                  newLine + newLine                      // suffix
+              ))
+      );
+
+      return false;
+    } // end if
+    // ... enough arguments
+
+    LOGGER.atInfo().log("start: exportIssued");
+
+    final String certificationAuthority = arguments.remove();
+    final int exported = CertificateLog.exportKeyStore(
+        getPath(certificationAuthority),
+        certificationAuthority
+    );
+
+    LOGGER.atInfo().log("end  : exportIssued, exported = {}", exported);
+
+    return true;
+  } // end method */
+
+  /**
+   * Creates many entities signed by the same CA.
+   *
+   * <p>In contrast to calling {@link #createEntity(String, String, ECParameterSpec)}
+   * for each entity
+   * <ol>
+   *   <li>the private key of the CA and the key store with certificates of
+   *       the CA are loaded once,
+   *   <li>the certificate-chain of the CA is estimated once,
+   *   <li>key pairs and certificates are generated in parallel,
+   *   <li>issued certificates are appended to the {@link CertificateLog} of
+   *       the CA at once,
+   *   <li>artefacts are exported according to
+   *       {@link Utils#getExportPolicy(Utils.ExportPolicy)} with default
+   *       {@link Utils.ExportPolicy#BINARY}.
+   * </ol>
+   *
+   * <p>If an entity with one of the given common names already exists or a
+   * common name occurs more than once, then nothing is created. If creating
+   * an entity fails, the other entities are created nevertheless and the
+   * failure is reported.
+   *
+   * @param commonNames            of entities, printable strings
+   * @param certificationAuthority signing the {@link X509Certificate}s
+   * @param domainParameter        used for key generation
+   * @param threads                number of worker threads
+   *
+   * @return failures, key is the common name of an entity, value is the
+   *         reason for failure, empty if all entities are created
+   *
+   * @throws CertificateException      if underlying methods do so
+   * @throws IllegalArgumentException  if an entity already exists or a
+   *                                   common name occurs more than once
+   * @throws InterruptedException      if the calling thread is interrupted
+   * @throws IOException               if underlying methods do so
+   * @throws KeyStoreException         if underlying methods do so
+   * @throws NoSuchAlgorithmException  if underlying methods do so
+   * @throws UnrecoverableKeyException if underlying methods do so
+   */
+  /* package */ static SortedMap<String, Exception> createEntities(
+      final List<String> commonNames,
+      final String certificationAuthority,
+      final ECParameterSpec domainParameter,
+      final int threads
+  ) throws
+      CertificateException,
+      InterruptedException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException,
+      UnrecoverableKeyException {
+    final Path directoryCa = getPath(certificationAuthority);
+
+    // --- check common names before anything is created
+    final Set<String> unique = new HashSet<>();
+    for (final String commonName : commonNames) {
+      if (!unique.add(commonName)) {
+        throw new IllegalArgumentException("duplicate commonName: " + commonName);
+      } // end if
+
+      final Path directory = directoryCa.resolve(commonName);
+      if (Files.exists(directory)) {
+        LOGGER.atError().log("ERROR: Entity at {} already exists.", directory);
+        LOGGER.atError().log(
+            "       Program terminates without adding, modifying or deleting anything"
+        );
+
+        throw new IllegalArgumentException("entity already exists");
+      } // end if
+    } // end for (commonName...)
+
+    // --- load information of CA once
+    final ECPrivateKey privateKeyCa = getPrivateKey(certificationAuthority);
+    final Path pathKeyStoreCa = directoryCa.resolve(
+        certificationAuthority + SUFFIX_KEYSTORE_X509
+    );
+    final KeyStore keyStoreCa = KeyStore.getInstance(pathKeyStoreCa.toFile(), KEYSTORE_PASSWORD);
+    final List<X509Certificate> chainCa = getChain(
+        directoryCa,
+        (X509Certificate) keyStoreCa.getCertificate(certificationAuthority)
+    );
+    final Utils.ExportPolicy policy = Utils.getExportPolicy(Utils.ExportPolicy.BINARY);
+
+    // --- create entities in parallel
+    final SortedMap<String, Exception> result = new TreeMap<>();
+    final List<Path> created = new ArrayList<>(commonNames.size());
+    final List<X509Certificate> issued = new ArrayList<>(commonNames.size());
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      final List<Future<X509Certificate>> futures = new ArrayList<>(commonNames.size());
+      for (final String commonName : commonNames) {
+        final Path directory = directoryCa.resolve(commonName);
+
+        futures.add(executor.submit(() -> {
+          final KeyPair keyPair = generateAsymmetricKeyPair(directory, domainParameter, policy);
+          final X509Certificate x509 = issueX509Certificate(
+              directory,
+              keyPair.getPublic(),
+              certificationAuthority,
+              privateKeyCa,
+              policy
+          );
+
+          final List<X509Certificate> chain = new ArrayList<>(chainCa.size() + 1);
+          chain.add(x509);
+          chain.addAll(chainCa);
+          storeKeyStores(directory, commonName, keyPair.getPrivate(), chain);
+
+          return x509;
+        }));
+      } // end for (commonName...)
+
+      // --- collect certificates in order of common names
+      for (int i = 0; i < futures.size(); i++) {
+        final String commonName = commonNames.get(i);
+
+        try {
+          final X509Certificate x509 = futures.get(i).get();
+          issued.add(x509);
+          created.add(directoryCa.resolve(commonName));
+        } catch (ExecutionException e) {
+          final Throwable cause = e.getCause();
+          result.put(commonName, (cause instanceof Exception) ? (Exception) cause : e);
+        } // end catch (ExecutionException)
+      } // end for (i...)
+    } finally {
+      executor.shutdownNow();
+    } // end finally
+
+    // --- append issued certificates to log of CA once
+    CertificateLog.append(directoryCa, certificationAuthority, issued);
+
+    // --- make entities available for lookups
+    EntityIndex.addAll(claPkiBasePath, created);
+
+    return result;
+  } // end method */
+
   /**
    * Creates an entity (i.e. non Root-CA).
    *
@@ -420,7 +768,8 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     // --- create key pair
     final KeyPair keyPair = generateAsymmetricKeyPair(
         directory,
-        domainParameter
+        domainParameter,
+        Utils.getExportPolicy(Utils.ExportPolicy.FULL)
     );
 
     // --- create X.509 certificate from CA
@@ -432,12 +781,19 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     // --- export certificate to a key store
     createKeyStore(directory, commonName, keyPair.getPrivate());
 
+    // --- make entity available for lookups
+    EntityIndex.add(claPkiBasePath, directory);
+
     LOGGER.atInfo().log("end  : createEntity for commonName CN=\"{}\"", commonName);
   } // end method */
 
   /**
    * Creates a certificate for given public key signed by CA from parent directory.
    *
+   * <p>The certificate is appended to the {@link CertificateLog} of the CA.
+   * The key store with certificates of the CA remains unchanged, see
+   * {@link #exportIssued(ConcurrentLinkedQueue)}.
+   *
    * @param directory with information of entity for which a {@link X509Certificate} is created
    * @param publicKeySubject of entity
    *
@@ -460,9 +816,6 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
       NoSuchAlgorithmException,
       SignatureException,
       UnrecoverableKeyException {
-    final String commonNameSubject = directory
-        .getFileName()// Spotbugs: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE
-        .toString();
     final String commonNameIssuer = directory
         .getParent()// Spotbugs: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE
         .getFileName()// Spotbugs: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE
@@ -471,6 +824,60 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     // --- get private key used for signing
     final ECPrivateKey privateKeyIssuer = getPrivateKey(commonNameIssuer);
 
+    // --- create certificate
+    final X509Certificate tmp = issueX509Certificate(
+        directory,
+        publicKeySubject,
+        commonNameIssuer,
+        privateKeyIssuer,
+        Utils.getExportPolicy(Utils.ExportPolicy.FULL)
+    );
+
+    // --- append X.509 certificate to log of CA which signed it
+    CertificateLog.append(
+        directory.getParent(), // Spotbugs: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE
+        commonNameIssuer,
+        List.of(tmp)
+    );
+  } // end method */
+
+  /**
+   * Creates and exports a certificate for given public key.
+   *
+   * <p>In contrast to {@link #createX509Certificate(Path, PublicKey)} the
+   * certificate is not appended to the {@link CertificateLog} of the issuer.
+   *
+   * @param directory        with information of entity for which a
+   *                         {@link X509Certificate} is created
+   * @param publicKeySubject of entity
+   * @param commonNameIssuer common name of issuer
+   * @param privateKeyIssuer used for signing
+   * @param policy           used for exporting the certificate
+   *
+   * @return certificate
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws SignatureException       if underlying methods do so
+   */
+  private static X509Certificate issueX509Certificate(
+      final Path directory,
+      final PublicKey publicKeySubject,
+      final String commonNameIssuer,
+      final ECPrivateKey privateKeyIssuer,
+      final Utils.ExportPolicy policy
+  ) throws
+      CertificateException,
+      IOException,
+      InvalidKeyException,
+      NoSuchAlgorithmException,
+      SignatureException {
+    final String commonNameSubject = directory
+        .getFileName()// Spotbugs: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE
+        .toString();
+
     // --- create certificate
     // Note: According to https://tools.ietf.org/html/rfc5280#section-4.1
     //       a X.509 certificate has the following elements:
@@ -486,15 +893,15 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
         (ECPublicKey) publicKeySubject,
         privateKeyIssuer
     );
-    LOGGER.atDebug().log("tbsCertificate = {}", tbsCertificate.toStringTree());
+    LOGGER.atDebug().addArgument(tbsCertificate::toStringTree).log("tbsCertificate = {}");
 
     // create signatureAlgorithm
     final BerTlv signatureAlgorithm = signatureAlgorithm(privateKeyIssuer.getParams());
-    LOGGER.atDebug().log("signatureAlgorithm = {}", signatureAlgorithm.toStringTree());
+    LOGGER.atDebug().addArgument(signatureAlgorithm::toStringTree).log("signatureAlgorithm = {}");
 
     // create signatureValue
     final BerTlv signatureValue = signEcdsa(tbsCertificate.toByteArray(), privateKeyIssuer);
-    LOGGER.atDebug().log("signatureValue = {}", signatureValue.toStringTree());
+    LOGGER.atDebug().addArgument(signatureValue::toStringTree).log("signatureValue = {}");
 
     // compose X.509 certificate
     final DerSequence x509 = new DerSequence(List.of(
@@ -502,33 +909,16 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
         signatureAlgorithm,
         signatureValue
     ));
-    LOGGER.atInfo().log("X.509 certificate = {}", x509.toStringTree());
+    LOGGER.atInfo().addArgument(x509::toStringTree).log("X.509 certificate = {}");
 
     // --- export X.509 certificate
-    Utils.exportTlv(directory, commonNameSubject + SUFFIX_X509, x509);
+    Utils.exportTlv(directory, commonNameSubject + SUFFIX_X509, x509, policy);
 
-    // --- add X.509 certificate to key store of CA which signed it
-    // create X.509 certificate
+    // --- convert to X.509 certificate
     final CertificateFactory certificateFactory = CertificateFactory.getInstance(CERTIFICATE_TYPE);
-    final X509Certificate tmp = (X509Certificate) certificateFactory
-        .generateCertificate(new ByteArrayInputStream(x509.toByteArray()));
 
-    // open key store
-    final Path pathKeyStore = directory
-        .getParent()// Spotbugs: NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE
-        .resolve(commonNameIssuer + SUFFIX_KEYSTORE_X509);
-    final KeyStore keyStoreCertificate = KeyStore.getInstance(
-        pathKeyStore.toFile(),
-        KEYSTORE_PASSWORD
-    );
-
-    // add X.509 to opened key store
-    keyStoreCertificate.setCertificateEntry(getCommonName(tmp), tmp);
-
-    //  save key store to file-system
-    try (OutputStream fos = Files.newOutputStream(pathKeyStore)) {
-      keyStoreCertificate.store(fos, KEYSTORE_PASSWORD);
-    } // end try-with-resources, Spotbugs RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE
+    return (X509Certificate) certificateFactory
+        .generateCertificate(new ByteArrayInputStream(x509.toByteArray()));
   } // end method */
 
   /**
@@ -585,22 +975,58 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
       NoSuchAlgorithmException,
       SignatureException {
     // --- estimate algorithm
-    final int size = ((ECFieldFp) key.getParams().getCurve().getField()).getP().bitLength();
-    final String algorithm;
-    if (size <= 256) { // NOPMD literal in conditional statement
-      algorithm = "SHA256withECDSA";
-    } else if (size <= 384) { // NOPMD literal in conditional statement
-      algorithm = "SHA384withECDSA";
-    } else {
-      algorithm = "SHA512withECDSA";
-    } // end if
+    final String algorithm = SignaturePool.getAlgorithm(key.getParams());
 
     // --- compute signature
-    final Signature signer = Signature.getInstance(algorithm);
-    signer.initSign(key);
-    signer.update(message);
+    return new DerBitString(computeSignature(algorithm, key, message));
+  } // end method */
 
-    return new DerBitString(signer.sign());
+  /**
+   * Computes a signature in format {@code R || S} for given {@code message}.
+   *
+   * <p>The signature is computed with the P1363 variant of the signature
+   * algorithm, see {@link #SUFFIX_P1363}. Thus, {@code R} and {@code S} are
+   * already of fixed length and no TLV objects are involved. If the P1363
+   * variant is not available, then the signature is computed in DER format
+   * and compressed afterwards.
+   *
+   * @param message to be signed
+   * @param key     used for signing
+   *
+   * @return ECDSA signature {@code R || S}, where {@code R} and {@code S}
+   *         have as many octet as the order of the base point
+   *
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws SignatureException       if underlying methods do so
+   */
+  /* package */ static byte[] signEcdsaP1363(
+      final byte[] message,
+      final ECPrivateKey key
+  ) throws
+      InvalidKeyException,
+      NoSuchAlgorithmException,
+      SignatureException {
+    final String algorithm = SignaturePool.getAlgorithm(key.getParams());
+
+    if (!UNSUPPORTED_P1363.contains(algorithm)) {
+      try {
+        return computeSignature(algorithm + SUFFIX_P1363, key, message);
+      } catch (NoSuchAlgorithmException e) {
+        // ... no provider offers P1363 variant
+        //     => remember that and fall back to DER format
+        UNSUPPORTED_P1363.add(algorithm);
+      } catch (InvalidKeyException e) { // NOPMD empty catch block
+        // ... provider with P1363 variant does not support this key
+        //     => fall back to DER format
+      } // end catch (...)
+    } // end if (P1363 variant possibly available)
+
+    // --- compute signature in DER format and compress it
+    return CborSigner.compressSignature(
+        computeSignature(algorithm, key, message),
+        (key.getParams().getOrder().bitLength() + 7) >> 3 // tau
+    );
   } // end method */
 
   /**
@@ -628,22 +1054,160 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
       InvalidKeyException,
       NoSuchAlgorithmException,
       SignatureException {
-    final int size = ((ECFieldFp) key.getParams().getCurve().getField()).getP().bitLength();
-    final String algorithm;
-    if (size <= 256) { // NOPMD literal in conditional statement
-      algorithm = "SHA256withECDSA";
-    } else if (size <= 384) { // NOPMD literal in conditional statement
-      algorithm = "SHA384withECDSA";
+    final String algorithm = SignaturePool.getAlgorithm(key.getParams());
+
+    // --- verify signature
+    final byte[] octets = signature.getDecoded();
+
+    return checkSignature(algorithm, key, message, octets, octets.length);
+  } // end method */
+
+  /**
+   * Verifies a signature in format {@code R || S} for given {@code message}.
+   *
+   * <p>The signature is verified with the P1363 variant of the signature
+   * algorithm, see {@link #SUFFIX_P1363}. Thus, no conversion to DER format is
+   * necessary. If the P1363 variant is not available, then the signature is
+   * converted to DER format within a thread-local buffer and verified with
+   * the plain signature algorithm. Algorithms without a P1363 variant are
+   * remembered, such that the lookup is not repeated.
+   *
+   * @param message   corresponding to {@code signature}
+   * @param signature as concatenation of {@code R || S}
+   * @param key       used for signature verification
+   *
+   * @return {@code TRUE} if signature verification was successful,
+   *         {@code FALSE} if signature verification fails
+   *
+   * @throws IllegalArgumentException if the number of octet in {@code signature}
+   *                                  is less than two or odd
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws SignatureException       if underlying methods do so
+   */
+  /* package */ static boolean verifyEcdsaP1363(
+      final byte[] message,
+      final byte[] signature,
+      final ECPublicKey key
+  ) throws
+      InvalidKeyException,
+      NoSuchAlgorithmException,
+      SignatureException {
+    CborSigner.checkSignatureLength(signature);
+    final String algorithm = SignaturePool.getAlgorithm(key.getParams());
+
+    if (!UNSUPPORTED_P1363.contains(algorithm)) {
+      try {
+        return checkSignature(
+            algorithm + SUFFIX_P1363,
+            key,
+            message,
+            signature,
+            signature.length
+        );
+      } catch (NoSuchAlgorithmException e) {
+        // ... no provider offers P1363 variant
+        //     => remember that and fall back to DER format
+        UNSUPPORTED_P1363.add(algorithm);
+      } catch (InvalidKeyException e) { // NOPMD empty catch block
+        // ... provider with P1363 variant does not support this key
+        //     => fall back to DER format
+      } // end catch (...)
+    } // end if (P1363 variant possibly available)
+
+    // --- convert to DER format
+    byte[] buffer;
+    if (Utils.isVirtualThread()) {
+      // ... thread-local buffer would never be reused
+      buffer = new byte[signature.length + CborSigner.DER_OVERHEAD];
     } else {
-      algorithm = "SHA512withECDSA";
-    } // end if
+      buffer = BUFFER_DER.get();
+      if (buffer.length < signature.length + CborSigner.DER_OVERHEAD) {
+        buffer = new byte[signature.length + CborSigner.DER_OVERHEAD];
+        BUFFER_DER.set(buffer);
+      } // end if
+    } // end else
+    final int length = CborSigner.expandSignature(signature, buffer);
 
     // --- verify signature
-    final Signature verifier = Signature.getInstance(algorithm);
-    verifier.initVerify(key);
-    verifier.update(message);
+    return checkSignature(algorithm, key, message, buffer, length);
+  } // end method */
+
+  /**
+   * Computes a signature with an engine from {@link SignaturePool}.
+   *
+   * @param algorithm name of signature algorithm
+   * @param key       used for signing
+   * @param message   to be signed
+   *
+   * @return signature in the format given by {@code algorithm}
+   *
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws SignatureException       if underlying methods do so
+   */
+  private static byte[] computeSignature(
+      final String algorithm,
+      final PrivateKey key,
+      final byte[] message
+  ) throws
+      InvalidKeyException,
+      NoSuchAlgorithmException,
+      SignatureException {
+    final Signature signer = SignaturePool.getSigner(algorithm, key);
+
+    try {
+      signer.update(message);
+
+      return signer.sign();
+    } catch (SignatureException e) {
+      // ... state of engine unknown
+      //     => do not reuse it
+      SignaturePool.discard(algorithm);
+
+      throw e;
+    } // end catch (SignatureException)
+  } // end method */
 
-    return verifier.verify(signature.getDecoded());
+  /**
+   * Verifies a signature with an engine from {@link SignaturePool}.
+   *
+   * @param algorithm name of signature algorithm
+   * @param key       used for signature verification
+   * @param message   corresponding to {@code signature}
+   * @param signature in the format given by {@code algorithm}
+   * @param length    number of octet in {@code signature}, starting at index 0
+   *
+   * @return {@code TRUE} if signature verification was successful,
+   *         {@code FALSE} if signature verification fails
+   *
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws SignatureException       if underlying methods do so
+   */
+  private static boolean checkSignature(
+      final String algorithm,
+      final PublicKey key,
+      final byte[] message,
+      final byte[] signature,
+      final int length
+  ) throws
+      InvalidKeyException,
+      NoSuchAlgorithmException,
+      SignatureException {
+    final Signature verifier = SignaturePool.getVerifier(algorithm, key);
+
+    try {
+      verifier.update(message);
+
+      return verifier.verify(signature, 0, length);
+    } catch (SignatureException e) {
+      // ... state of engine unknown
+      //     => do not reuse it
+      SignaturePool.discard(algorithm);
+
+      throw e;
+    } // end catch (SignatureException)
   } // end method */
 
   /**
@@ -679,16 +1243,49 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     final CertificateFactory certificateFactory = CertificateFactory.getInstance(CERTIFICATE_TYPE);
 
     // --- load certificate-chain
-    //     i.e.: loop until self-signed root-certificate is reached
-    final List<X509Certificate> chain = new ArrayList<>();
-
-    // Note: First iteration of "loop" reads certificate NOT from a KeyStore
+    // Note: The first certificate is read NOT from a KeyStore
     //       (which is not yet available), but from file-system.
+    final List<X509Certificate> chain = getChain(
+        directory,
+        (X509Certificate) certificateFactory.generateCertificate(new ByteArrayInputStream(
+            Files.readAllBytes(directory.resolve(subjectName + SUFFIX_X509 + Utils.EXTENSION_BIN))
+        ))
+    );
+
+    // --- store key stores
+    storeKeyStores(directory, subjectName, privateKey, chain);
+  } // end method */
+
+  /**
+   * Loads certificate-chain.
+   *
+   * <p>Starting with {@code x509} the certificate of the issuer is read from
+   * the key store in the parent directory. This is repeated until a
+   * self-signed root-certificate is reached.
+   *
+   * @param directory of entity {@code x509} belongs to
+   * @param x509      first certificate in chain
+   *
+   * @return certificate-chain, starting with {@code x509}, ending with the
+   *         self-signed root-certificate
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  private static List<X509Certificate> getChain(
+      final Path directory,
+      final X509Certificate x509
+  ) throws
+      CertificateException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    // --- loop until self-signed root-certificate is reached
+    final List<X509Certificate> chain = new ArrayList<>();
     Path currentDirectory = directory;
-    X509Certificate currentX509 = (X509Certificate) certificateFactory
-        .generateCertificate(new ByteArrayInputStream(Files.readAllBytes(
-            directory.resolve(subjectName + SUFFIX_X509 + Utils.EXTENSION_BIN)
-        )));
+    X509Certificate currentX509 = x509;
     chain.add(currentX509);
     while (!currentX509.getSubjectX500Principal().equals(currentX509.getIssuerX500Principal())) {
       // ... subject != issuer
@@ -708,7 +1305,38 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
       chain.add(currentX509);
     } // end while (subject != issuer)
     // ... certificate-chain estimated
-    LOGGER.atInfo().log("chain.size = {}, chain.content = {}", chain.size(), chain);
+
+    return chain;
+  } // end method */
+
+  /**
+   * Stores key store for private key and key store with certificate-chain.
+   *
+   * @param directory   directory where artefacts are stored
+   * @param subjectName of file name
+   * @param privateKey  to be stored in {@link KeyStore}
+   * @param chain       certificate-chain of {@code privateKey}, starting
+   *                    with the certificate of {@code subjectName}
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  private static void storeKeyStores(
+      final Path directory,
+      final String subjectName,
+      final PrivateKey privateKey,
+      final List<X509Certificate> chain
+  ) throws
+      CertificateException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    LOGGER.atDebug()
+        .addArgument(chain::size)
+        .addArgument(chain::toString)
+        .log("chain.size = {}, chain.content = {}");
     final Certificate[] certificates = chain.toArray(new Certificate[0]);
 
     // --- create key store for private key
@@ -776,6 +1404,8 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
   /**
    * Returns path to directory where a signature creating agency is stored.
    *
+   * <p>The lookup is performed by {@link EntityIndex}, see there.
+   *
    * @param commonName of signature creating agency
    *
    * @return path to directory where {@link KeyStore} and other stuff is stored
@@ -787,10 +1417,7 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
   /* package */ static Path getPath(
       final String commonName
   ) throws IOException {
-    final Path directory = Files.walk(claPkiBasePath)
-        .filter(file -> file.getFileName().toString().equals(commonName))
-        .findAny()
-        .orElseThrow();
+    final Path directory = EntityIndex.getPath(claPkiBasePath, commonName);
     LOGGER.atDebug().log("CborSigner in \"{}\"", directory);
 
     return directory;
@@ -799,6 +1426,9 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
   /**
    * Gets {@link ECPrivateKey} associated with given {@code commonName}.
    *
+   * <p>Keys are cached as long as the corresponding {@link KeyStore} file
+   * remains unchanged, see {@link KeyCache}.
+   *
    * @param commonName of signature creating agency for which its private key
    *                   is requested
    *
@@ -820,23 +1450,34 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
       IOException,
       NoSuchAlgorithmException,
       UnrecoverableKeyException {
+    final Path path = getPath(commonName).resolve(commonName + SUFFIX_KEYSTORE_PRIVATE);
+    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+    // --- check cache
+    final ECPrivateKey cached = CACHE_PRIVATE_KEY.get(commonName, path, attributes);
+    if (null != cached) {
+      return cached;
+    } // end if
+    // ... key not (or no longer) cached
+
     // --- open appropriate KeyStore
-    final KeyStore keyStore = KeyStore.getInstance(
-        getPath(commonName)
-            .resolve(commonName + SUFFIX_KEYSTORE_PRIVATE)
-            .toFile(),
-        KEYSTORE_PASSWORD
-    );
+    final KeyStore keyStore = KeyStore.getInstance(path.toFile(), KEYSTORE_PASSWORD);
 
     // --- retrieve appropriate private key from KeyStore
-    return (ECPrivateKey) keyStore.getKey(
+    final ECPrivateKey result = (ECPrivateKey) keyStore.getKey(
         commonName, KEYSTORE_PASSWORD
     );
+    CACHE_PRIVATE_KEY.put(commonName, path, attributes, result);
+
+    return result;
   } // end method */
 
   /**
    * Gets {@link ECPublicKey} associated with given {@code commonName}.
    *
+   * <p>Keys are cached as long as the corresponding {@link KeyStore} file
+   * remains unchanged, see {@link KeyCache}.
+   *
    * @param commonName of signature verifiying agency for which its public key
    *                   is requested
    *
@@ -856,19 +1497,27 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
       KeyStoreException,
       IOException,
       NoSuchAlgorithmException {
+    final Path path = getPath(commonName).resolve(commonName + SUFFIX_KEYSTORE_X509);
+    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+    // --- check cache
+    final ECPublicKey cached = CACHE_PUBLIC_KEY.get(commonName, path, attributes);
+    if (null != cached) {
+      return cached;
+    } // end if
+    // ... key not (or no longer) cached
+
     // --- open appropriate KeyStore
-    final KeyStore keyStore = KeyStore.getInstance(
-        getPath(commonName)
-            .resolve(commonName + SUFFIX_KEYSTORE_X509)
-            .toFile(),
-        KEYSTORE_PASSWORD
-    );
+    final KeyStore keyStore = KeyStore.getInstance(path.toFile(), KEYSTORE_PASSWORD);
 
     // --- retrieve appropriate certificate
     final Certificate certificate = keyStore.getCertificate(commonName);
 
-    // --- retrieve appropriate private key from certificate
-    return (ECPublicKey) certificate.getPublicKey();
+    // --- retrieve appropriate public key from certificate
+    final ECPublicKey result = (ECPublicKey) certificate.getPublicKey();
+    CACHE_PUBLIC_KEY.put(commonName, path, attributes, result);
+
+    return result;
   } // end method */
 
   /**
@@ -940,7 +1589,8 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     // --- create key pair, intentionally the strongest domain parameters are used for Root-CA
     final KeyPair keyPair = generateAsymmetricKeyPair(
         directory,
-        AfiElcParameterSpec.brainpoolP512r1
+        AfiElcParameterSpec.brainpoolP512r1,
+        Utils.getExportPolicy(Utils.ExportPolicy.FULL)
     );
 
     // --- get X.509 certificate from CA
@@ -955,6 +1605,9 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     // --- export self-signed certificate to a key store
     createKeyStore(directory, commonName, keyPair.getPrivate());
 
+    // --- make entity available for lookups
+    EntityIndex.add(claPkiBasePath, directory);
+
     LOGGER.atInfo().log("end  : createRootCa for dn=\"{}\"", commonName);
 
     return true;
@@ -977,6 +1630,7 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
    *
    * @param directory directory where artefacts are stored
    * @param keyPair   to be exported
+   * @param policy    used for exporting
    *
    * @throws IOException                        if underlying methods do so
    * @throws InvalidKeyException                if underlying methods do so
@@ -985,7 +1639,8 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
    */
   private static void exportKeyPair(// NOPMD long method
                                     final Path directory,
-                                    final KeyPair keyPair
+                                    final KeyPair keyPair,
+                                    final Utils.ExportPolicy policy
   ) throws
       IOException,
       InvalidKeyException,
@@ -1000,12 +1655,12 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     // --- export private key
     final ECPrivateKey privateKey = (ECPrivateKey) keyPair.getPrivate();
     final BerTlv prkTlv = BerTlv.getInstance(privateKey.getEncoded());
-    Utils.exportTlv(directory, commonName + SUFFIX_PRIVATE_KEY, prkTlv);
+    Utils.exportTlv(directory, commonName + SUFFIX_PRIVATE_KEY, prkTlv, policy);
 
     // --- export public key to plain text file
     final ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
     final BerTlv pukTlv = BerTlv.getInstance(publicKey.getEncoded());
-    Utils.exportTlv(directory, commonName + SUFFIX_PUBLIC_KEY, pukTlv);
+    Utils.exportTlv(directory, commonName + SUFFIX_PUBLIC_KEY, pukTlv, policy);
 
     // --- create self-signed certificate
     // Note: According to https://tools.ietf.org/html/rfc5280#section-4.1
@@ -1022,15 +1677,15 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
         publicKey,
         privateKey
     );
-    LOGGER.atDebug().log("tbsCertificate = {}", tbsCertificate.toStringTree());
+    LOGGER.atDebug().addArgument(tbsCertificate::toStringTree).log("tbsCertificate = {}");
 
     // create signatureAlgorithm
     final BerTlv signatureAlgorithm = signatureAlgorithm(privateKey.getParams());
-    LOGGER.atDebug().log("signatureAlgorithm = {}", signatureAlgorithm.toStringTree());
+    LOGGER.atDebug().addArgument(signatureAlgorithm::toStringTree).log("signatureAlgorithm = {}");
 
     // create signatureValue
     final BerTlv signatureValue = signEcdsa(tbsCertificate.toByteArray(), privateKey);
-    LOGGER.atDebug().log("signatureValue = {}", signatureValue.toStringTree());
+    LOGGER.atDebug().addArgument(signatureValue::toStringTree).log("signatureValue = {}");
 
     // compose X.509 certificate
     final DerSequence x509certificate = new DerSequence(List.of(
@@ -1038,10 +1693,10 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
         signatureAlgorithm,
         signatureValue
     ));
-    LOGGER.atDebug().log("X.509 certificate = {}", x509certificate.toStringTree());
+    LOGGER.atDebug().addArgument(x509certificate::toStringTree).log("X.509 certificate = {}");
 
     // --- export X.509 certificate
-    Utils.exportTlv(directory, commonName + SUFFIX_SELF_SIGNED, x509certificate);
+    Utils.exportTlv(directory, commonName + SUFFIX_SELF_SIGNED, x509certificate, policy);
   } // end method */
 
   /**
@@ -1074,8 +1729,9 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
    *   <li>export self-signed {@link Certificate#getEncoded()}.
    * </ol>
    *
-   * @param domainParameter of generated key pair
    * @param directory       in file-system where information about the {@link KeyPair} is stored
+   * @param domainParameter of generated key pair
+   * @param policy          used for exporting
    *
    * @throws IOException                        if underlying methods do so
    * @throws InvalidAlgorithmParameterException if underlying methods do so
@@ -1085,7 +1741,8 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
    */
   private static KeyPair generateAsymmetricKeyPair(
       final Path directory,
-      final ECParameterSpec domainParameter
+      final ECParameterSpec domainParameter,
+      final Utils.ExportPolicy policy
   ) throws
       IOException,
       InvalidAlgorithmParameterException,
@@ -1101,7 +1758,7 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
     final KeyPair result = keyPairGenerator.generateKeyPair();
 
     // --- export key pair and self-signed certificate
-    exportKeyPair(directory, result);
+    exportKeyPair(directory, result, policy);
 
     return result;
   } // end method */
@@ -1141,7 +1798,9 @@ public final class PublicKeyInfrastructure { // NOPMD too many methods
         // --- serialNumber         CertificateSerialNumber
         //     CertificateSerialNumber ::= INTEGER
         //     see https://tools.ietf.org/html/rfc5280#section-4.1.2.2
-        new DerInteger(BigInteger.valueOf(validityNotBefore.toInstant().getEpochSecond())),
+        new DerInteger(
+            new BigInteger(SERIAL_NUMBER_BITS, RANDOM_SERIAL).setBit(SERIAL_NUMBER_BITS - 1)
+        ),
 
         // --- signature            AlgorithmIdentifier
         //     see https://tools.ietf.org/html/rfc5280#section-4.1.2.3
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import de.gematik.poc.vaccination.utils.Utils;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECParameterSpec;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of {@link Signature} engines.
+ *
+ * <p>Retrieving a {@link Signature} engine via
+ * {@link Signature#getInstance(String)} includes a provider lookup, which is
+ * synchronized within the JDK. Thus, under concurrent signing or verifying
+ * that lookup is a point of contention. This class avoids the lookup by
+ * keeping one engine per thread and algorithm. Furthermore:
+ * <ol>
+ *   <li>An engine remembers the key it was initialized with. If it is
+ *       requested again for the same key and the same purpose, then
+ *       initialization is skipped, because after {@link Signature#sign()} or
+ *       {@link Signature#verify(byte[])} an engine is reset to the state it had
+ *       after initialization.
+ *   <li>The choice of the signature algorithm is derived from the domain
+ *       parameter without any shared (i.e. synchronized) state, see
+ *       {@link #getAlgorithm(ECParameterSpec)}.
+ *   <li>On a virtual thread engines are neither kept nor reused, see
+ *       {@link Utils#isVirtualThread()}. A virtual thread typically performs
+ *       one task, thus a kept engine would never be reused, but it would keep
+ *       its key reachable until the thread terminates.
+ * </ol>
+ */
+/* package */ final class SignaturePool {
+  /**
+   * Engines of current thread, key is the name of the algorithm.
+   */
+  private static final ThreadLocal<Map<String, Engine>> ENGINES = ThreadLocal.withInitial(
+      HashMap::new
+  ); // */
+
+  /**
+   * Private default-constructor.
+   */
+  private SignaturePool() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Estimates signature algorithm for given domain parameter.
+   *
+   * <p>The hash function is chosen according to the bit-length of the prime
+   * {@code p} of the underlying finite field. That bit-length is computed
+   * once per {@link java.math.BigInteger}. Thus, no cache is necessary.
+   *
+   * @param domainParameter of key
+   *
+   * @return name of signature algorithm, e.g. {@code "SHA256withECDSA"}
+   */
+  /* package */ static String getAlgorithm(
+      final ECParameterSpec domainParameter
+  ) {
+    final int size = ((ECFieldFp) domainParameter.getCurve().getField()).getP().bitLength();
+    final String result;
+    if (size <= 256) { // NOPMD literal in conditional statement
+      result = "SHA256withECDSA";
+    } else if (size <= 384) { // NOPMD literal in conditional statement
+      result = "SHA384withECDSA";
+    } else {
+      result = "SHA512withECDSA";
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns engine initialized for signing.
+   *
+   * <p>The engine belongs to the current thread. It is intended to be used
+   * immediately, i.e. {@link Signature#update(byte[])} followed by
+   * {@link Signature#sign()}.
+   *
+   * @param algorithm name of signature algorithm
+   * @param key       used for signing
+   *
+   * @return engine initialized with {@code key}
+   *
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  /* package */ static Signature getSigner(
+      final String algorithm,
+      final PrivateKey key
+  ) throws
+      InvalidKeyException,
+      NoSuchAlgorithmException {
+    final Engine engine = getEngine(algorithm);
+
+    if ((engine.insKey != key) || !engine.insSigning) { // NOPMD compare objects with ==
+      engine.insKey = null; // NOPMD assigning null, invalidated until initialization succeeds
+      engine.insSignature.initSign(key);
+      engine.insKey = key;
+      engine.insSigning = true;
+    } // end if
+
+    return engine.insSignature;
+  } // end method */
+
+  /**
+   * Returns engine initialized for verifying.
+   *
+   * <p>The engine belongs to the current thread. It is intended to be used
+   * immediately, i.e. {@link Signature#update(byte[])} followed by
+   * {@link Signature#verify(byte[])}.
+   *
+   * @param algorithm name of signature algorithm
+   * @param key       used for verifying
+   *
+   * @return engine initialized with {@code key}
+   *
+   * @throws InvalidKeyException      if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  /* package */ static Signature getVerifier(
+      final String algorithm,
+      final PublicKey key
+  ) throws
+      InvalidKeyException,
+      NoSuchAlgorithmException {
+    final Engine engine = getEngine(algorithm);
+
+    if ((engine.insKey != key) || engine.insSigning) { // NOPMD compare objects with ==
+      engine.insKey = null; // NOPMD assigning null, invalidated until initialization succeeds
+      engine.insSignature.initVerify(key);
+      engine.insKey = key;
+      engine.insSigning = false;
+    } // end if
+
+    return engine.insSignature;
+  } // end method */
+
+  /**
+   * Removes engine of current thread for given algorithm.
+   *
+   * <p>This is useful after an engine threw an exception during
+   * {@link Signature#update(byte[])}, because then its state is unknown.
+   *
+   * @param algorithm name of signature algorithm
+   */
+  /* package */ static void discard(
+      final String algorithm
+  ) {
+    if (!Utils.isVirtualThread()) {
+      ENGINES.get().remove(algorithm);
+    } // end if
+  } // end method */
+
+  /**
+   * Returns engine of current thread for given algorithm.
+   *
+   * @param algorithm name of signature algorithm
+   *
+   * @return engine, possibly not yet initialized, on a virtual thread always
+   *         a new engine
+   *
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  private static Engine getEngine(
+      final String algorithm
+  ) throws NoSuchAlgorithmException {
+    if (Utils.isVirtualThread()) {
+      // ... engine would never be reused
+      //     => do not keep it
+      return new Engine(Signature.getInstance(algorithm));
+    } // end if
+    // ... platform thread
+
+    final Map<String, Engine> engines = ENGINES.get();
+    Engine result = engines.get(algorithm);
+
+    if (null == result) {
+      result = new Engine(Signature.getInstance(algorithm));
+      engines.put(algorithm, result);
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * {@link Signature} engine together with its initialization state.
+   */
+  private static final class Engine {
+    /**
+     * Engine.
+     */
+    private final Signature insSignature; // */
+
+    /**
+     * Key the engine is initialized with, {@code null} if not initialized.
+     */
+    private Key insKey; // */
+
+    /**
+     * Flag indicating whether engine is initialized for signing.
+     */
+    private boolean insSigning; // */
+
+    /**
+     * Comfort constructor.
+     *
+     * @param signature engine, not yet initialized
+     */
+    private Engine(
+        final Signature signature
+    ) {
+      insSignature = signature;
+    } // end constructor */
+  } // end inner class
+} // end class
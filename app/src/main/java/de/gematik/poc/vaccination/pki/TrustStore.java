@@ -0,0 +1,545 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import com.gmail.alfred65fiedler.crypto.AfiElcParameterSpec;
+import com.gmail.alfred65fiedler.crypto.AfiElcUtils;
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Utils;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.KeyFactory;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.InvalidKeySpecException;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Packed trust store for verifiers, e.g. offline checkpoint devices.
+ *
+ * <p>Without a trust store the issuer of a compact certificate is resolved by
+ * {@link PublicKeyInfrastructure#getPublicKey(String)}, i.e. by looking up the
+ * directory of the issuer and opening a key store. A trust store instead keeps
+ * everything a verifier needs in one file:
+ * <ol>
+ *   <li>the numeric identifier of an entity (i.e. its common name, see
+ *       {@link CborSigner#createCompactCertificate(ConcurrentLinkedQueue)}),
+ *   <li>the public key of that entity as uncompressed point, thus no
+ *       decompression is necessary when reading,
+ *   <li>the compact certificate of that entity, if present.
+ * </ol>
+ *
+ * <p>The file is memory-mapped once. Entries are sorted by identifier, such
+ * that lookups are binary searches within the mapped file. Thus, after
+ * opening a trust store lookups never touch the file-system. Public keys are
+ * decoded on first use and kept afterwards.
+ *
+ * <p>The file has the following structure (all integers big-endian):
+ * <pre>
+ *   trustStore := MAGIC || count || index || entries
+ *   index      := count * (identifier || offset), sorted by identifier,
+ *                 each element an int, offset relative to start of file
+ *   entry      := domainParameter || lengthPoint || point
+ *                 || lengthCompactCertificate || compactCertificate
+ *                 with one octet for the index of the domain parameter in
+ *                 {@link #DOMAIN_PARAMETERS} and a short for each length
+ * </pre>
+ *
+ * <p>If system property {@link #PROPERTY_PATH} names a trust store, then
+ * {@link CborSigner#verifyCompactCertificate(byte[])} uses that trust store,
+ * see {@link #getInstance()}.
+ */
+public final class TrustStore {
+  /**
+   * Name of system property with path to trust store used by verifiers.
+   */
+  /* package */ static final String PROPERTY_PATH = "vaccination.pki.trustStore"; // */
+
+  /**
+   * Default name of trust store file within base path of PKI.
+   */
+  /* package */ static final String FILE_NAME = "trustStore.bin"; // */
+
+  /**
+   * Magic number at the start of a trust store, {@code "VTS1"}.
+   */
+  /* package */ static final int MAGIC = 0x56545331; // */
+
+  /**
+   * Domain parameter supported in a trust store, the position in this list
+   * is stored in an entry.
+   */
+  /* package */ static final List<AfiElcParameterSpec> DOMAIN_PARAMETERS = List.of(
+      AfiElcParameterSpec.brainpoolP256r1,
+      AfiElcParameterSpec.brainpoolP384r1,
+      AfiElcParameterSpec.brainpoolP512r1
+  ); // */
+
+  /**
+   * Number of octet in header, i.e. {@link #MAGIC} and number of entries.
+   */
+  private static final int HEADER_SIZE = 2 * Integer.BYTES; // */
+
+  /**
+   * Number of octet of an element in index, i.e. identifier and offset.
+   */
+  private static final int INDEX_SIZE = 2 * Integer.BYTES; // */
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrustStore.class); // */
+
+  /**
+   * Empty trust store indicating that no trust store is configured.
+   */
+  private static final TrustStore ABSENT = new TrustStore(
+      ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(0).flip()
+  ); // */
+
+  /**
+   * Trust store used by verifiers.
+   *
+   * <p>{@code null} if not yet resolved, {@link #ABSENT} if no trust store is
+   * configured. Thus, after the first call to {@link #getInstance()} each
+   * further call is a single read of this field, regardless of whether a
+   * trust store is configured.
+   */
+  @CheckForNull
+  private static volatile TrustStore claInstance; // NOPMD volatile */
+
+  /**
+   * Content of trust store, read-only.
+   */
+  private final ByteBuffer insBuffer; // */
+
+  /**
+   * Number of entries.
+   */
+  private final int insSize; // */
+
+  /**
+   * Decoded public keys, same order as index, {@code null} if not yet decoded.
+   */
+  private final AtomicReferenceArray<ECPublicKey> insKeys; // */
+
+  /**
+   * Comfort constructor.
+   *
+   * @param buffer content of trust store
+   *
+   * @throws IllegalArgumentException if {@code buffer} is not a valid trust store
+   */
+  /* package */ TrustStore(
+      final ByteBuffer buffer
+  ) {
+    insBuffer = buffer.asReadOnlyBuffer();
+
+    if ((insBuffer.capacity() < HEADER_SIZE) || (MAGIC != insBuffer.getInt(0))) {
+      throw new IllegalArgumentException("invalid trust store");
+    } // end if
+
+    insSize = insBuffer.getInt(Integer.BYTES);
+    if ((insSize < 0)
+        || ((insBuffer.capacity() - HEADER_SIZE) / INDEX_SIZE < insSize)) {
+      throw new IllegalArgumentException("invalid trust store");
+    } // end if
+
+    insKeys = new AtomicReferenceArray<>(insSize);
+  } // end constructor */
+
+  /**
+   * Creates a trust store.
+   *
+   * <p>Assertions:
+   * <ol>
+   *   <li>At least one element is present in {@code arguments}.
+   *   <li>All elements in {@code arguments} have a length greater than zero.
+   * </ol>
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>one or more commonNames of entities, e.g. CA,
+   *                        each common name is a numeric identifier
+   *                  </ol>
+   *
+   * @return {@code TRUE} if trust store is successfully created,
+   *         {@code FALSE} otherwise
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws NumberFormatException    if a common name cannot be converted by
+   *                                  {@link Integer#parseInt(String)}
+   */
+  public static boolean create(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws
+      CertificateException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    if (arguments.isEmpty()) {
+      // ... too few arguments
+      final String newLine = System.lineSeparator();
+
+      CmdLine.LOGGER.atInfo().log(
+          List.of(// list with parameter explanation
+              "commonName: numeric common name of entity, e.g. CA"
+          ).stream()
+              .collect(Collectors.joining(
+                  newLine + "  ",                   // delimiter
+                  newLine + newLine + "Usage: "     // start prefix with usage description
+                      + CmdLine.ACTION_PKI_TRUST    // action followed by parameter list
+                      + " commonName [commonName ...]"
+                      + newLine + "  ",             // end prefix
+                  newLine + newLine                 // suffix
+              ))
+      );
+
+      return false;
+    } // end if
+    // ... enough arguments
+
+    LOGGER.atInfo().log("start: create trust store");
+
+    final List<String> commonNames = List.copyOf(arguments);
+    arguments.clear();
+    final Path path = PublicKeyInfrastructure.claPkiBasePath.resolve(FILE_NAME);
+    write(path, commonNames);
+
+    LOGGER.atInfo().log("end  : create trust store {} with {} entries", path, commonNames.size());
+
+    return true;
+  } // end method */
+
+  /**
+   * Writes a trust store.
+   *
+   * <p>The trust store is written to a temporary file first and then moved
+   * atomically. Thus, verifiers never open a partially written trust store.
+   *
+   * @param path        of trust store
+   * @param commonNames of entities, each common name is a numeric identifier
+   *
+   * @throws CertificateException     if underlying methods do so
+   * @throws IllegalArgumentException if an identifier occurs more than once or
+   *                                  domain parameter of a public key are not
+   *                                  in {@link #DOMAIN_PARAMETERS}
+   * @throws IOException              if underlying methods do so
+   * @throws KeyStoreException        if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   * @throws NumberFormatException    if a common name cannot be converted by
+   *                                  {@link Integer#parseInt(String)}
+   */
+  /* package */ static void write(
+      final Path path,
+      final List<String> commonNames
+  ) throws
+      CertificateException,
+      IOException,
+      KeyStoreException,
+      NoSuchAlgorithmException {
+    // --- encode entries, sorted by identifier
+    final SortedMap<Integer, byte[]> entries = new TreeMap<>();
+    for (final String commonName : commonNames) {
+      final int identifier = Integer.parseInt(commonName);
+      final ECPublicKey puk = PublicKeyInfrastructure.getPublicKey(commonName);
+      final AfiElcParameterSpec dp = AfiElcParameterSpec.getInstance(puk.getParams());
+      final int domainParameter = DOMAIN_PARAMETERS.indexOf(dp);
+      if (domainParameter < 0) {
+        throw new IllegalArgumentException("unsupported domain parameter: " + commonName);
+      } // end if
+
+      final byte[] point = AfiElcUtils.p2osUncompressed(puk.getW(), dp);
+      final Path pathCompact = PublicKeyInfrastructure.getPath(commonName).resolve(
+          commonName + CborSigner.SUFFIX_COMPACT + Utils.EXTENSION_BIN
+      );
+      final byte[] compactCertificate = Files.isRegularFile(pathCompact)
+          ? Files.readAllBytes(pathCompact)
+          : new byte[0];
+
+      final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+      final DataOutputStream dos = new DataOutputStream(entry);
+      dos.writeByte(domainParameter);
+      dos.writeShort(point.length);
+      dos.write(point);
+      dos.writeShort(compactCertificate.length);
+      dos.write(compactCertificate);
+
+      if (null != entries.put(identifier, entry.toByteArray())) {
+        throw new IllegalArgumentException("duplicate identifier: " + identifier);
+      } // end if
+    } // end for (commonName...)
+
+    // --- compose header, index and entries
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    final DataOutputStream dos = new DataOutputStream(baos);
+    dos.writeInt(MAGIC);
+    dos.writeInt(entries.size());
+    int offset = HEADER_SIZE + entries.size() * INDEX_SIZE;
+    for (final Map.Entry<Integer, byte[]> entry : entries.entrySet()) {
+      dos.writeInt(entry.getKey());
+      dos.writeInt(offset);
+      offset += entry.getValue().length;
+    } // end for (entry...)
+    for (final byte[] entry : entries.values()) {
+      dos.write(entry);
+    } // end for (entry...)
+
+    // --- write to temporary file and move atomically
+    final Path directory = path.toAbsolutePath().getParent();
+    final Path tmp = Files.createTempFile(directory, FILE_NAME, ".tmp");
+    try {
+      Files.write(tmp, baos.toByteArray());
+      Files.move(
+          tmp,
+          path,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE
+      );
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // end finally
+  } // end method */
+
+  /**
+   * Opens a trust store by mapping it into memory.
+   *
+   * @param path of trust store
+   *
+   * @return trust store
+   *
+   * @throws IllegalArgumentException if file is not a valid trust store
+   * @throws IOException              if underlying methods do so
+   */
+  public static TrustStore open(
+      final Path path
+  ) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // Note: The mapping stays valid after the channel is closed.
+      return new TrustStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Returns trust store used by verifiers.
+   *
+   * <p>The trust store is opened on first call, if system property
+   * {@link #PROPERTY_PATH} is set. The outcome of the first call is kept,
+   * i.e. setting or changing that system property afterwards has no effect
+   * until {@link #reset()} is called.
+   *
+   * @return trust store, {@code null} if system property {@link #PROPERTY_PATH}
+   *         is absent
+   *
+   * @throws IOException if underlying methods do so
+   */
+  @CheckForNull
+  public static TrustStore getInstance() throws IOException {
+    TrustStore result = claInstance;
+
+    if (null == result) {
+      // ... trust store not yet resolved
+      synchronized (TrustStore.class) {
+        result = claInstance;
+
+        if (null == result) {
+          final String path = System.getProperty(PROPERTY_PATH);
+          if (null == path) {
+            result = ABSENT;
+          } else {
+            result = open(Path.of(path));
+            LOGGER.atInfo().log("trust store {} opened", path);
+          } // end else
+
+          claInstance = result;
+        } // end if
+      } // end synchronized
+    } // end if
+
+    return (ABSENT == result) ? null : result; // NOPMD compare objects with ==
+  } // end method */
+
+  /**
+   * Closes trust store used by verifiers.
+   *
+   * <p>The next call to {@link #getInstance()} evaluates system property
+   * {@link #PROPERTY_PATH} again.
+   */
+  /* package */ static void reset() {
+    synchronized (TrustStore.class) {
+      claInstance = null; // NOPMD assigning null
+    } // end synchronized
+  } // end method */
+
+  /**
+   * Returns number of entries.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    return insSize;
+  } // end method */
+
+  /**
+   * Returns public key of entity with given identifier.
+   *
+   * @param identifier of entity
+   *
+   * @return public key, {@code null} if no entry with {@code identifier} exists
+   *
+   * @throws InvalidKeySpecException  if underlying methods do so
+   * @throws NoSuchAlgorithmException if underlying methods do so
+   */
+  @CheckForNull
+  public ECPublicKey getPublicKey(
+      final int identifier
+  ) throws
+      InvalidKeySpecException,
+      NoSuchAlgorithmException {
+    final int index = search(identifier);
+    if (index < 0) {
+      return null;
+    } // end if
+    // ... entry present
+
+    final ECPublicKey cached = insKeys.get(index);
+    if (null != cached) {
+      return cached;
+    } // end if
+    // ... public key not yet decoded
+
+    final int offset = getOffset(index);
+    final AfiElcParameterSpec dp = DOMAIN_PARAMETERS.get(insBuffer.get(offset));
+    final byte[] point = getOctets(offset + 1);
+    final ECPublicKey result = (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(
+        new ECPublicKeySpec(AfiElcUtils.os2p(point, dp), dp)
+    );
+
+    // Note: Concurrent callers possibly decode the same key. Only the first
+    //       result is kept, such that all callers share one instance.
+    return insKeys.compareAndSet(index, null, result) ? result : insKeys.get(index);
+  } // end method */
+
+  /**
+   * Returns compact certificate of entity with given identifier.
+   *
+   * @param identifier of entity
+   *
+   * @return compact certificate, {@code null} if no entry with
+   *         {@code identifier} exists or that entry has no compact certificate
+   */
+  @CheckForNull
+  public byte[] getCompactCertificate(
+      final int identifier
+  ) {
+    final int index = search(identifier);
+    if (index < 0) {
+      return null;
+    } // end if
+    // ... entry present
+
+    final int offset = getOffset(index) + 1;
+    final byte[] result = getOctets(offset + Short.BYTES + (insBuffer.getShort(offset) & 0xffff));
+
+    return (0 == result.length) ? null : result;
+  } // end method */
+
+  /**
+   * Binary search for given identifier in index.
+   *
+   * @param identifier of entity
+   *
+   * @return position in index, negative if absent
+   */
+  private int search(
+      final int identifier
+  ) {
+    int low = 0;
+    int high = insSize - 1;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int value = insBuffer.getInt(HEADER_SIZE + mid * INDEX_SIZE);
+
+      if (value < identifier) {
+        low = mid + 1;
+      } else if (value > identifier) {
+        high = mid - 1;
+      } else {
+        return mid;
+      } // end else
+    } // end while (low <= high)
+
+    return -1;
+  } // end method */
+
+  /**
+   * Returns offset of entry at given position in index.
+   *
+   * @param index position in index
+   *
+   * @return offset of entry relative to start of trust store
+   */
+  private int getOffset(
+      final int index
+  ) {
+    return insBuffer.getInt(HEADER_SIZE + index * INDEX_SIZE + Integer.BYTES);
+  } // end method */
+
+  /**
+   * Returns octets preceded by a length field of type short.
+   *
+   * @param offset of length field relative to start of trust store
+   *
+   * @return octets following the length field
+   */
+  private byte[] getOctets(
+      final int offset
+  ) {
+    final byte[] result = new byte[insBuffer.getShort(offset) & 0xffff];
+
+    // Note: A duplicate has its own position, thus concurrent callers do not
+    //       interfere with each other.
+    final ByteBuffer duplicate = insBuffer.duplicate();
+    duplicate.position(offset + Short.BYTES);
+    duplicate.get(result);
+
+    return result;
+  } // end method */
+} // end class
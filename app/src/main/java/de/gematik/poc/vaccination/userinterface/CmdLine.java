@@ -17,17 +17,24 @@
 package de.gematik.poc.vaccination.userinterface;
 
 import com.gmail.alfred65fiedler.utils.AfiUtils;
+import de.gematik.poc.vaccination.certvac.BatchVerifier;
 import de.gematik.poc.vaccination.certvac.Checker;
 import de.gematik.poc.vaccination.certvac.CreatorOfProof;
 import de.gematik.poc.vaccination.certvac.InformationOfProof;
 import de.gematik.poc.vaccination.certvac.InformationOfVaccination;
+import de.gematik.poc.vaccination.certvac.QrCodePipeline;
+import de.gematik.poc.vaccination.certvac.QrCodeRenderer;
 import de.gematik.poc.vaccination.pki.CborSigner;
 import de.gematik.poc.vaccination.pki.PublicKeyInfrastructure;
+import de.gematik.poc.vaccination.pki.TrustStore;
+import de.gematik.poc.vaccination.utils.Utils;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -86,6 +93,11 @@ public final class CmdLine { // NOPMD
    */
   public static final String ACTION_INFOPROOF_VERIFY = "--IoP_Verify"; // */
 
+  /**
+   * Action: Verify signatures for many {@link InformationOfProof} at once.
+   */
+  public static final String ACTION_INFOPROOF_VERIFY_BATCH = "--IoP_VerifyBatch"; // */
+
   /**
    * Action: Create Root-CA.
    */
@@ -106,16 +118,58 @@ public final class CmdLine { // NOPMD
    */
   public static final String ACTION_PKI_ENTITY = "--PKI-CreateEndEntity"; // */
 
+  /**
+   * Action: Create many end-entities signed by the same CA.
+   */
+  public static final String ACTION_PKI_ENTITIES = "--PKI-CreateEndEntities"; // */
+
+  /**
+   * Action: Export certificates issued by a CA to the key store of that CA.
+   */
+  public static final String ACTION_PKI_EXPORT_ISSUED = "--PKI-ExportIssued"; // */
+
+  /**
+   * Action: Create trust store for verifiers, see {@link TrustStore}.
+   */
+  public static final String ACTION_PKI_TRUST = "--PKI-CreateTrustStore"; // */
+
+  /**
+   * Option: Export policy for TLV-structures, see {@link Utils.ExportPolicy}.
+   *
+   * <p>The option precedes the action, e.g. {@code --export binary --PKI-CreateCA ...}.
+   */
+  public static final String OPTION_EXPORT = "--export"; // */
+
   /**
    * Action: Encode text into QR-code.
    */
   public static final String ACTION_QR_ENCODE = "--QR-encode"; // */
 
+  /**
+   * Action: Show size statistics of various encodings of a signed proof.
+   */
+  public static final String ACTION_QR_STATS = "--QR-stats"; // */
+
+  /**
+   * Action: Encode all signed proofs in a directory into QR-codes.
+   */
+  public static final String ACTION_QR_ENCODE_BATCH = "--QR-encodeBatch"; // */
+
   /**
    * Action: Decode QR-code into text.
    */
   public static final String ACTION_QR_DECODE = "--QR-decode"; // */
 
+  /**
+   * Action: Decode and verify all QR-codes in a directory.
+   */
+  public static final String ACTION_QR_DECODE_BATCH = "--QR-decodeBatch"; // */
+
+  /**
+   * Action: Serve checkpoint requests in a long-running process.
+   */
+  public static final String ACTION_SERVE = "--serve"; // */
+
   /**
    * Logger.
    */
@@ -181,8 +235,17 @@ public final class CmdLine { // NOPMD
           Arrays.asList(args)
       );
 
-      if (arguments.isEmpty()) {
-        // ... no command line arguments
+      // --- evaluate options preceding the action
+      boolean validOptions = true;
+      while (validOptions && OPTION_EXPORT.equals(arguments.peek())) {
+        arguments.remove();
+        final Utils.ExportPolicy policy = parseExportPolicy(arguments.poll());
+        validOptions = null != policy;
+        Utils.setExportPolicy(policy);
+      } // end while (option present)
+
+      if (!validOptions || arguments.isEmpty()) {
+        // ... invalid option or no command line arguments
         //     => show usage
         showUsage();
       } else {
@@ -211,15 +274,31 @@ public final class CmdLine { // NOPMD
             Checker.verifySignature(arguments);
             break;
 
+          case ACTION_INFOPROOF_VERIFY_BATCH:
+            BatchVerifier.verifyBatch(arguments);
+            break;
+
           // 2D-barcode actions ________________________________________________
           case ACTION_QR_DECODE:
             Checker.decodeQrCode(arguments);
             break;
 
+          case ACTION_QR_DECODE_BATCH:
+            QrCodePipeline.decodeDirectory(arguments);
+            break;
+
           case ACTION_QR_ENCODE:
             CreatorOfProof.createBarcode(arguments);
             break;
 
+          case ACTION_QR_ENCODE_BATCH:
+            QrCodeRenderer.encodeDirectory(arguments);
+            break;
+
+          case ACTION_QR_STATS:
+            CreatorOfProof.showStatistics(arguments);
+            break;
+
           // PKI actions _______________________________________________________
           case ACTION_PKI_CA:
             PublicKeyInfrastructure.createCa(arguments);
@@ -233,10 +312,27 @@ public final class CmdLine { // NOPMD
             PublicKeyInfrastructure.createEndEntity(arguments);
             break;
 
+          case ACTION_PKI_ENTITIES:
+            PublicKeyInfrastructure.createEndEntities(arguments);
+            break;
+
+          case ACTION_PKI_EXPORT_ISSUED:
+            PublicKeyInfrastructure.exportIssued(arguments);
+            break;
+
+          case ACTION_PKI_TRUST:
+            TrustStore.create(arguments);
+            break;
+
           case ACTION_PKI_ROOT_CA:
             PublicKeyInfrastructure.createRootCa(arguments);
             break;
 
+          // server actions ____________________________________________________
+          case ACTION_SERVE:
+            VerificationServer.serve(arguments);
+            break;
+
           case "misc":
             // Action miscellaneous, i.e. other actions, experiments, hacking
             // TODO remove before release
@@ -265,6 +361,32 @@ public final class CmdLine { // NOPMD
     );
   } // end method */
 
+  /**
+   * Converts value of option {@link #OPTION_EXPORT} into an export policy.
+   *
+   * @param value of option, case-insensitive, {@code null} if absent
+   *
+   * @return corresponding export policy, {@code null} if {@code value} is
+   *         absent or not a valid export policy
+   */
+  @CheckForNull
+  /* package */ static Utils.ExportPolicy parseExportPolicy(
+      final @CheckForNull String value
+  ) {
+    if (null != value) {
+      for (final Utils.ExportPolicy policy : Utils.ExportPolicy.values()) {
+        if (policy.name().equals(value.toUpperCase(Locale.ROOT))) {
+          return policy;
+        } // end if
+      } // end for (policy...)
+    } // end if
+    // ... value absent or invalid
+
+    LOGGER.atInfo().log("invalid value of option {}: {}", OPTION_EXPORT, value);
+
+    return null;
+  } // end method */
+
   /**
    * Show usage.
    */
@@ -277,11 +399,22 @@ public final class CmdLine { // NOPMD
             ACTION_PKI_ROOT_CA,
             ACTION_PKI_CA,
             ACTION_PKI_ENTITY,
+            ACTION_PKI_ENTITIES,
+            ACTION_PKI_EXPORT_ISSUED,
+            ACTION_PKI_TRUST,
             "Other",
             ACTION_CEROVAC_CREATE,
             ACTION_INFOPROOF_CREATE,
             ACTION_QR_ENCODE,
-            ACTION_QR_DECODE
+            ACTION_QR_ENCODE_BATCH,
+            ACTION_QR_STATS,
+            ACTION_QR_DECODE,
+            ACTION_QR_DECODE_BATCH,
+            ACTION_INFOPROOF_VERIFY_BATCH,
+            "Server",
+            ACTION_SERVE,
+            "Options, preceding an action",
+            OPTION_EXPORT + " binary|hex|full"
         ).stream()
             .collect(Collectors.joining(
                 " ..." + newLine + "  ", // delimiter
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.userinterface;
+
+import de.gematik.poc.vaccination.utils.Utils;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor for verification requests with bounded concurrency.
+ *
+ * <p>Verifying a proof at a checkpoint mixes computation with blocking
+ * file I/O, e.g. {@link de.gematik.poc.vaccination.certvac.Checker} reads
+ * input from {@link de.gematik.poc.vaccination.utils.Utils#PATH_UC50} and
+ * writes output to {@link de.gematik.poc.vaccination.utils.Utils#PATH_UC60}
+ * and {@link de.gematik.poc.vaccination.utils.Utils#PATH_UC70}. In particular:
+ * <ol>
+ *   <li>If the runtime supports virtual threads (Java 21 and later), then
+ *       each task runs on its own virtual thread. Thus, a task blocked in I/O
+ *       does not occupy an operating system thread.
+ *   <li>Otherwise, or if system property {@link #PROPERTY_VIRTUAL} is
+ *       {@code "false"}, tasks run on a fixed pool of platform threads, see
+ *       {@link #PROPERTY_PLATFORM_THREADS}.
+ *   <li>At most {@link #getLimit()} tasks are in flight, i.e. submitted and
+ *       not yet finished, see {@link #PROPERTY_LIMIT}. If that limit is
+ *       reached, then {@link #submit(Callable)} blocks until a task finishes.
+ *       Thus, a burst of requests exerts backpressure on the submitter instead
+ *       of queueing an unbounded number of tasks.
+ * </ol>
+ *
+ * <p>Trade-off between virtual and platform threads: Signature engines (see
+ * {@code SignaturePool}) and buffers for signatures are kept per platform
+ * thread and reused by subsequent tasks on that thread. A virtual thread
+ * performs one task only. Thus, on virtual threads these thread-local caches
+ * are bypassed (see {@link Utils#isVirtualThread()}), i.e. each task creates
+ * and initializes its own signature engine. This costs a provider lookup per
+ * task, but nothing is kept after a task finishes. If verifications are
+ * dominated by computation rather than blocking I/O, then platform threads
+ * (system property {@link #PROPERTY_VIRTUAL} set to {@code "false"}) are
+ * preferable.
+ *
+ * <p><i><b>Note:</b> The project is compiled for Java 11. Thus, virtual
+ *    threads are created via {@code Executors.newVirtualThreadPerTaskExecutor()}
+ *    retrieved by reflection, see {@link #newVirtualThreadExecutor()}.</i>
+ */
+public final class VerificationExecutor implements AutoCloseable {
+  /**
+   * Name of system property with the maximum number of tasks in flight,
+   * default is {@link #DEFAULT_LIMIT}.
+   */
+  public static final String PROPERTY_LIMIT = "vaccination.server.maxInFlight"; // */
+
+  /**
+   * Name of system property controlling whether virtual threads are used
+   * (if supported by the runtime), default is {@code "true"}.
+   */
+  public static final String PROPERTY_VIRTUAL = "vaccination.server.virtualThreads"; // */
+
+  /**
+   * Name of system property with the number of platform threads used if
+   * virtual threads are not used, default is twice the number of processors.
+   */
+  public static final String PROPERTY_PLATFORM_THREADS = "vaccination.server.platformThreads"; // */
+
+  /**
+   * Default for the maximum number of tasks in flight.
+   */
+  /* package */ static final int DEFAULT_LIMIT = 1024; // */
+
+  /**
+   * Feature release of Java introducing virtual threads as final feature.
+   */
+  private static final int JAVA_VIRTUAL_THREADS = 21; // */
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(VerificationExecutor.class); // */
+
+  /**
+   * Executor running the tasks.
+   */
+  private final ExecutorService insExecutor; // */
+
+  /**
+   * Flag indicating whether tasks run on virtual threads.
+   */
+  private final boolean insVirtual; // */
+
+  /**
+   * Maximum number of tasks in flight.
+   */
+  private final int insLimit; // */
+
+  /**
+   * Permits for tasks in flight.
+   */
+  private final Semaphore insPermits; // */
+
+  /**
+   * Default constructor, configured by system properties.
+   *
+   * @throws IllegalArgumentException if a system property has a value less than one
+   */
+  public VerificationExecutor() {
+    this(
+        Integer.getInteger(PROPERTY_LIMIT, DEFAULT_LIMIT),
+        Boolean.parseBoolean(System.getProperty(PROPERTY_VIRTUAL, "true")),
+        Integer.getInteger(
+            PROPERTY_PLATFORM_THREADS,
+            2 * Runtime.getRuntime().availableProcessors()
+        )
+    );
+  } // end constructor */
+
+  /**
+   * Comfort constructor.
+   *
+   * @param limit           maximum number of tasks in flight
+   * @param virtual         if {@code TRUE} virtual threads are used, if
+   *                        supported by the runtime
+   * @param platformThreads number of platform threads used if virtual
+   *                        threads are not used, at most {@code limit}
+   *
+   * @throws IllegalArgumentException if {@code limit} or {@code platformThreads}
+   *                                  is less than one
+   */
+  public VerificationExecutor(
+      final int limit,
+      final boolean virtual,
+      final int platformThreads
+  ) {
+    if ((limit < 1) || (platformThreads < 1)) {
+      throw new IllegalArgumentException(
+          "limits not positive: " + limit + ", " + platformThreads
+      );
+    } // end if
+
+    final ExecutorService executorVirtual = virtual ? newVirtualThreadExecutor() : null;
+    insVirtual = null != executorVirtual;
+    insExecutor = insVirtual
+        ? executorVirtual
+        : Executors.newFixedThreadPool(Math.min(limit, platformThreads));
+    insLimit = limit;
+    insPermits = new Semaphore(limit);
+
+    LOGGER.atDebug().log("virtual threads = {}, limit = {}", insVirtual, insLimit);
+  } // end constructor */
+
+  /**
+   * Creates an executor starting a new virtual thread for each task.
+   *
+   * @return executor, {@code null} if the runtime does not support virtual threads
+   */
+  @CheckForNull
+  /* package */ static ExecutorService newVirtualThreadExecutor() {
+    if (Runtime.version().feature() < JAVA_VIRTUAL_THREADS) {
+      return null;
+    } // end if
+    // ... virtual threads are expected to be available
+
+    try {
+      return (ExecutorService) Executors.class
+          .getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.atWarn().log("virtual threads unavailable, using platform threads", e);
+
+      return null;
+    } // end catch (...)
+  } // end method */
+
+  /**
+   * Submits a task.
+   *
+   * <p>If {@link #getLimit()} tasks are in flight, then this method blocks
+   * until one of them finishes.
+   *
+   * @param task to be executed
+   * @param <T>  type of the result of {@code task}
+   *
+   * @return future representing the result of {@code task}
+   *
+   * @throws InterruptedException       if interrupted while waiting for a
+   *                                    task to finish
+   * @throws RejectedExecutionException if this executor is closed
+   */
+  public <T> Future<T> submit(
+      final Callable<T> task
+  ) throws InterruptedException {
+    insPermits.acquire();
+
+    try {
+      return insExecutor.submit(() -> {
+        try {
+          return task.call();
+        } finally {
+          insPermits.release();
+        } // end finally
+      });
+    } catch (RejectedExecutionException e) {
+      insPermits.release();
+
+      throw e;
+    } // end catch (RejectedExecutionException)
+  } // end method */
+
+  /**
+   * Getter.
+   *
+   * @return maximum number of tasks in flight
+   */
+  public int getLimit() {
+    return insLimit;
+  } // end method */
+
+  /**
+   * Returns number of tasks in flight.
+   *
+   * @return number of submitted tasks not yet finished
+   */
+  public int getInFlight() {
+    return insLimit - insPermits.availablePermits();
+  } // end method */
+
+  /**
+   * Getter.
+   *
+   * @return {@code TRUE} if tasks run on virtual threads,
+   *         {@code FALSE} otherwise
+   */
+  public boolean isVirtual() {
+    return insVirtual;
+  } // end method */
+
+  /**
+   * Waits for tasks in flight to finish and releases threads.
+   *
+   * <p>Afterwards no more tasks are accepted.
+   */
+  @Override
+  public void close() {
+    insExecutor.shutdown();
+
+    try {
+      while (!insExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOGGER.atInfo().log("waiting for {} tasks in flight", getInFlight());
+      } // end while (not terminated)
+    } catch (InterruptedException e) {
+      insExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+    } // end catch (InterruptedException)
+  } // end method */
+} // end class
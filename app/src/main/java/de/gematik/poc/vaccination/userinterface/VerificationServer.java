@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.userinterface;
+
+import de.gematik.poc.vaccination.certvac.Checker;
+import de.gematik.poc.vaccination.utils.Utils;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class provides a long-running server for actions performed at a checkpoint.
+ *
+ * <p>Starting a JVM, loading the logging framework and initializing the
+ * cryptographic providers takes much longer than verifying one proof. Thus,
+ * instead of calling {@link CmdLine#main(String[])} once per action, this class
+ * keeps one process alive and serves requests according to the following
+ * (rather simple) line protocol:
+ * <ol>
+ *   <li>Each request is one line of text containing an action followed by its
+ *       arguments, all separated by white-space, e.g. {@code "--IoP_Verify 0815"}.
+ *   <li>Supported actions are {@link CmdLine#ACTION_QR_DECODE},
+ *       {@link CmdLine#ACTION_INFOPROOF_VERIFY} and
+ *       {@link CmdLine#ACTION_INFOPROOF_DECODE}. These actions are dispatched to
+ *       the same methods in {@link Checker} as used by {@link CmdLine#main(String[])}.
+ *   <li>The first argument is a prefix of file names, see {@link Checker}. It
+ *       is rejected if it would address a file outside the directories of
+ *       the corresponding use cases, see {@link #checkPrefix(String)}.
+ *   <li>Each request is answered by exactly one line, either
+ *       {@code "OK action arguments latency"} or
+ *       {@code "ERROR action message latency"}, where {@code latency} is the
+ *       time spent on that request in microseconds, e.g. {@code "1234us"}.
+ *   <li>A line containing {@link #QUIT} ends the session.
+ *   <li>Requests are verified by a {@link VerificationExecutor}. Thus, if a
+ *       client sends several requests at once, then these requests are
+ *       verified concurrently. Answers are written in the order of requests.
+ * </ol>
+ *
+ * <p>Requests are either read from {@link System#in} (answers are written to
+ * {@link System#out}) or from TCP connections to a port on the loopback interface.
+ * In the former case {@link System#out} is reserved for answers, i.e. while
+ * serving requests everything else written to {@link System#out} (e.g. log
+ * messages, see {@link CmdLine}) is redirected to {@link System#err}.
+ */
+public final class VerificationServer {
+  /**
+   * Request ending a session.
+   */
+  public static final String QUIT = "quit"; // */
+
+  /**
+   * Private default-constructor.
+   */
+  private VerificationServer() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Serves requests until the session ends.
+   *
+   * @param arguments arguments used within this method,
+   *                  <ol>
+   *                    <li>optional port number on the loopback interface,
+   *                        if absent requests are read from {@link System#in}
+   *                  </ol>
+   *
+   * @throws IOException           if underlying methods do so
+   * @throws NumberFormatException if the port number is not an integer
+   */
+  public static void serve(
+      final ConcurrentLinkedQueue<String> arguments
+  ) throws IOException {
+    if (arguments.isEmpty()) {
+      // ... no port given
+      //     => serve requests from standard input
+      // Note: Logging uses System.out dynamically. Thus, redirecting System.out
+      //       keeps log messages apart from answers.
+      final PrintStream answers = System.out;
+      System.setOut(System.err);
+      CmdLine.LOGGER.atInfo().log("start: serve requests from standard input");
+
+      try (VerificationExecutor executor = new VerificationExecutor()) {
+        process(
+            new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+            new PrintWriter(new OutputStreamWriter(answers, StandardCharsets.UTF_8), true),
+            executor
+        );
+      } finally {
+        CmdLine.LOGGER.atInfo().log("end  : serve requests from standard input");
+        System.setOut(answers);
+      } // end finally
+
+      return;
+    } // end if
+    // ... port given
+    //     => serve requests from connections to loopback interface
+
+    final int port = Integer.parseInt(arguments.remove());
+    // Note: The number of connections is not limited here. A connection spends
+    //       most of its time waiting for the client, whereas the verifier
+    //       limits the number of requests in flight. Thus, without virtual
+    //       threads a cached (i.e. unbounded) thread pool is used.
+    final ExecutorService executorVirtual = VerificationExecutor.newVirtualThreadExecutor();
+    final ExecutorService executor = (null == executorVirtual)
+        ? Executors.newCachedThreadPool()
+        : executorVirtual;
+
+    try (VerificationExecutor verifier = new VerificationExecutor()) {
+      try (
+          ServerSocket serverSocket = new ServerSocket(
+              port,
+              0,
+              InetAddress.getLoopbackAddress()
+          )
+      ) {
+        CmdLine.LOGGER.atInfo().log(
+            "start: serve requests on {}, virtual threads = {}, limit = {}",
+            serverSocket.getLocalSocketAddress(),
+            verifier.isVirtual(),
+            verifier.getLimit()
+        );
+
+        while (!serverSocket.isClosed()) {
+          final Socket socket = serverSocket.accept();
+          executor.execute(() -> handle(socket, verifier));
+        } // end while (server socket open)
+      } finally {
+        // Note: Running handlers still use the verifier. Thus, wait for them
+        //       before the verifier is closed.
+        awaitHandlers(executor);
+      } // end finally
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Shuts down given executor and waits until all connections are handled.
+   *
+   * @param executor handling connections
+   */
+  private static void awaitHandlers(
+      final ExecutorService executor
+  ) {
+    executor.shutdown();
+
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        CmdLine.LOGGER.atInfo().log("waiting for open connections");
+      } // end while (not terminated)
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    } // end catch (InterruptedException)
+  } // end method */
+
+  /**
+   * Serves requests from one connection.
+   *
+   * @param socket   connection to a client
+   * @param executor verifying requests
+   */
+  private static void handle(
+      final Socket socket,
+      final VerificationExecutor executor
+  ) {
+    try (
+        socket;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+            socket.getInputStream(), StandardCharsets.UTF_8
+        ));
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+            socket.getOutputStream(), StandardCharsets.UTF_8
+        ), true)
+    ) {
+      process(reader, writer, executor);
+    } catch (IOException e) {
+      CmdLine.LOGGER.atWarn().log("connection {} aborted", socket.getRemoteSocketAddress(), e);
+    } // end catch (IOException)
+  } // end method */
+
+  /**
+   * Reads requests line by line and writes one answer line per request.
+   *
+   * <p>Requests are submitted to {@code executor} as soon as they are read.
+   * Before waiting for further requests all pending answers are written.
+   * Thus, an interactive client receives each answer before sending its next
+   * request, whereas requests sent at once are verified concurrently.
+   *
+   * @param reader   from which requests are read
+   * @param writer   to which answers are written
+   * @param executor verifying requests
+   *
+   * @throws IOException if underlying methods do so
+   */
+  /* package */ static void process(
+      final BufferedReader reader,
+      final PrintWriter writer,
+      final VerificationExecutor executor
+  ) throws IOException {
+    final Queue<Future<String>> pending = new ArrayDeque<>();
+
+    try {
+      for (String line = reader.readLine(); null != line; line = reader.readLine()) {
+        final String request = line.trim();
+
+        if (QUIT.equals(request)) {
+          // ... end of session requested
+          break;
+        } else if (!request.isEmpty()) {
+          pending.add(executor.submit(() -> processRequest(request)));
+        } // end else if (non-empty request)
+
+        // answer finished requests, all requests if no further input is available
+        answer(pending, writer, !reader.ready());
+      } // end for (line...)
+
+      answer(pending, writer, true);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new InterruptedIOException("interrupted while serving requests"); // NOPMD stack trace
+    } // end catch (InterruptedException)
+  } // end method */
+
+  /**
+   * Writes answers of pending requests in the order of requests.
+   *
+   * @param pending answers not yet written, in order of requests
+   * @param writer  to which answers are written
+   * @param all     if {@code TRUE} waits for all pending answers, otherwise
+   *                only answers already available in order are written
+   *
+   * @throws InterruptedException if interrupted while waiting for an answer
+   */
+  private static void answer(
+      final Queue<Future<String>> pending,
+      final PrintWriter writer,
+      final boolean all
+  ) throws InterruptedException {
+    while (!pending.isEmpty() && (all || pending.element().isDone())) {
+      try {
+        writer.println(pending.remove().get());
+      } catch (ExecutionException e) {
+        // ... processRequest(String) catches exceptions, thus the cause is an error
+        throw new IllegalStateException("request failed", e.getCause());
+      } // end catch (ExecutionException)
+    } // end while (answers to be written)
+  } // end method */
+
+  /**
+   * Processes one request.
+   *
+   * @param request action followed by its arguments, separated by white-space
+   *
+   * @return answer with result and latency
+   */
+  /* package */ static String processRequest(
+      final String request
+  ) {
+    final long startTime = System.nanoTime();
+
+    final ConcurrentLinkedQueue<String> arguments = new ConcurrentLinkedQueue<>(
+        Arrays.asList(request.trim().split("\\s+"))
+    );
+    final String action = arguments.remove();
+    final List<String> parameter = List.copyOf(arguments);
+
+    String result;
+    try {
+      if (arguments.isEmpty()) {
+        throw new IllegalArgumentException("prefix missing");
+      } // end if
+      // ... at least one argument present
+
+      checkPrefix(arguments.element());
+
+      switch (action) {
+        case CmdLine.ACTION_QR_DECODE:
+          Checker.decodeQrCode(arguments);
+          break;
+
+        case CmdLine.ACTION_INFOPROOF_VERIFY:
+          Checker.verifySignature(arguments);
+          break;
+
+        case CmdLine.ACTION_INFOPROOF_DECODE:
+          Checker.decodeMessage(arguments);
+          break;
+
+        default:
+          throw new IllegalArgumentException("unsupported action");
+      } // end switch (action)
+
+      result = "OK " + action + ' ' + String.join(" ", parameter);
+    } catch (Exception e) { // NOPMD avoid catching generic exceptions
+      CmdLine.LOGGER.atDebug().log("request \"{}\" failed", request, e);
+
+      result = "ERROR " + action + ' ' + e.toString().replaceAll("\\R", " ");
+    } // end catch (Exception)
+
+    return result + ' ' + ((System.nanoTime() - startTime) / 1_000) + "us";
+  } // end method */
+
+  /**
+   * Checks a prefix of file names given by a client.
+   *
+   * <p>{@link Checker} resolves file names {@code prefix + suffix} against
+   * directories like {@link Utils#PATH_UC50}. A prefix is accepted only if
+   * such a file name stays within that directory, i.e. the prefix contains
+   * neither a path separator nor {@code ".."}.
+   *
+   * @param prefix of file names
+   *
+   * @throws IllegalArgumentException if {@code prefix} is not acceptable
+   */
+  /* package */ static void checkPrefix(
+      final String prefix
+  ) {
+    if (prefix.contains("/")
+        || prefix.contains("\\")
+        || prefix.contains(File.separator)
+        || prefix.contains("..")
+        || !Utils.PATH_UC50.normalize().equals(
+            Utils.PATH_UC50.resolve(prefix).normalize().getParent()
+        )
+    ) {
+      throw new IllegalArgumentException("invalid prefix");
+    } // end if
+  } // end method */
+} // end class
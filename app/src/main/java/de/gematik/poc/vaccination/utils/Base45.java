@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import java.util.Arrays;
+
+/**
+ * Base45 codec according to
+ * <a href="https://www.rfc-editor.org/rfc/rfc9285.html">RFC 9285</a>.
+ *
+ * <p>Base45 is used for the content of QR-codes, because QR-codes in
+ * alphanumeric mode encode exactly the 45 characters of the Base45 alphabet.
+ * Two octets are encoded as three characters, a single trailing octet is
+ * encoded as two characters.
+ *
+ * <p>In addition to {@link #encode(byte[])} and {@link #decode(CharSequence)}
+ * this class offers methods working on buffers supplied by the caller. Those
+ * methods do not allocate any objects. Decoding uses a precomputed table
+ * mapping each character in range {@code [0, 255]} to its value.
+ *
+ * <p>This class is a drop-in replacement for
+ * {@code com.gmail.alfred65fiedler.utils.Base45}.
+ */
+public final class Base45 {
+  /**
+   * Base45 alphabet, index is the value of a character.
+   */
+  private static final char[] ALPHABET =
+      "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:".toCharArray(); // */
+
+  /**
+   * Radix.
+   */
+  private static final int RADIX = ALPHABET.length; // */
+
+  /**
+   * Square of radix.
+   */
+  private static final int RADIX_SQUARE = RADIX * RADIX; // */
+
+  /**
+   * Reverse alphabet, index is a character, value is its value or {@code -1}
+   * if the character is not in the alphabet.
+   */
+  private static final byte[] REVERSE = createReverse(); // */
+
+  /**
+   * Private default constructor, prevents class from instantiating.
+   */
+  private Base45() {
+    // intentionally empty
+  } // end constructor */
+
+  /**
+   * Returns number of characters for encoding given number of octets.
+   *
+   * @param length number of octets
+   *
+   * @return number of characters
+   */
+  public static int encodedLength(
+      final int length
+  ) {
+    return (length >> 1) * 3 + ((length & 1) << 1);
+  } // end method */
+
+  /**
+   * Returns number of octets for decoding given number of characters.
+   *
+   * @param length number of characters
+   *
+   * @return number of octets
+   *
+   * @throws IllegalArgumentException if {@code length} is not a valid
+   *                                  length of a Base45 encoding
+   */
+  public static int decodedLength(
+      final int length
+  ) {
+    final int remainder = length % 3;
+    if (1 == remainder) {
+      throw new IllegalArgumentException("invalid length: " + length);
+    } // end if
+
+    return (length / 3 << 1) + (remainder >> 1);
+  } // end method */
+
+  /**
+   * Encodes given octet string.
+   *
+   * @param octets to be encoded
+   *
+   * @return Base45 encoding
+   */
+  public static String encode(
+      final byte[] octets
+  ) {
+    final char[] result = new char[encodedLength(octets.length)];
+    encode(octets, 0, octets.length, result, 0);
+
+    return new String(result);
+  } // end method */
+
+  /**
+   * Encodes given part of an octet string into given buffer.
+   *
+   * @param octets       to be encoded
+   * @param offset       of first octet to be encoded
+   * @param length       number of octets to be encoded
+   * @param buffer       receiving the characters
+   * @param bufferOffset index of first character written to {@code buffer}
+   *
+   * @return number of characters written, i.e. {@link #encodedLength(int)}
+   *
+   * @throws ArrayIndexOutOfBoundsException if {@code octets} or {@code buffer}
+   *                                        are too short
+   */
+  public static int encode(
+      final byte[] octets,
+      final int offset,
+      final int length,
+      final char[] buffer,
+      final int bufferOffset
+  ) {
+    final int end = offset + (length & ~1);
+    int index = bufferOffset;
+
+    for (int i = offset; i < end; i += 2) {
+      int value = ((octets[i] & 0xff) << 8) | (octets[i + 1] & 0xff);
+      buffer[index++] = ALPHABET[value % RADIX];
+      value /= RADIX;
+      buffer[index++] = ALPHABET[value % RADIX];
+      buffer[index++] = ALPHABET[value / RADIX];
+    } // end for (i...)
+
+    if (1 == (length & 1)) {
+      // ... odd number of octets, encode last octet
+      final int value = octets[end] & 0xff;
+      buffer[index++] = ALPHABET[value % RADIX];
+      buffer[index++] = ALPHABET[value / RADIX];
+    } // end if
+
+    return index - bufferOffset;
+  } // end method */
+
+  /**
+   * Decodes given Base45 encoding.
+   *
+   * @param text Base45 encoding
+   *
+   * @return decoded octet string
+   *
+   * @throws IllegalArgumentException if {@code text} is not a valid Base45 encoding
+   */
+  public static byte[] decode(
+      final CharSequence text
+  ) {
+    final byte[] result = new byte[decodedLength(text.length())];
+    decode(text, result, 0);
+
+    return result;
+  } // end method */
+
+  /**
+   * Decodes given Base45 encoding into given buffer.
+   *
+   * @param text   Base45 encoding
+   * @param buffer receiving the octets
+   * @param offset index of first octet written to {@code buffer}
+   *
+   * @return number of octets written, i.e. {@link #decodedLength(int)}
+   *
+   * @throws ArrayIndexOutOfBoundsException if {@code buffer} is too short
+   * @throws IllegalArgumentException       if {@code text} is not a valid
+   *                                        Base45 encoding
+   */
+  public static int decode(
+      final CharSequence text,
+      final byte[] buffer,
+      final int offset
+  ) {
+    final int length = text.length();
+    final int result = decodedLength(length);
+    final int end = length - (length % 3);
+    int index = offset;
+
+    for (int i = 0; i < end; i += 3) {
+      final int value = valueOf(text, i)
+          + valueOf(text, i + 1) * RADIX
+          + valueOf(text, i + 2) * RADIX_SQUARE;
+      if (value > 0xffff) { // NOPMD literal in conditional statement
+        throw new IllegalArgumentException(
+            "value at index " + i + " exceeds two octet: " + value
+        );
+      } // end if
+
+      buffer[index++] = (byte) (value >> 8);
+      buffer[index++] = (byte) value;
+    } // end for (i...)
+
+    if (end < length) {
+      // ... two characters left, decode last octet
+      final int value = valueOf(text, end) + valueOf(text, end + 1) * RADIX;
+      if (value > 0xff) { // NOPMD literal in conditional statement
+        throw new IllegalArgumentException(
+            "value at index " + end + " exceeds one octet: " + value
+        );
+      } // end if
+
+      buffer[index] = (byte) value;
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * Returns value of character at given index.
+   *
+   * @param text  Base45 encoding
+   * @param index of character
+   *
+   * @return value of character in range {@code [0, 44]}
+   *
+   * @throws IllegalArgumentException if character is not in the Base45 alphabet
+   */
+  private static int valueOf(
+      final CharSequence text,
+      final int index
+  ) {
+    final char character = text.charAt(index);
+    final int result = (character < REVERSE.length) ? REVERSE[character] : -1;
+    if (result < 0) {
+      throw new IllegalArgumentException(
+          "invalid character at index " + index + ": '" + character + '\''
+      );
+    } // end if
+
+    return result;
+  } // end method */
+
+  /**
+   * Creates reverse alphabet.
+   *
+   * @return table with value of each character in range {@code [0, 255]}
+   */
+  private static byte[] createReverse() {
+    final byte[] result = new byte[256];
+    Arrays.fill(result, (byte) -1);
+
+    for (int value = ALPHABET.length; value-- > 0;) { // NOPMD assignment in operand
+      result[ALPHABET[value]] = (byte) value;
+    } // end for (value...)
+
+    return result;
+  } // end method */
+} // end class
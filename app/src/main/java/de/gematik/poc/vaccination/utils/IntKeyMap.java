@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Immutable map with primitive {@code int} keys.
+ *
+ * <p>In contrast to {@link java.util.Map} with {@link Integer} keys, lookups
+ * neither box the key nor follow references to key objects. Keys and values
+ * are stored in two arrays with open addressing and linear probing.
+ *
+ * <p>Instances are immutable, {@link #with(int, Object)} returns a copy with
+ * an additional entry. Thus, an instance is safely shared between threads
+ * without synchronization, e.g. via a {@code volatile} field which is
+ * replaced by writers. This suits maps which are read very often and
+ * modified rarely, e.g. a map from issuer identifier to public key.
+ *
+ * @param <V> type of values
+ */
+public final class IntKeyMap<V> {
+  /**
+   * Empty map.
+   */
+  private static final IntKeyMap<?> EMPTY = new IntKeyMap<>(new int[2], new Object[2], 0); // */
+
+  /**
+   * Keys, a slot is occupied if the value at the same position is not {@code null}.
+   */
+  private final int[] insKeys; // */
+
+  /**
+   * Values, {@code null} for empty slots.
+   */
+  private final Object[] insValues; // */
+
+  /**
+   * Number of entries.
+   */
+  private final int insSize; // */
+
+  /**
+   * Comfort constructor.
+   *
+   * @param keys   of entries, length is a power of two
+   * @param values of entries, same length as {@code keys}
+   * @param size   number of entries
+   */
+  private IntKeyMap(
+      final int[] keys,
+      final Object[] values,
+      final int size
+  ) {
+    insKeys = keys;
+    insValues = values;
+    insSize = size;
+  } // end constructor */
+
+  /**
+   * Returns an empty map.
+   *
+   * @param <V> type of values
+   *
+   * @return empty map
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> IntKeyMap<V> empty() {
+    return (IntKeyMap<V>) EMPTY;
+  } // end method */
+
+  /**
+   * Returns value associated with given key.
+   *
+   * @param key for which the value is requested
+   *
+   * @return value associated with {@code key} or {@code null} if absent
+   */
+  @CheckForNull
+  @SuppressWarnings("unchecked")
+  public V get(
+      final int key
+  ) {
+    final int mask = insKeys.length - 1;
+    int index = hash(key) & mask;
+
+    Object value;
+    while (null != (value = insValues[index])) { // NOPMD assignment in operand
+      if (insKeys[index] == key) {
+        return (V) value;
+      } // end if
+
+      index = (index + 1) & mask;
+    } // end while (slot occupied)
+
+    return null;
+  } // end method */
+
+  /**
+   * Returns a map with all entries of this map and given entry.
+   *
+   * <p>If {@code key} is already present, then its value is replaced in the
+   * returned map. This map remains unchanged.
+   *
+   * @param key   with which {@code value} is associated
+   * @param value associated with {@code key}
+   *
+   * @return map with given entry
+   *
+   * @throws NullPointerException if {@code value} is {@code null}
+   */
+  public IntKeyMap<V> with(
+      final int key,
+      final V value
+  ) {
+    if (null == value) {
+      throw new NullPointerException("value"); // NOPMD throwing NullPointerException
+    } // end if
+
+    final boolean present = null != get(key);
+    final int size = present ? insSize : insSize + 1;
+
+    // keep load factor at most 1/2, thus probe sequences stay short
+    int length = insKeys.length;
+    while (length < 2 * size) {
+      length <<= 1;
+    } // end while (too small)
+
+    final int[] keys = new int[length];
+    final Object[] values = new Object[length];
+    for (int i = insKeys.length; i-- > 0;) { // NOPMD assignment in operand
+      if (null != insValues[i]) {
+        put(keys, values, insKeys[i], insValues[i]);
+      } // end if
+    } // end for (i...)
+    put(keys, values, key, value);
+
+    return new IntKeyMap<>(keys, values, size);
+  } // end method */
+
+  /**
+   * Returns number of entries.
+   *
+   * @return number of entries in this map
+   */
+  public int size() {
+    return insSize;
+  } // end method */
+
+  /**
+   * Stores entry in given arrays.
+   *
+   * @param keys   of entries
+   * @param values of entries
+   * @param key    of new entry
+   * @param value  of new entry
+   */
+  private static void put(
+      final int[] keys,
+      final Object[] values,
+      final int key,
+      final Object value
+  ) {
+    final int mask = keys.length - 1;
+    int index = hash(key) & mask;
+
+    while ((null != values[index]) && (keys[index] != key)) {
+      index = (index + 1) & mask;
+    } // end while (slot occupied by other key)
+
+    keys[index] = key;
+    values[index] = value;
+  } // end method */
+
+  /**
+   * Spreads bits of given key, such that consecutive keys do not cluster.
+   *
+   * @param key to be hashed
+   *
+   * @return hash value
+   */
+  private static int hash(
+      final int key
+  ) {
+    final int hash = key * 0x9e3779b9; // golden ratio, multiplicative hashing
+
+    return hash ^ (hash >>> 16);
+  } // end method */
+} // end class
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded and thread-safe cache with least-recently-used (LRU) eviction.
+ *
+ * <p>If the number of entries exceeds the capacity of the cache, then the
+ * entry which was accessed least recently is evicted.
+ *
+ * <p><i><b>Note:</b> All methods are synchronized on the instance. Thus, this
+ *    class is intended for caching values which are expensive to compute
+ *    compared to the time spent within such a method.</i>
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class LruCache<K, V> {
+  /**
+   * Maximum number of entries.
+   */
+  private final int insCapacity; // */
+
+  /**
+   * Entries in access-order, i.e. least recently used entry first.
+   */
+  private final Map<K, V> insMap; // */
+
+  /**
+   * Comfort constructor.
+   *
+   * @param capacity maximum number of entries in this cache
+   *
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  public LruCache(
+      final int capacity
+  ) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity not positive: " + capacity);
+    } // end if
+
+    insCapacity = capacity;
+    insMap = new LinkedHashMap<>(16, 0.75f, true) { // NOPMD literals
+      /**
+       * Automatically generated UID.
+       */
+      private static final long serialVersionUID = 4718520369852740185L; // */
+
+      /**
+       * Evicts the least recently used entry if capacity is exceeded.
+       */
+      @Override
+      protected boolean removeEldestEntry(
+          final Map.Entry<K, V> eldest
+      ) {
+        return size() > insCapacity;
+      } // end method */
+    };
+  } // end constructor */
+
+  /**
+   * Removes all entries.
+   */
+  public synchronized void clear() {
+    insMap.clear();
+  } // end method */
+
+  /**
+   * Returns value associated with given key.
+   *
+   * @param key for which the value is requested
+   *
+   * @return value associated with {@code key} or {@code null} if absent
+   */
+  @CheckForNull
+  public synchronized V get(
+      final K key
+  ) {
+    return insMap.get(key);
+  } // end method */
+
+  /**
+   * Getter.
+   *
+   * @return maximum number of entries in this cache
+   */
+  public int getCapacity() {
+    return insCapacity;
+  } // end method */
+
+  /**
+   * Associates given value with given key.
+   *
+   * <p>If this cache is full, the least recently used entry is evicted.
+   *
+   * @param key   with which {@code value} is associated
+   * @param value associated with {@code key}
+   */
+  public synchronized void put(
+      final K key,
+      final V value
+  ) {
+    insMap.put(key, value);
+  } // end method */
+
+  /**
+   * Removes entry with given key.
+   *
+   * @param key of entry to be removed
+   */
+  public synchronized void remove(
+      final K key
+  ) {
+    insMap.remove(key);
+  } // end method */
+
+  /**
+   * Returns number of entries.
+   *
+   * @return number of entries in this cache
+   */
+  public synchronized int size() {
+    return insMap.size();
+  } // end method */
+} // end class
@@ -18,7 +18,11 @@ package de.gematik.poc.vaccination.utils;
 
 import com.gmail.alfred65fiedler.tlv.BerTlv;
 import de.gematik.poc.vaccination.userinterface.CmdLine;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -71,6 +75,22 @@ public final class Utils { // NOPMD strange name for a utility class
    */
   public static final Path PATH_UC70 = CmdLine.BASE_PATH.resolve("UC_70_DecodeCeroVacInfo"); // */
 
+  /**
+   * Export policy configured for this run, {@code null} if not configured.
+   */
+  @CheckForNull
+  private static volatile ExportPolicy claExportPolicy; // NOPMD volatile */
+
+  /**
+   * Method {@code Thread.isVirtual()}, {@code null} if the runtime does not
+   * support virtual threads.
+   *
+   * <p><i><b>Note:</b> The project is compiled for Java 11. Thus, that method
+   *    is retrieved by reflection.</i>
+   */
+  @CheckForNull
+  private static final MethodHandle IS_VIRTUAL = getIsVirtual(); // */
+
   /**
    * Private default constructor, prevents class from instantiating.
    */
@@ -78,9 +98,56 @@ public final class Utils { // NOPMD strange name for a utility class
     // intentionally empty
   } // end constructor */
 
+  /**
+   * Retrieves method {@code Thread.isVirtual()}.
+   *
+   * @return handle of that method, {@code null} if the runtime does not
+   *         support virtual threads
+   */
+  @CheckForNull
+  private static MethodHandle getIsVirtual() {
+    try {
+      return MethodHandles.publicLookup().findVirtual(
+          Thread.class,
+          "isVirtual",
+          MethodType.methodType(boolean.class)
+      );
+    } catch (ReflectiveOperationException e) {
+      return null;
+    } // end catch (ReflectiveOperationException)
+  } // end method */
+
+  /**
+   * Checks whether the current thread is a virtual thread.
+   *
+   * <p>Thread-local caches pay off only for threads performing many tasks.
+   * A virtual thread typically performs one task and terminates. Thus, on a
+   * virtual thread a thread-local cache is filled once and never reused.
+   * Classes with such caches use this method to bypass them.
+   *
+   * @return {@code TRUE} if the current thread is a virtual thread,
+   *         {@code FALSE} otherwise, in particular if the runtime does not
+   *         support virtual threads
+   */
+  public static boolean isVirtualThread() {
+    if (null == IS_VIRTUAL) {
+      return false;
+    } // end if
+    // ... runtime supports virtual threads
+
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+    } catch (Throwable e) { // NOPMD avoid catching Throwable, required by invokeExact
+      throw new IllegalStateException(e);
+    } // end catch (Throwable)
+  } // end method */
+
   /**
    * Export a TLV-structure.
    *
+   * <p>The export policy configured for this run is used. If no export
+   * policy is configured, then {@link ExportPolicy#FULL} is used.
+   *
    * @param storageDirectory directory where artefacts are stored
    * @param fileNamePrefix   prefix of fileName
    * @param object           {@link BerTlv} object to be exported
@@ -91,6 +158,27 @@ public final class Utils { // NOPMD strange name for a utility class
       final Path storageDirectory,
       final String fileNamePrefix,
       final BerTlv object
+  ) throws IOException {
+    exportTlv(storageDirectory, fileNamePrefix, object, getExportPolicy(ExportPolicy.FULL));
+  } // end method */
+
+  /**
+   * Export a TLV-structure according to given policy.
+   *
+   * <p>Text representations are only computed if the policy requires them.
+   *
+   * @param storageDirectory directory where artefacts are stored
+   * @param fileNamePrefix   prefix of fileName
+   * @param object           {@link BerTlv} object to be exported
+   * @param policy           indicating which files are written
+   *
+   * @throws IOException if underlying methods do so
+   */
+  public static void exportTlv(
+      final Path storageDirectory,
+      final String fileNamePrefix,
+      final BerTlv object,
+      final ExportPolicy policy
   ) throws IOException {
     // --- export in binary format
     Files.write(
@@ -98,16 +186,81 @@ public final class Utils { // NOPMD strange name for a utility class
         object.toByteArray()
     );
 
+    if (ExportPolicy.BINARY == policy) {
+      return;
+    } // end if
+    // ... text export required
+
     // --- export TLV-structure as ASCII-text without explanations
     Files.write(
         storageDirectory.resolve(fileNamePrefix + EXTENSION_BIN_TEXT),
         object.toString(" ", "|  ").getBytes(StandardCharsets.UTF_8)
     );
 
+    if (ExportPolicy.HEX == policy) {
+      return;
+    } // end if
+    // ... explanation required
+
     // --- export TLV-structure as ASCII-text with explanation
     Files.write(
         storageDirectory.resolve(fileNamePrefix + EXTENSION_BIN_EXPLANATION),
         object.toStringTree().getBytes(StandardCharsets.UTF_8)
     );
   } // end method */
+
+  /**
+   * Returns export policy for this run.
+   *
+   * <p>Actions creating many objects at once pass {@link ExportPolicy#BINARY}
+   * as {@code defaultPolicy}, all other actions pass
+   * {@link ExportPolicy#FULL}.
+   *
+   * @param defaultPolicy used if no export policy is configured for this run
+   *
+   * @return export policy configured for this run or {@code defaultPolicy}
+   */
+  public static ExportPolicy getExportPolicy(
+      final ExportPolicy defaultPolicy
+  ) {
+    final ExportPolicy result = claExportPolicy;
+
+    return (null == result) ? defaultPolicy : result;
+  } // end method */
+
+  /**
+   * Configures export policy for this run.
+   *
+   * @param policy used by all subsequent exports, {@code null} removes the
+   *               configuration, i.e. each action uses its default policy
+   */
+  public static void setExportPolicy(
+      final @CheckForNull ExportPolicy policy
+  ) {
+    claExportPolicy = policy;
+  } // end method */
+
+  /**
+   * Policy indicating which files are written by
+   * {@link #exportTlv(Path, String, BerTlv, ExportPolicy)}.
+   */
+  public enum ExportPolicy {
+    /**
+     * Binary file only, i.e. {@link #EXTENSION_BIN}.
+     */
+    BINARY,
+
+    /**
+     * Binary file and TLV-structure as text, i.e. {@link #EXTENSION_BIN} and
+     * {@link #EXTENSION_BIN_TEXT}.
+     */
+    HEX,
+
+    /**
+     * Binary file, TLV-structure as text and with explanation, i.e.
+     * {@link #EXTENSION_BIN}, {@link #EXTENSION_BIN_TEXT} and
+     * {@link #EXTENSION_BIN_EXPLANATION}.
+     */
+    FULL
+  } // end enum
 } // end class
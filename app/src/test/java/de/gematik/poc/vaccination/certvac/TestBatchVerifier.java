@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import co.nstant.in.cbor.CborBuilder;
+import co.nstant.in.cbor.CborEncoder;
+import co.nstant.in.cbor.CborException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link BatchVerifier}.
+ */
+final class TestBatchVerifier {
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link BatchVerifier#verify(Path, int, java.util.function.Consumer)}.
+   */
+  @Test
+  void test_verify__Path_int_Consumer() throws // NOPMD '_' character in name of method
+      CborException,
+      InterruptedException,
+      IOException {
+    // Test strategy:
+    // --- a. directory with signed proofs
+    // --- b. file with concatenated signed proofs
+    // --- c. empty file
+    // Note: Creating valid signed proofs requires a PKI. Thus, here only
+    //       malformed proofs are used. Verifying signed proofs is tested
+    //       elsewhere.
+    final byte[] empty = new byte[0];
+    final List<BatchVerifier.Result> results = new ArrayList<>();
+
+    // --- a. directory with signed proofs
+    final Path directory = Files.createDirectories(claTempDir.resolve("a"));
+    Files.write(directory.resolve("b" + Checker.EXTENSION_CBOR), encode(empty, empty, empty));
+    Files.write(directory.resolve("a" + Checker.EXTENSION_CBOR), encode(empty, empty));
+    Files.write(directory.resolve("c.txt"), encode(empty, empty, empty));
+    BatchVerifier.Statistics statistics = BatchVerifier.verify(directory, 2, results::add);
+    assertEquals(2, statistics.getCount());
+    assertEquals(0, statistics.getValid());
+    assertEquals(2, statistics.getInvalid());
+    assertEquals(2, results.size());
+    assertEquals("a", results.get(0).getIdentifier());
+    assertEquals("wrong number of items: 2", results.get(0).getReason());
+    assertEquals("b", results.get(1).getIdentifier());
+    assertEquals("NoSuchElementException", results.get(1).getReason());
+    results.forEach(result -> {
+      assertFalse(result.isValid());
+      assertTrue(result.toString().startsWith(result.getIdentifier() + " FAIL "));
+      assertTrue(result.toString().endsWith("us " + result.getReason()));
+    }); // end forEach(result -> ...)
+
+    // --- b. file with concatenated signed proofs
+    results.clear();
+    final Path file = claTempDir.resolve("b.bin");
+    Files.write(file, encode(empty, empty, empty, empty, empty, empty, empty));
+    statistics = BatchVerifier.verify(file, 3, results::add);
+    assertEquals(3, statistics.getCount());
+    assertEquals(3, statistics.getInvalid());
+    assertEquals(3, results.size());
+    assertEquals("#0", results.get(0).getIdentifier());
+    assertEquals("#1", results.get(1).getIdentifier());
+    assertEquals("#2", results.get(2).getIdentifier());
+    assertEquals("NoSuchElementException", results.get(0).getReason());
+    assertEquals("NoSuchElementException", results.get(1).getReason());
+    assertEquals("wrong number of items: 1", results.get(2).getReason());
+
+    // --- c. empty file
+    results.clear();
+    final Path emptyFile = Files.write(claTempDir.resolve("c.bin"), empty);
+    statistics = BatchVerifier.verify(emptyFile, 1, results::add);
+    assertEquals(0, statistics.getCount());
+    assertTrue(results.isEmpty());
+  } // end method */
+
+  /**
+   * Encodes given octet strings as a sequence of CBOR byte strings.
+   *
+   * @param octets octet strings to be encoded
+   *
+   * @return concatenation of CBOR byte strings
+   *
+   * @throws CborException if underlying methods do so
+   */
+  private static byte[] encode(
+      final byte[]... octets
+  ) throws CborException {
+    final CborBuilder builder = new CborBuilder();
+    for (final byte[] i : octets) {
+      builder.add(i);
+    } // end for (i...)
+
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    new CborEncoder(baos).encode(builder.build());
+
+    return baos.toByteArray();
+  } // end method */
+} // end class
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import co.nstant.in.cbor.CborBuilder;
+import co.nstant.in.cbor.CborEncoder;
+import co.nstant.in.cbor.CborException;
+import com.gmail.alfred65fiedler.utils.AfiRng;
+import com.gmail.alfred65fiedler.utils.Hex;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link CborReader}.
+ */
+final class TestCborReader {
+  /**
+   * Random Number Generator.
+   */
+  private static final AfiRng RNG = new AfiRng(); // */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link CborReader#readLong()}.
+   */
+  @Test
+  void test_readLong() throws CborException { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test
+    // --- b. boundaries of argument length
+    // --- c. random values, compared to encoder of library
+    // --- d. ERROR: reserved additional information
+
+    // --- a. smoke test
+    {
+      final CborReader dut = new CborReader(Hex.toByteArray("17 3818"));
+
+      assertEquals(23, dut.readLong());
+      assertEquals(-25, dut.readLong());
+      assertEquals(3, dut.getPosition());
+      dut.checkEnd();
+    }
+
+    // --- b. boundaries of argument length
+    List.of(
+        0L, 23L, 24L, 0xffL, 0x100L, 0xffffL, 0x1_0000L, 0xffff_ffffL, 0x1_0000_0000L,
+        Long.MAX_VALUE
+    ).forEach(value -> {
+      assertEquals(value.longValue(), new CborReader(encode(value)).readLong());
+      assertEquals(-1 - value, new CborReader(encode(-1 - value)).readLong());
+    }); // end forEach(value -> ...)
+
+    // --- c. random values, compared to encoder of library
+    IntStream.rangeClosed(0, 1000).forEach(i -> {
+      final long value = RNG.nextLong() >> RNG.nextIntClosed(0, 63);
+      final CborReader dut = new CborReader(encode(value));
+
+      assertEquals(value, dut.readLong());
+      dut.checkEnd();
+    }); // end forEach(i -> ...)
+
+    // --- d. ERROR: reserved additional information
+    assertEquals(
+        "unsupported additional information 28 at offset 0",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new CborReader(Hex.toByteArray("1c")).readLong()
+        ).getMessage()
+    );
+  } // end method */
+
+  /**
+   * Test method for {@link CborReader#readText()}.
+   */
+  @Test
+  void test_readText() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test
+    // --- b. random texts, compared to encoder of library
+
+    // --- a. smoke test
+    assertEquals("", new CborReader(Hex.toByteArray("60")).readText());
+    assertEquals("IETF", new CborReader(Hex.toByteArray("6449455446")).readText());
+
+    // --- b. random texts, compared to encoder of library
+    IntStream.rangeClosed(0, 1000).forEach(i -> {
+      final String value = RNG.nextUtf8(0, 300);
+      final CborReader dut = new CborReader(encode(value));
+
+      assertEquals(value, dut.readText());
+      dut.checkEnd();
+    }); // end forEach(i -> ...)
+  } // end method */
+
+  /**
+   * Encodes given value with the encoder of the CBOR library.
+   *
+   * @param value to be encoded, either a {@link Long} or a {@link String}
+   *
+   * @return encoded value
+   */
+  private static byte[] encode(
+      final Object value
+  ) {
+    try {
+      final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      final CborBuilder builder = new CborBuilder();
+      if (value instanceof Long) {
+        builder.add((long) (Long) value);
+      } else {
+        builder.add((String) value);
+      } // end else
+      new CborEncoder(baos).encode(builder.build());
+
+      return baos.toByteArray();
+    } catch (CborException e) {
+      throw new AssertionError(e);
+    } // end catch (CborException)
+  } // end method */
+} // end class
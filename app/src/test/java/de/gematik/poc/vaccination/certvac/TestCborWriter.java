@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import co.nstant.in.cbor.CborBuilder;
+import co.nstant.in.cbor.CborEncoder;
+import co.nstant.in.cbor.CborException;
+import com.gmail.alfred65fiedler.utils.AfiRng;
+import com.gmail.alfred65fiedler.utils.Hex;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link CborWriter}.
+ */
+final class TestCborWriter {
+  /**
+   * Random Number Generator.
+   */
+  private static final AfiRng RNG = new AfiRng(); // */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link CborWriter#compareCanonical(long, long)}.
+   */
+  @Test
+  void test_compareCanonical__long_long() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test
+    // --- b. random values, compared to order of encodings
+
+    // --- a. smoke test
+    assertEquals(-1, Integer.signum(CborWriter.compareCanonical(23, -1)));
+    assertEquals(-1, Integer.signum(CborWriter.compareCanonical(-24, 24)));
+    assertEquals(0, CborWriter.compareCanonical(-300, -300));
+    assertEquals(1, Integer.signum(CborWriter.compareCanonical(-256, 255)));
+
+    // --- b. random values, compared to order of encodings
+    IntStream.rangeClosed(0, 1000).forEach(i -> {
+      final long value1 = RNG.nextLong() >> RNG.nextIntClosed(0, 63);
+      final long value2 = RNG.nextLong() >> RNG.nextIntClosed(0, 63);
+      final byte[] octets1 = encode(value1);
+      final byte[] octets2 = encode(value2);
+      final int expected = (octets1.length == octets2.length)
+          ? Arrays.compareUnsigned(octets1, octets2)
+          : Integer.compare(octets1.length, octets2.length);
+
+      assertEquals(
+          Integer.signum(expected),
+          Integer.signum(CborWriter.compareCanonical(value1, value2))
+      );
+    }); // end forEach(i -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link CborWriter#writeInteger(ByteBuffer, long)}.
+   */
+  @Test
+  void test_writeInteger__ByteBuffer_long() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. boundaries of argument length
+    // --- b. random values, compared to encoder of library
+    // --- c. byte order of buffer is irrelevant
+    // --- d. ERROR: not enough space
+
+    // --- a. boundaries of argument length
+    // --- b. random values, compared to encoder of library
+    IntStream.rangeClosed(0, 1000).mapToLong(i -> RNG.nextLong() >> RNG.nextIntClosed(0, 63))
+        .forEach(random -> List.of(
+            random,
+            0L, 23L, 24L, 0xffL, 0x100L, 0xffffL, 0x1_0000L, 0xffff_ffffL, 0x1_0000_0000L,
+            Long.MAX_VALUE, -24L, -25L, -256L, -257L, Long.MIN_VALUE
+        ).forEach(value -> {
+          final byte[] expected = encode(value);
+          final ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+
+          CborWriter.writeInteger(buffer, value);
+
+          assertEquals(expected.length, CborWriter.sizeOfInteger(value));
+          assertArrayEquals(expected, buffer.array());
+        })); // end forEach(random -> ...)
+
+    // --- c. byte order of buffer is irrelevant
+    {
+      final ByteBuffer buffer = ByteBuffer.allocate(5).order(ByteOrder.LITTLE_ENDIAN);
+
+      CborWriter.writeInteger(buffer, 0x1234_5678);
+
+      assertEquals("1a12345678", Hex.toHexDigits(buffer.array()));
+    }
+
+    // --- d. ERROR: not enough space
+    assertThrows(
+        BufferOverflowException.class,
+        () -> CborWriter.writeInteger(ByteBuffer.allocate(2), 0x100)
+    );
+  } // end method */
+
+  /**
+   * Test method for {@link CborWriter#writeText(ByteBuffer, String)}.
+   */
+  @Test
+  void test_writeText__ByteBuffer_String() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. characters with one, two, three and four octet and unpaired surrogates
+    // --- b. random texts, compared to encoder of library
+
+    // --- a. characters with one, two, three and four octet and unpaired surrogates
+    // --- b. random texts, compared to encoder of library
+    IntStream.rangeClosed(0, 300).mapToObj(i -> RNG.nextUtf8(0, i)).forEach(random -> List.of(
+        random,
+        "",
+        "John Doe",
+        "J\u00fcrgen M\u00fcller",
+        "\u20ac 100",
+        "\ud83d\ude00 smiley",
+        "unpaired high \ud83d",
+        "unpaired low \ude00 !",
+        "\ude00\ud83d",
+        "x".repeat(23) + '\u00e9' + random
+    ).forEach(text -> {
+      final byte[] expected = encode(text);
+      final ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+
+      CborWriter.writeText(buffer, text);
+
+      assertEquals(text.getBytes(StandardCharsets.UTF_8).length, CborWriter.utf8Length(text));
+      assertEquals(expected.length, CborWriter.sizeOfText(text));
+      assertArrayEquals(expected, buffer.array());
+    })); // end forEach(random -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link CborWriter#writeMapHeader(ByteBuffer, int)}.
+   */
+  @Test
+  void test_writeMapHeader__ByteBuffer_int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. boundaries of argument length
+
+    // --- a. boundaries of argument length
+    List.of(
+        List.of(0, "a0"),
+        List.of(23, "b7"),
+        List.of(24, "b818"),
+        List.of(256, "b90100"),
+        List.of(65_536, "ba00010000")
+    ).forEach(input -> {
+      final int size = (Integer) input.get(0);
+      final String expected = (String) input.get(1);
+      final ByteBuffer buffer = ByteBuffer.allocate(CborWriter.sizeOfMapHeader(size));
+
+      CborWriter.writeMapHeader(buffer, size);
+
+      assertEquals(expected, Hex.toHexDigits(buffer.array()));
+    }); // end forEach(input -> ...)
+  } // end method */
+
+  /**
+   * Encodes given value with the encoder of the CBOR library.
+   *
+   * @param value to be encoded, either a {@link Long} or a {@link String}
+   *
+   * @return encoded value
+   */
+  private static byte[] encode(
+      final Object value
+  ) {
+    try {
+      final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      final CborBuilder builder = new CborBuilder();
+      if (value instanceof Long) {
+        builder.add((long) (Long) value);
+      } else {
+        builder.add((String) value);
+      } // end else
+      new CborEncoder(baos).encode(builder.build());
+
+      return baos.toByteArray();
+    } catch (CborException e) {
+      throw new AssertionError(e);
+    } // end catch (CborException)
+  } // end method */
+} // end class
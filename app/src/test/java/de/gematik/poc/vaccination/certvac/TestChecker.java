@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import co.nstant.in.cbor.CborException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link Checker}.
+ */
+final class TestChecker {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    Checker.CACHE_COMPACT_CERTIFICATE.clear();
+  } // end method */
+
+  /**
+   * Test method for {@link Checker#verifyCompactCertificate(byte[])}.
+   */
+  @Test
+  void test_verifyCompactCertificate__byteA() throws // NOPMD '_' character in name of method
+      CborException,
+      GeneralSecurityException,
+      IOException {
+    // Test strategy:
+    // --- a. cached compact certificate is not verified again
+    // --- b. cache is keyed by content rather than by identity
+    final byte[] compactCert = {1, 2, 3, 4};
+    final ECPublicKey puk = (ECPublicKey) KeyPairGenerator.getInstance("EC")
+        .generateKeyPair()
+        .getPublic();
+
+    // --- a. cached compact certificate is not verified again
+    // Note: The octets are no valid compact certificate, thus verifying them
+    //       would throw an exception.
+    assertNull(Checker.CACHE_COMPACT_CERTIFICATE.get(ByteBuffer.wrap(compactCert)));
+    Checker.CACHE_COMPACT_CERTIFICATE.put(ByteBuffer.wrap(compactCert), puk);
+    assertSame(puk, Checker.verifyCompactCertificate(compactCert));
+
+    // --- b. cache is keyed by content rather than by identity
+    assertSame(puk, Checker.verifyCompactCertificate(compactCert.clone()));
+    assertEquals(1, Checker.CACHE_COMPACT_CERTIFICATE.size());
+  } // end method */
+} // end class
@@ -18,6 +18,7 @@ package de.gematik.poc.vaccination.certvac; // NOPMD too many static imports
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -289,6 +290,84 @@ final class TestHealthStatus {
         }); // end forEach(harmlessness -> ...)
   } // end method */
 
+  /**
+   * Test method for {@link HealthStatus#fromEncoded(int)}.
+   */
+  @Test
+  void test_fromEncoded__int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. loop over all possible values
+    // --- b. ERROR: value out of range
+
+    // --- a. loop over all possible values
+    IntStream.rangeClosed(0, HealthStatus.MAX_HARMLESSNESS).forEach(harmlessness -> {
+      IntStream.rangeClosed(0, HealthStatus.MAX_SHIELD_STRENGTH).forEach(shieldStrength -> {
+        final HealthStatus expected = new HealthStatus(shieldStrength, harmlessness);
+        final HealthStatus dut = HealthStatus.fromEncoded(expected.encode());
+
+        assertEquals(expected, dut);
+        assertSame(dut, HealthStatus.fromEncoded(expected.encode()));
+        assertSame(dut, HealthStatus.valueOf(shieldStrength, harmlessness));
+      }); // end forEach(shieldStrength -> ...)
+    }); // end forEach(harmlessness -> ...)
+
+    // --- b. ERROR: value out of range
+    List.of(
+        -HealthStatus.OFFSET - 1, // supremum of invalid values too small
+        HealthStatus.OFFSET,      // infimum  of invalid values too large
+        Integer.MIN_VALUE,
+        Integer.MAX_VALUE
+    ).forEach(encoded -> {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> HealthStatus.fromEncoded(encoded)
+      );
+
+      assertEquals("encoded value out of range [-24, 23]", throwable.getMessage());
+      assertNull(throwable.getCause());
+    }); // end forEach(encoded -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link HealthStatus#valueOf(int, int)}.
+   */
+  @Test
+  void test_valueOf__int_int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. loop over all possible values
+    // --- b. ERROR: invalid harmlessness
+    // --- c. ERROR: invalid shieldStrength
+
+    // --- a. loop over all possible values
+    IntStream.rangeClosed(0, HealthStatus.MAX_HARMLESSNESS).forEach(harmlessness -> {
+      IntStream.rangeClosed(0, HealthStatus.MAX_SHIELD_STRENGTH).forEach(shieldStrength -> {
+        final HealthStatus dut = HealthStatus.valueOf(shieldStrength, harmlessness);
+
+        assertEquals(harmlessness, dut.getHarmlessness());
+        assertEquals(shieldStrength, dut.getShieldStrength());
+        assertSame(dut, HealthStatus.valueOf(shieldStrength, harmlessness));
+      }); // end forEach(shieldStrength -> ...)
+    }); // end forEach(harmlessness -> ...)
+
+    // --- b. ERROR: invalid harmlessness
+    List.of(-1, HealthStatus.MAX_HARMLESSNESS + 1).forEach(harmlessness -> assertEquals(
+        "harmlessness out of range [0, " + HealthStatus.MAX_HARMLESSNESS + "]",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HealthStatus.valueOf(0, harmlessness)
+        ).getMessage()
+    )); // end forEach(harmlessness -> ...)
+
+    // --- c. ERROR: invalid shieldStrength
+    List.of(-1, HealthStatus.MAX_SHIELD_STRENGTH + 1).forEach(shieldStrength -> assertEquals(
+        "shieldStrength out of range [0, " + HealthStatus.MAX_SHIELD_STRENGTH + "]",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HealthStatus.valueOf(shieldStrength, 0)
+        ).getMessage()
+    )); // end forEach(shieldStrength -> ...)
+  } // end method */
+
   /**
    * Test method for {@link HealthStatus#getHarmlessness()}.
    */
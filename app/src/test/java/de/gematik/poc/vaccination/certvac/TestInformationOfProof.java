@@ -16,27 +16,36 @@
 
 package de.gematik.poc.vaccination.certvac; // NOPMD many imports
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import co.nstant.in.cbor.CborBuilder;
 import co.nstant.in.cbor.CborEncoder;
 import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.builder.MapBuilder;
 import com.gmail.alfred65fiedler.utils.AfiRng;
 import com.gmail.alfred65fiedler.utils.Hex;
 import de.gematik.poc.vaccination.userinterface.CmdLine;
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
@@ -103,13 +112,14 @@ final class TestInformationOfProof { // NOPMD too many methods
     // Test strategy:
     // --- a. smoke test
     // --- b. bunch of valid inputs
-    // --- c. ERROR: ClassCastException caused by dataItem
+    // --- c. ERROR: unexpected data item
     // --- d. ERROR: in registrar
     // --- e. ERROR: in version
     // --- f. ERROR: in name
     // --- g. ERROR: in dayOfBirth
     // --- h. ERROR: in expirationDate
-    // --- h. ERROR: in map
+    // --- i. ERROR: in map
+    // --- j. ERROR: trailing octets
 
     // --- a. smoke test
     {
@@ -218,14 +228,114 @@ final class TestInformationOfProof { // NOPMD too many methods
         diffs::toString
     );
 
-    // --- c. ERROR: ClassCastException caused by dataItem
+    // Note: The following octet string is valid, it contains registrar -25,
+    //       version -1, name "A", day of birth 0, expiration date 0 and a map
+    //       with one entry (key 0, value 0).
+    assertEquals(
+        "A",
+        InformationOfProof.decode(Hex.toByteArray("3818 20 6141 00 00 a1 0000")).getName()
+    );
+
+    // --- c. ERROR: unexpected data item
+    Map.ofEntries(
+        Map.entry("6141 20", "integer expected at offset 0, but found major type 3"),
+        Map.entry("3818 20 00", "text expected at offset 3, but found major type 0"),
+        Map.entry("3818 20 6141 6142", "integer expected at offset 5, but found major type 3"),
+        Map.entry("3818 20 6141 00 a0", "integer expected at offset 6, but found major type 5"),
+        Map.entry("3818 20 6141 00 00 81 00", "map expected at offset 7, but found major type 4")
+    ).forEach((input, message) -> {
+      final Throwable thrown = assertThrows(
+          IllegalArgumentException.class,
+          () -> InformationOfProof.decode(Hex.toByteArray(input))
+      );
+      assertEquals(message, thrown.getMessage());
+    }); // end forEach((input, message) -> ...)
+
     // --- d. ERROR: in registrar
+    assertThrows(
+        NoSuchElementException.class,
+        () -> InformationOfProof.decode(Hex.toByteArray("00 20 6141 00 00 a1 0000"))
+    );
+    assertEquals(
+        "integer at offset 0 exceeds range of int",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("1a80000000 20"))
+        ).getMessage()
+    );
+
     // --- e. ERROR: in version
+    assertEquals(
+        "unknown version: 0",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("3818 00 6141 00 00 a1 0000"))
+        ).getMessage()
+    );
+
     // --- f. ERROR: in name
+    assertEquals(
+        "text at offset 3 exceeds end of data",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("3818 20 6241"))
+        ).getMessage()
+    );
+    assertEquals(
+        "text at offset 3 with indefinite length not supported",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("3818 20 7f6141ff"))
+        ).getMessage()
+    );
+
     // --- g. ERROR: in dayOfBirth
+    assertEquals(
+        "integer at offset 5 exceeds range of long",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("3818 20 6141 1b8000000000000000"))
+        ).getMessage()
+    );
+
     // --- h. ERROR: in expirationDate
-    // --- h. ERROR: in map
-    // FIXME more tests required
+    assertEquals(
+        "argument at offset 6 exceeds end of data",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("3818 20 6141 00 1a0000"))
+        ).getMessage()
+    );
+
+    // --- i. ERROR: in map
+    Map.ofEntries(
+        Map.entry("3818 20 6141 00 00 a2 0000", "map at offset 7 exceeds end of data"),
+        Map.entry("3818 20 6141 00 00 a2 0000 0000", "duplicate disease at offset 10"),
+        Map.entry("3818 20 6141 00 00 a1 1800", "unexpected end of data at offset 10"),
+        Map.entry(
+            "3818 20 6141 00 00 bf 0000 ff",
+            "map at offset 7 with indefinite length not supported"
+        )
+    ).forEach((input, message) -> {
+      final Throwable thrown = assertThrows(
+          IllegalArgumentException.class,
+          () -> InformationOfProof.decode(Hex.toByteArray(input))
+      );
+      assertEquals(message, thrown.getMessage());
+    }); // end forEach((input, message) -> ...)
+    assertThrows(
+        NoSuchElementException.class,
+        () -> InformationOfProof.decode(Hex.toByteArray("3818 20 6141 00 00 a1 1863 00"))
+    );
+
+    // --- j. ERROR: trailing octets
+    assertEquals(
+        "unexpected data at offset 10, 1 octet left",
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InformationOfProof.decode(Hex.toByteArray("3818 20 6141 00 00 a1 0000 00"))
+        ).getMessage()
+    );
   } // end method */
 
   /**
@@ -427,6 +537,70 @@ final class TestInformationOfProof { // NOPMD too many methods
         }); // end forEach(i -> ...)
   } // end method */
 
+  /**
+   * Test method for {@link InformationOfProof#encode(ByteBuffer)}.
+   */
+  @Test
+  void test_encode__ByteBuffer() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. bunch of valid inputs, compared to encoder of library
+    // --- b. ERROR: not enough space
+
+    // --- a. bunch of valid inputs, compared to encoder of library
+    IntStream.rangeClosed(0, 256).forEach(i -> {
+      final List<Diseases> diseases = new ArrayList<>(Arrays.asList(Diseases.values()));
+      final int mapSize = RNG.nextIntClosed(0, diseases.size());
+      final Map<Diseases, HealthStatus> healthStatusMap = new ConcurrentHashMap<>();
+      while (healthStatusMap.size() < mapSize) {
+        healthStatusMap.put(
+            diseases.remove(RNG.nextIntClosed(0, diseases.size() - 1)),
+            new HealthStatus(// NOPMD new in loop
+                RNG.nextIntClosed(0, HealthStatus.MAX_SHIELD_STRENGTH),
+                RNG.nextIntClosed(0, HealthStatus.MAX_HARMLESSNESS)
+            )
+        );
+      } // end while (map size too small)
+      final InformationOfProof dut = new InformationOfProof(
+          RNG.nextUtf8(0, 300),
+          LocalDate.of(RNG.nextIntClosed(-5000, 5000), 2, 28),
+          ZonedDateTime.of(
+              RNG.nextIntClosed(-5000, 5000), 8, 27,
+              15, 46, 39, 0,
+              CmdLine.TIME_ZONE
+          ),
+          healthStatusMap
+      );
+      final byte[] expected = encodeWithLibrary(dut);
+      final int offset = RNG.nextIntClosed(0, 10);
+      final ByteBuffer buffer = ByteBuffer.allocate(offset + expected.length + 10);
+      buffer.position(offset);
+
+      dut.encode(buffer);
+
+      assertEquals(expected.length, dut.getEncodedLength());
+      assertEquals(offset + expected.length, buffer.position());
+      assertArrayEquals(
+          expected,
+          Arrays.copyOfRange(buffer.array(), offset, offset + expected.length)
+      );
+      assertArrayEquals(expected, dut.encode());
+    }); // end forEach(i -> ...)
+
+    // --- b. ERROR: not enough space
+    {
+      final InformationOfProof dut = new InformationOfProof(
+          "John Doe",
+          LocalDate.of(1968, 5, 27),
+          ZonedDateTime.of(2021, 8, 27, 15, 46, 39, 0, CmdLine.TIME_ZONE),
+          Map.of(Diseases.COVID_19, new HealthStatus(5, 4))
+      );
+      final ByteBuffer buffer = ByteBuffer.allocate(dut.getEncodedLength() - 1);
+
+      assertThrows(BufferOverflowException.class, () -> dut.encode(buffer));
+      assertEquals(0, buffer.position());
+    }
+  } // end method */
+
   /**
    * Test method for {@link InformationOfProof#getDayOfBirth()}.
    */
@@ -454,6 +628,59 @@ final class TestInformationOfProof { // NOPMD too many methods
     assertSame(dayOfBirth, dut.getDayOfBirth());
   } // end method */
 
+  /**
+   * Test method for {@link InformationOfProof#getHealthStatusMap()}.
+   */
+  @Test
+  void test_getHealthStatusMap() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. content is copied during construction
+    // --- b. view behaves like an ordinary map
+    // --- c. view is unmodifiable
+
+    final Map<Diseases, HealthStatus> healthStatusMap = new ConcurrentHashMap<>();
+    healthStatusMap.put(Diseases.HEPATITIS_C, HealthStatus.valueOf(7, 5));
+    healthStatusMap.put(Diseases.COVID_19, HealthStatus.valueOf(0, 0));
+    final InformationOfProof dut = new InformationOfProof(
+        "John DoeMap",
+        LocalDate.of(1968, 5, 27),
+        ZonedDateTime.of(2021, 8, 27, 15, 46, 39, 0, CmdLine.TIME_ZONE),
+        healthStatusMap
+    );
+    final Map<Diseases, HealthStatus> expected = new HashMap<>(healthStatusMap);
+
+    // --- a. content is copied during construction
+    healthStatusMap.put(Diseases.HEPATITIS_B, HealthStatus.valueOf(1, 1));
+    assertEquals(expected, dut.getHealthStatusMap());
+
+    // --- b. view behaves like an ordinary map
+    {
+      final Map<Diseases, HealthStatus> view = dut.getHealthStatusMap();
+
+      assertEquals(2, view.size());
+      assertEquals(expected.hashCode(), view.hashCode());
+      assertSame(HealthStatus.valueOf(7, 5), view.get(Diseases.HEPATITIS_C));
+      assertNull(view.get(Diseases.HEPATITIS_B));
+      assertNull(view.get("Covid-19"));
+      assertTrue(view.containsKey(Diseases.COVID_19));
+      assertFalse(view.containsKey(Diseases.COVID_19_B117));
+      assertEquals(
+          List.of(Diseases.COVID_19, Diseases.HEPATITIS_C), // order of ordinal
+          new ArrayList<>(view.keySet())
+      );
+    }
+
+    // --- c. view is unmodifiable
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> dut.getHealthStatusMap().put(Diseases.HEPATITIS_A, HealthStatus.valueOf(1, 1))
+    );
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> dut.getHealthStatusMap().entrySet().iterator().remove()
+    );
+  } // end method */
+
   /**
    * Test method for {@link InformationOfProof#getName()}.
    */
@@ -520,4 +747,39 @@ final class TestInformationOfProof { // NOPMD too many methods
         dut.toString()
     );
   } // end method */
+
+  /**
+   * Encodes given information with the encoder of the CBOR library.
+   *
+   * <p>This reproduces the encoding which {@link InformationOfProof#encode()}
+   * used before it wrote directly into an octet string.
+   *
+   * @param information to be encoded
+   *
+   * @return encoded information
+   */
+  private static byte[] encodeWithLibrary(
+      final InformationOfProof information
+  ) {
+    try {
+      final MapBuilder<CborBuilder> mapBuilder = new CborBuilder()
+          .add(Registrar.GERMANY.getIdentifier())
+          .add(-1)
+          .add(information.getName())
+          .add(ChronoUnit.DAYS.between(LocalDate.EPOCH, information.getDayOfBirth()))
+          .add(information.getExpirationDate().toEpochSecond())
+          .addMap();
+      information.getHealthStatusMap().forEach((disease, healthStatus) -> mapBuilder.put(
+          disease.getEncodedValue(),
+          healthStatus.encode()
+      ));
+
+      final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      new CborEncoder(baos).encode(mapBuilder.end().build());
+
+      return baos.toByteArray();
+    } catch (CborException e) {
+      throw new AssertionError(e);
+    } // end catch (CborException)
+  } // end method */
 } // end class
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link QrCodePipeline}.
+ */
+final class TestQrCodePipeline {
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link QrCodePipeline#decode(Path, int, java.util.function.Consumer)}.
+   */
+  @Test
+  void test_decode__Path_int_Consumer() throws // NOPMD '_' character in name of method
+      InterruptedException,
+      IOException {
+    // Test strategy:
+    // --- a. empty directory
+    // --- b. directory with failures in various steps
+    // Note: Creating QR-codes with valid signed proofs requires a PKI. Thus,
+    //       here only failures are checked. Verifying signed proofs is tested
+    //       elsewhere.
+    final List<BatchVerifier.Result> results = new ArrayList<>();
+
+    // --- a. empty directory
+    final Path dirA = Files.createDirectories(claTempDir.resolve("a"));
+    BatchVerifier.Statistics statistics = QrCodePipeline.decode(dirA, 2, results::add);
+    assertEquals(0, statistics.getCount());
+    assertTrue(results.isEmpty());
+
+    // --- b. directory with failures in various steps
+    final Path dirB = Files.createDirectories(claTempDir.resolve("b"));
+    final byte[] noImage = new byte[] {1, 2, 3};
+    Files.write(dirB.resolve("a" + QrCodePipeline.EXTENSION_PNG), noImage);
+    Files.write(dirB.resolve("c" + QrCodePipeline.EXTENSION_PNG), noImage);
+    Files.write(dirB.resolve("d.txt"), noImage);
+    ImageIO.write(
+        new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB),
+        "PNG",
+        dirB.resolve("b" + QrCodePipeline.EXTENSION_PNG).toFile()
+    );
+    statistics = QrCodePipeline.decode(dirB, 2, results::add);
+    assertEquals(3, statistics.getCount());
+    assertEquals(0, statistics.getValid());
+    assertEquals(3, statistics.getInvalid());
+    assertEquals(3, results.size());
+    results.sort(Comparator.comparing(BatchVerifier.Result::getIdentifier));
+    assertEquals("a", results.get(0).getIdentifier());
+    assertEquals("LOAD: no image", results.get(0).getReason());
+    assertEquals("b", results.get(1).getIdentifier());
+    assertTrue(results.get(1).getReason().startsWith("DECODE: "));
+    assertEquals("c", results.get(2).getIdentifier());
+    assertEquals("LOAD: no image", results.get(2).getReason());
+    results.forEach(result -> assertFalse(result.isValid()));
+  } // end method */
+} // end class
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link QrCodeRenderer}.
+ */
+final class TestQrCodeRenderer {
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link QrCodeRenderer#render(Path, Path, QrCodeRenderer.Format, int)}.
+   */
+  @Test
+  void test_render__Path_Path_Format_int() throws // NOPMD '_' character in name of method
+      InterruptedException,
+      IOException {
+    // Test strategy:
+    // --- a. empty directory
+    // --- b. directory with signed proofs and other files
+    // Note: The content of a QR-code is not checked for being a signed proof.
+    //       Thus, arbitrary octet strings are sufficient here.
+
+    // --- a. empty directory
+    final Path dirA = Files.createDirectories(claTempDir.resolve("a"));
+    final Path outA = Files.createDirectories(claTempDir.resolve("outA"));
+    SortedMap<String, Exception> failures = QrCodeRenderer.render(
+        dirA, outA, QrCodeRenderer.Format.PBM, 2
+    );
+    assertTrue(failures.isEmpty());
+    try (Stream<Path> stream = Files.list(outA)) {
+      assertEquals(0, stream.count());
+    } // end try-with-resources
+
+    // --- b. directory with signed proofs and other files
+    final Path dirB = Files.createDirectories(claTempDir.resolve("b"));
+    final Path outB = Files.createDirectories(claTempDir.resolve("outB"));
+    Files.write(dirB.resolve("x" + Checker.EXTENSION_CBOR), new byte[] {1, 2, 3});
+    Files.write(dirB.resolve("y" + Checker.EXTENSION_CBOR), new byte[] {4, 5});
+    Files.write(dirB.resolve("z.txt"), new byte[] {6});
+    failures = QrCodeRenderer.render(dirB, outB, QrCodeRenderer.Format.PBM, 2);
+    assertTrue(failures.isEmpty());
+    assertTrue(Files.isRegularFile(outB.resolve("x.pbm")));
+    assertTrue(Files.isRegularFile(outB.resolve("y.pbm")));
+    assertFalse(Files.exists(outB.resolve("z.pbm")));
+    try (Stream<Path> stream = Files.list(outB)) {
+      assertEquals(2, stream.count());
+    } // end try-with-resources
+    assertTrue(new String(
+        Files.readAllBytes(outB.resolve("x.pbm")), StandardCharsets.ISO_8859_1
+    ).startsWith("P4\n"));
+  } // end method */
+
+  /**
+   * Test method for {@link QrCodeRenderer#getHints(int)}.
+   */
+  @Test
+  void test_getHints__int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. length within range contains version hint
+    // --- b. length out of range contains no version hint
+    // --- c. error correction level is always present
+
+    // --- a. length within range contains version hint
+    assertEquals(1, QrCodeRenderer.getHints(10).get(EncodeHintType.QR_VERSION));
+    assertEquals(40, QrCodeRenderer.getHints(1852).get(EncodeHintType.QR_VERSION));
+
+    // --- b. length out of range contains no version hint
+    assertFalse(QrCodeRenderer.getHints(1853).containsKey(EncodeHintType.QR_VERSION));
+
+    // --- c. error correction level is always present
+    List.of(10, 1852, 1853).forEach(length -> assertEquals(
+        ErrorCorrectionLevel.H,
+        QrCodeRenderer.getHints(length).get(EncodeHintType.ERROR_CORRECTION)
+    ));
+  } // end method */
+
+  /**
+   * Test method for {@link QrCodeRenderer#getVersion(int)}.
+   */
+  @Test
+  void test_getVersion__int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. boundaries of alphanumeric capacity at error correction level H
+    // --- b. boundaries of character count indicator
+    // --- c. out of range
+    // --- d. cached value is returned
+
+    // --- a. boundaries of alphanumeric capacity at error correction level H
+    assertEquals(1, QrCodeRenderer.getVersion(1));
+    assertEquals(1, QrCodeRenderer.getVersion(10));
+    assertEquals(2, QrCodeRenderer.getVersion(11));
+    assertEquals(2, QrCodeRenderer.getVersion(20));
+    assertEquals(3, QrCodeRenderer.getVersion(21));
+    assertEquals(3, QrCodeRenderer.getVersion(35));
+    assertEquals(4, QrCodeRenderer.getVersion(36));
+    assertEquals(40, QrCodeRenderer.getVersion(QrCodeRenderer.MAX_LENGTH));
+
+    // --- b. boundaries of character count indicator
+    assertEquals(9, QrCodeRenderer.getVersion(143));
+    assertEquals(10, QrCodeRenderer.getVersion(144));
+    assertEquals(26, QrCodeRenderer.getVersion(864));
+    assertEquals(27, QrCodeRenderer.getVersion(865));
+
+    // --- c. out of range
+    assertEquals(0, QrCodeRenderer.getVersion(-1));
+    assertEquals(0, QrCodeRenderer.getVersion(QrCodeRenderer.MAX_LENGTH + 1));
+
+    // --- d. cached value is returned
+    assertEquals(2, QrCodeRenderer.getVersion(11));
+  } // end method */
+
+  /**
+   * Test method for {@link QrCodeRenderer.Format#getExtension()}.
+   */
+  @Test
+  void test_Format_getExtension() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. check all formats
+    assertEquals(".png", QrCodeRenderer.Format.PNG.getExtension());
+    assertEquals(".pbm", QrCodeRenderer.Format.PBM.getExtension());
+    assertEquals(".svg", QrCodeRenderer.Format.SVG.getExtension());
+  } // end method */
+
+  /**
+   * Test method for {@link QrCodeRenderer.Format#write(BitMatrix, java.io.OutputStream)}.
+   */
+  @Test
+  void test_Format_write__BitMatrix_OutputStream() throws // NOPMD '_' character in name
+      IOException {
+    // Test strategy:
+    // --- a. PBM with padding of rows
+    // --- b. SVG with runs of various length
+    // --- c. PNG is readable
+    final BitMatrix matrix = new BitMatrix(10, 2);
+    matrix.set(0, 0);
+    matrix.set(1, 0);
+    matrix.set(9, 0);
+    matrix.set(4, 1);
+
+    // --- a. PBM with padding of rows
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    QrCodeRenderer.Format.PBM.write(matrix, baos);
+    final byte[] header = "P4\n10 2\n".getBytes(StandardCharsets.US_ASCII);
+    final byte[] expected = new byte[header.length + 4];
+    System.arraycopy(header, 0, expected, 0, header.length);
+    expected[header.length] = (byte) 0xc0;
+    expected[header.length + 1] = (byte) 0x40;
+    expected[header.length + 2] = (byte) 0x08;
+    expected[header.length + 3] = (byte) 0x00;
+    assertArrayEquals(expected, baos.toByteArray());
+
+    // --- b. SVG with runs of various length
+    baos = new ByteArrayOutputStream();
+    QrCodeRenderer.Format.SVG.write(matrix, baos);
+    final String svg = baos.toString(StandardCharsets.UTF_8);
+    assertTrue(svg.contains("viewBox=\"0 0 10 2\""));
+    assertTrue(svg.contains("d=\"M0 0h2v1h-2zM9 0h1v1h-1zM4 1h1v1h-1z\""));
+    assertTrue(svg.endsWith("</svg>\n"));
+
+    // --- c. PNG is readable
+    baos = new ByteArrayOutputStream();
+    QrCodeRenderer.Format.PNG.write(matrix, baos);
+    assertTrue(baos.size() > 0);
+  } // end method */
+} // end class
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.certvac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link Registrar}.
+ */
+final class TestRegistrar {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link Registrar#getInstance(int)}.
+   */
+  @Test
+  void test_getInstance__int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. all registrars
+    // --- b. zig-zag mapping of telephone country code
+    // --- c. ERROR: unknown identifiers
+
+    // --- a. all registrars
+    Arrays.stream(Registrar.values()).forEach(registrar -> assertSame(
+        registrar,
+        Registrar.getInstance(registrar.getIdentifier())
+    )); // end forEach(registrar -> ...)
+
+    // --- b. zig-zag mapping of telephone country code
+    // Note: Odd country code 49 is mapped to (-1 - 49) / 2.
+    assertSame(Registrar.GERMANY, Registrar.getInstance(-25));
+
+    // --- c. ERROR: unknown identifiers
+    List.of(49, 24, -24, -26, Integer.MIN_VALUE, Integer.MAX_VALUE).forEach(id -> assertEquals(
+        "unknown registrar: " + id,
+        assertThrows(
+            NoSuchElementException.class,
+            () -> Registrar.getInstance(id)
+        ).getMessage()
+    )); // end forEach(id -> ...)
+  } // end method */
+} // end class
@@ -18,12 +18,14 @@ package de.gematik.poc.vaccination.pki; // NOPMD high number of imports
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import co.nstant.in.cbor.CborException;
 import com.gmail.alfred65fiedler.crypto.AfiElcParameterSpec;
+import com.gmail.alfred65fiedler.crypto.AfiElcUtils;
 import com.gmail.alfred65fiedler.tlv.DerBitString;
 import com.gmail.alfred65fiedler.tlv.DerInteger;
 import com.gmail.alfred65fiedler.tlv.DerSequence;
@@ -43,6 +45,8 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -236,6 +240,84 @@ final class TestCborSigner {
         }); // end forEach(domainParameter -> ...)
   } // end method */
 
+  /**
+   * Test method for {@link CborSigner#compressSignature(byte[], int)}.
+   */
+  @Test
+  void test_compressSignature__byteA_int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. loop over all domain parameter predefined in AfiElcParameterSpec
+    // --- b. ERROR: integer too long
+    // --- c. ERROR: no SEQUENCE
+    AfiElcParameterSpec.PREDEFINED.stream()
+        .parallel() // for performance boost
+        .forEach(domainParameter -> {
+          final int tau = domainParameter.getTau();
+
+          // --- a. loop over all domain parameter predefined in AfiElcParameterSpec
+          IntStream.range(0, 20).forEach(i -> {
+            final BigInteger biR = new BigInteger(1, RNG.nextBytes(1, tau));
+            final BigInteger biS = new BigInteger(1, RNG.nextBytes(1, tau));
+            final byte[] sigDer = new DerSequence(List.of(
+                new DerInteger(biR),
+                new DerInteger(biS)
+            )).toByteArray();
+            final byte[] sigCompressed = CborSigner.compressSignature(sigDer, tau);
+            assertEquals(
+                Hex.toHexDigits(AfiBigInteger.i2os(biR, tau))
+                    + Hex.toHexDigits(AfiBigInteger.i2os(biS, tau)),
+                Hex.toHexDigits(sigCompressed)
+            );
+          }); // end forEach(i -> ...)
+
+          // --- b. ERROR: integer too long
+          final byte[] sigDer = new DerSequence(List.of(
+              new DerInteger(BigInteger.ONE),
+              new DerInteger(BigInteger.ONE.shiftLeft(tau << 3))
+          )).toByteArray();
+          final Throwable throwable = assertThrows(
+              IllegalArgumentException.class,
+              () -> CborSigner.compressSignature(sigDer, tau)
+          );
+          assertEquals("integer exceeds " + tau + " octet", throwable.getMessage());
+        }); // end forEach(domainParameter -> ...)
+
+    // --- c. ERROR: no SEQUENCE
+    final Throwable throwable = assertThrows(
+        IllegalArgumentException.class,
+        () -> CborSigner.compressSignature(Hex.toByteArray("3106020101020101"), 32)
+    );
+    assertEquals("SEQUENCE expected", throwable.getMessage());
+  } // end method */
+
+  /**
+   * Test method for {@link CborSigner#decompress(byte[])}.
+   */
+  @Test
+  void test_decompress__byteA() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. loop over all end-entities
+    // --- b. decompressed point is taken from cache
+    CN_EE.forEach(cn -> {
+      try {
+        final ECPublicKey puk = PublicKeyInfrastructure.getPublicKey(cn);
+        final byte[] compressed = AfiElcUtils.p2osCompressed(
+            puk.getW(),
+            AfiElcParameterSpec.brainpoolP256r1
+        );
+
+        // --- a. loop over all end-entities
+        final ECPublicKey dut = CborSigner.decompress(compressed);
+        assertEquals(puk, dut);
+
+        // --- b. decompressed point is taken from cache
+        assertSame(dut, CborSigner.decompress(compressed.clone()));
+      } catch (Exception e) { // NOPMD avoid catching generic exceptions
+        fail(UNEXPECTED, e);
+      } // end catch (Exception)
+    }); // end forEach(cn -> ...)
+  } // end method */
+
   /**
    * Test method for {@link CborSigner#expandSignature(byte[])}.
    */
@@ -244,6 +326,7 @@ final class TestCborSigner {
     // Test strategy:
     // --- a. happy cases over various lengths
     // --- b. ERROR: odd number of input-octets
+    // --- c. ERROR: less than two input-octets
 
     // --- a. happy cases over various lengths
     RNG.intsClosed(32, 64, 20)
@@ -276,6 +359,72 @@ final class TestCborSigner {
             assertNull(throwable.getCause());
           }); // end forEach(size -> ...)
     }
+
+    // --- c. ERROR: less than two input-octets
+    for (final byte[] signature : List.of(new byte[0], new byte[1], new byte[]{-1})) {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> CborSigner.expandSignature(signature)
+      );
+      assertEquals("signature R || S too short", throwable.getMessage());
+      assertNull(throwable.getCause());
+    } // end for (signature...)
+  } // end method */
+
+  /**
+   * Test method for {@link CborSigner#expandSignature(byte[], byte[])}.
+   */
+  @Test
+  void test_expandSignature__byteA_byteA() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. happy cases over various lengths, including leading zeros and set MSBit
+    // --- b. ERROR: odd number of input-octets
+    // --- c. ERROR: less than two input-octets
+
+    // --- a. happy cases over various lengths, including leading zeros and set MSBit
+    RNG.intsClosed(1, 66, 40)
+        .parallel() // for performance boost
+        .forEach(size -> {
+          final byte[] octetsR = RNG.nextBytes(size);
+          final byte[] octetsS = RNG.nextBytes(size);
+          octetsR[0] = (byte) 0x80;
+          octetsS[0] = 0;
+          final byte[] expected = new DerSequence(List.of(
+              new DerInteger(new BigInteger(1, octetsR)),
+              new DerInteger(new BigInteger(1, octetsS))
+          )).toByteArray();
+          final byte[] buffer = new byte[(size << 1) + CborSigner.DER_OVERHEAD];
+
+          final int length = CborSigner.expandSignature(
+              AfiUtils.concatenate(octetsR, octetsS),
+              buffer
+          );
+
+          assertEquals(
+              Hex.toHexDigits(expected),
+              Hex.toHexDigits(Arrays.copyOfRange(buffer, 0, length))
+          );
+        }); // end forEach(size -> ...)
+
+    // --- b. ERROR: odd number of input-octets
+    {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> CborSigner.expandSignature(RNG.nextBytes(65), new byte[100])
+      );
+      assertEquals("odd number of octet in signature R || S", throwable.getMessage());
+      assertNull(throwable.getCause());
+    }
+
+    // --- c. ERROR: less than two input-octets
+    for (final byte[] signature : List.of(new byte[0], new byte[1], new byte[]{-1})) {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> CborSigner.expandSignature(signature, new byte[100])
+      );
+      assertEquals("signature R || S too short", throwable.getMessage());
+      assertNull(throwable.getCause());
+    } // end for (signature...)
   } // end method */
 
   /**
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gmail.alfred65fiedler.utils.Hex;
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import de.gematik.poc.vaccination.utils.Utils;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link CertificateLog}.
+ */
+final class TestCertificateLog {
+  /**
+   * Common name of Root-CA.
+   */
+  private static final String CN_ROOT_CA = "clRCA"; // */
+
+  /**
+   * Common names of CA.
+   */
+  private static final List<String> CN_CA = List.of("clA", "clB", "clC"); // */
+
+  /**
+   * Certificates of CA, same order as in {@link #CN_CA}.
+   */
+  private static final List<X509Certificate> CERTIFICATES = new ArrayList<>(); // */
+
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception { // NOPMD throwing Exception
+    // --- set the base path for PKI stuff to temporary test directory
+    final Path tempDir = CmdLine
+        .BASE_PATH
+        .resolve(("pki"))
+        .resolveSibling("junit.pki")
+        .resolve(String.format("%016x", System.nanoTime()));
+    PublicKeyInfrastructure.claPkiBasePath = Files.createDirectories(tempDir);
+
+    // --- create cryptographic entities
+    PublicKeyInfrastructure.createRootCa(new ConcurrentLinkedQueue<>(List.of(
+        CN_ROOT_CA
+    )));
+    final CertificateFactory certificateFactory = CertificateFactory.getInstance(
+        PublicKeyInfrastructure.CERTIFICATE_TYPE
+    );
+    for (final String cn : CN_CA) {
+      PublicKeyInfrastructure.createCa(new ConcurrentLinkedQueue<>(List.of(// NOPMD new loop
+          cn, CN_ROOT_CA
+      )));
+      CERTIFICATES.add((X509Certificate) certificateFactory.generateCertificate(
+          new ByteArrayInputStream(Files.readAllBytes(
+              PublicKeyInfrastructure.getPath(cn).resolve(
+                  cn + PublicKeyInfrastructure.SUFFIX_X509 + Utils.EXTENSION_BIN
+              )
+          ))
+      ));
+    } // end for (cn...)
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link CertificateLog#append(Path, String, List)}.
+   */
+  @Test
+  void test_append__Path_String_List() throws Exception { // NOPMD throwing Exception
+    // Assertions:
+    // ... a. readAll(...)-method works as expected
+
+    // Test strategy:
+    // --- a. empty list
+    // --- b. append one certificate
+    // --- c. append many certificates at once
+    // --- d. re-issued certificate replaces former one
+    // --- e. certificates issued by Root-CA during setup are present
+    // --- f. append after incomplete record at end of index
+
+    final Path directory = Files.createDirectories(claTempDir.resolve("append"));
+    final String cnCa = "ca";
+
+    // --- a. empty list
+    CertificateLog.append(directory, cnCa, Collections.emptyList());
+    assertFalse(Files.exists(directory.resolve(cnCa + CertificateLog.SUFFIX_LOG)));
+    assertFalse(Files.exists(directory.resolve(cnCa + CertificateLog.SUFFIX_INDEX)));
+    assertTrue(CertificateLog.readAll(directory, cnCa).isEmpty());
+
+    // --- b. append one certificate
+    CertificateLog.append(directory, cnCa, List.of(CERTIFICATES.get(0)));
+    assertEquals(
+        List.of(CN_CA.get(0)),
+        new ArrayList<>(CertificateLog.readAll(directory, cnCa).keySet())
+    );
+
+    // --- c. append many certificates at once
+    final long size = Files.size(directory.resolve(cnCa + CertificateLog.SUFFIX_LOG));
+    CertificateLog.append(directory, cnCa, CERTIFICATES.subList(1, 3));
+    assertEquals(
+        size + CERTIFICATES.get(1).getEncoded().length + CERTIFICATES.get(2).getEncoded().length,
+        Files.size(directory.resolve(cnCa + CertificateLog.SUFFIX_LOG))
+    );
+    assertEquals(CN_CA, new ArrayList<>(CertificateLog.readAll(directory, cnCa).keySet()));
+    assertEquals(CERTIFICATES, new ArrayList<>(CertificateLog.readAll(directory, cnCa).values()));
+
+    // --- d. re-issued certificate replaces former one
+    CertificateLog.append(directory, cnCa, List.of(CERTIFICATES.get(0)));
+    assertEquals(
+        List.of(CN_CA.get(1), CN_CA.get(2), CN_CA.get(0)),
+        new ArrayList<>(CertificateLog.readAll(directory, cnCa).keySet())
+    );
+
+    // --- e. certificates issued by Root-CA during setup are present
+    assertEquals(
+        CERTIFICATES,
+        new ArrayList<>(CertificateLog.readAll(
+            PublicKeyInfrastructure.getPath(CN_ROOT_CA),
+            CN_ROOT_CA
+        ).values())
+    );
+
+    // --- f. append after incomplete record at end of index
+    final Path pathIndex = directory.resolve(cnCa + CertificateLog.SUFFIX_INDEX);
+    final long sizeIndex = Files.size(pathIndex);
+    Files.write(pathIndex, new byte[]{0, 0, 0, 0, 0, 0, 1}, StandardOpenOption.APPEND);
+    CertificateLog.append(directory, cnCa, List.of(CERTIFICATES.get(1)));
+    assertEquals(
+        List.of(CN_CA.get(2), CN_CA.get(0), CN_CA.get(1)),
+        new ArrayList<>(CertificateLog.readAll(directory, cnCa).keySet())
+    );
+    assertEquals(
+        CERTIFICATES.get(1),
+        CertificateLog.getCertificate(directory, cnCa, CN_CA.get(1))
+    );
+
+    // incomplete record removed, i.e. index consists of complete records only
+    final byte[] index = Files.readAllBytes(pathIndex);
+    assertEquals(index.length, CertificateLog.lengthComplete(ByteBuffer.wrap(index)));
+    assertEquals(sizeIndex + 14 + CN_CA.get(1).length(), index.length);
+  } // end method */
+
+  /**
+   * Test method for {@link CertificateLog#lengthComplete(ByteBuffer)}.
+   */
+  @Test
+  void test_lengthComplete__ByteBuffer() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. empty buffer
+    // --- b. complete records only
+    // --- c. incomplete record after complete records
+    // --- d. position of buffer is respected
+
+    // record := offset (8 octet) || length (4 octet) || lengthCn (2 octet) || cn
+    final byte[] recordA = Hex.toByteArray("0000000000000000 00000010 0001 41");
+    final byte[] recordB = Hex.toByteArray("0000000000000010 00000020 0003 424242");
+
+    // --- a. empty buffer
+    assertEquals(0, CertificateLog.lengthComplete(ByteBuffer.allocate(0)));
+
+    // --- b. complete records only
+    assertEquals(recordA.length, CertificateLog.lengthComplete(ByteBuffer.wrap(recordA)));
+    assertEquals(
+        recordA.length + recordB.length + recordA.length,
+        CertificateLog.lengthComplete(
+            ByteBuffer.allocate(recordA.length + recordB.length + recordA.length)
+                .put(recordA)
+                .put(recordB)
+                .put(recordA)
+                .flip()
+        )
+    );
+
+    // --- c. incomplete record after complete records
+    for (int i = 0; i < recordA.length; i++) {
+      final ByteBuffer input = ByteBuffer.allocate(recordB.length + i)
+          .put(recordB)
+          .put(recordA, 0, i)
+          .flip();
+      assertEquals(recordB.length, CertificateLog.lengthComplete(input), "i = " + i);
+    } // end for (i...)
+
+    // --- d. position of buffer is respected
+    final ByteBuffer input = ByteBuffer.allocate(recordA.length + recordB.length)
+        .put(recordA)
+        .put(recordB)
+        .flip();
+    input.position(recordA.length);
+    assertEquals(recordB.length, CertificateLog.lengthComplete(input));
+    assertEquals(recordA.length, input.position());
+  } // end method */
+
+  /**
+   * Test method for {@link CertificateLog#getCertificate(Path, String, String)}.
+   */
+  @Test
+  void test_getCertificate__Path_String_String() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. absent log
+    // --- b. present certificates
+    // --- c. unknown subject
+    // --- d. incomplete record at end of index is ignored
+    // --- e. record pointing beyond end of log is ignored
+
+    final Path directory = Files.createDirectories(claTempDir.resolve("getCertificate"));
+    final String cnCa = "ca";
+
+    // --- a. absent log
+    assertNull(CertificateLog.getCertificate(directory, cnCa, CN_CA.get(0)));
+
+    // --- b. present certificates
+    CertificateLog.append(directory, cnCa, CERTIFICATES);
+    for (int i = 0; i < CN_CA.size(); i++) {
+      assertEquals(
+          CERTIFICATES.get(i),
+          CertificateLog.getCertificate(directory, cnCa, CN_CA.get(i))
+      );
+    } // end for (i...)
+
+    // --- c. unknown subject
+    assertNull(CertificateLog.getCertificate(directory, cnCa, "unknown"));
+
+    // --- d. incomplete record at end of index is ignored
+    Files.write(
+        directory.resolve(cnCa + CertificateLog.SUFFIX_INDEX),
+        new byte[]{1, 2, 3},
+        StandardOpenOption.APPEND
+    );
+    assertEquals(CN_CA, new ArrayList<>(CertificateLog.readAll(directory, cnCa).keySet()));
+
+    // --- e. record pointing beyond end of log is ignored
+    try (FileChannel channel = FileChannel.open(
+        directory.resolve(cnCa + CertificateLog.SUFFIX_LOG),
+        StandardOpenOption.WRITE
+    )) {
+      channel.truncate(channel.size() - 1);
+    } // end try-with-resources
+    assertNull(CertificateLog.getCertificate(directory, cnCa, CN_CA.get(2)));
+    assertEquals(
+        CERTIFICATES.get(1),
+        CertificateLog.getCertificate(directory, cnCa, CN_CA.get(1))
+    );
+  } // end method */
+
+  /**
+   * Test method for {@link CertificateLog#exportKeyStore(Path, String)}.
+   */
+  @Test
+  void test_exportKeyStore__Path_String() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. previous entries are kept, issued certificates are added
+    // --- b. repeated export is harmless
+
+    final Path directory = Files.createDirectories(claTempDir.resolve("exportKeyStore"));
+    final String cnCa = "ca";
+    final Path path = directory.resolve(cnCa + PublicKeyInfrastructure.SUFFIX_KEYSTORE_X509);
+    final KeyStore keyStore = KeyStore.getInstance(PublicKeyInfrastructure.KEYSTORE_TYPE);
+    keyStore.load(null, PublicKeyInfrastructure.KEYSTORE_PASSWORD);
+    keyStore.setCertificateEntry(cnCa, CERTIFICATES.get(0));
+    try (OutputStream fos = Files.newOutputStream(path)) {
+      keyStore.store(fos, PublicKeyInfrastructure.KEYSTORE_PASSWORD);
+    } // end try-with-resources
+
+    // --- a. previous entries are kept, issued certificates are added
+    CertificateLog.append(directory, cnCa, CERTIFICATES.subList(1, 3));
+    assertEquals(2, CertificateLog.exportKeyStore(directory, cnCa));
+    final KeyStore exported = KeyStore.getInstance(
+        path.toFile(),
+        PublicKeyInfrastructure.KEYSTORE_PASSWORD
+    );
+    assertEquals(3, exported.size());
+    assertEquals(CERTIFICATES.get(0), exported.getCertificate(cnCa));
+    assertEquals(CERTIFICATES.get(1), exported.getCertificate(CN_CA.get(1)));
+    assertEquals(CERTIFICATES.get(2), exported.getCertificate(CN_CA.get(2)));
+
+    // --- b. repeated export is harmless
+    assertEquals(2, CertificateLog.exportKeyStore(directory, cnCa));
+    assertEquals(
+        3,
+        KeyStore.getInstance(path.toFile(), PublicKeyInfrastructure.KEYSTORE_PASSWORD).size()
+    );
+    try (Stream<Path> stream = Files.list(directory)) {
+      assertEquals(3, stream.count()); // key store, log, index, no temporary file
+    } // end try-with-resources
+  } // end method */
+} // end class
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link EntityIndex}.
+ */
+final class TestEntityIndex {
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(EntityIndex.PROPERTY_PERSIST);
+  } // end method */
+
+  /**
+   * Test method for {@link EntityIndex#getPath(Path, String)}.
+   */
+  @Test
+  void test_getPath__Path_String() throws IOException { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. entities present before index is built
+    // --- b. entity created by another process after index is built
+    // --- c. indexed directory vanished
+    // --- d. ERROR: unknown commonName
+    // --- e. ERROR: unknown commonName is remembered, no further rebuild
+    // --- f. missing commonName found after add(...)
+    // --- g. lookup miss never persists index
+
+    final Path basePath = Files.createDirectories(claTempDir.resolve("getPath"));
+
+    // --- a. entities present before index is built
+    final Path rootCa = Files.createDirectory(basePath.resolve("rootCa"));
+    final Path ca = Files.createDirectory(rootCa.resolve("ca"));
+    final Path ee = Files.createDirectory(ca.resolve("ee"));
+    assertEquals(rootCa, EntityIndex.getPath(basePath, "rootCa"));
+    assertEquals(ca, EntityIndex.getPath(basePath, "ca"));
+    assertEquals(ee, EntityIndex.getPath(basePath, "ee"));
+
+    // --- b. entity created by another process after index is built
+    final Path eeB = Files.createDirectory(ca.resolve("eeB"));
+    assertEquals(eeB, EntityIndex.getPath(basePath, "eeB"));
+
+    // --- c. indexed directory vanished
+    Files.delete(eeB);
+    final Path eeC = Files.createDirectory(rootCa.resolve("eeB"));
+    assertEquals(eeC, EntityIndex.getPath(basePath, "eeB"));
+
+    // --- d. ERROR: unknown commonName
+    final Throwable throwable = assertThrows(
+        NoSuchElementException.class,
+        () -> EntityIndex.getPath(basePath, "unknown")
+    );
+    assertEquals("no entity with commonName: unknown", throwable.getMessage());
+
+    // --- e. ERROR: unknown commonName is remembered, no further rebuild
+    final Path unknown = Files.createDirectory(ca.resolve("unknown"));
+    assertThrows(
+        NoSuchElementException.class,
+        () -> EntityIndex.getPath(basePath, "unknown")
+    );
+
+    // --- f. missing commonName found after add(...)
+    EntityIndex.add(basePath, unknown);
+    assertEquals(unknown, EntityIndex.getPath(basePath, "unknown"));
+
+    // --- g. lookup miss never persists index
+    System.setProperty(EntityIndex.PROPERTY_PERSIST, "true");
+    assertThrows(
+        NoSuchElementException.class,
+        () -> EntityIndex.getPath(basePath, "absent")
+    );
+    assertFalse(Files.exists(basePath.resolve(EntityIndex.INDEX_FILE_NAME)));
+  } // end method */
+
+  /**
+   * Test method for {@link EntityIndex#add(Path, Path)}.
+   */
+  @Test
+  void test_add__Path_Path() throws IOException { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. add without persisting
+    // --- b. add with persisting
+    // --- c. persisted index is used for another base path
+
+    final Path basePath = Files.createDirectories(claTempDir.resolve("add"));
+    final Path indexFile = basePath.resolve(EntityIndex.INDEX_FILE_NAME);
+
+    // --- a. add without persisting
+    final Path rootCa = Files.createDirectory(basePath.resolve("rootCa"));
+    EntityIndex.add(basePath, rootCa);
+    assertEquals(rootCa, EntityIndex.getPath(basePath, "rootCa"));
+    assertFalse(Files.exists(indexFile));
+
+    // --- b. add with persisting
+    System.setProperty(EntityIndex.PROPERTY_PERSIST, "true");
+    final Path ca = Files.createDirectory(rootCa.resolve("ca"));
+    EntityIndex.add(basePath, ca);
+    assertEquals(ca, EntityIndex.getPath(basePath, "ca"));
+    assertTrue(Files.isRegularFile(indexFile));
+
+    // --- c. persisted index is used for another base path
+    final Path otherPath = Files.createDirectories(claTempDir.resolve("other"));
+    assertThrows(
+        NoSuchElementException.class,
+        () -> EntityIndex.getPath(otherPath, "ca")
+    );
+    assertEquals(ca, EntityIndex.getPath(basePath, "ca"));
+    assertEquals(rootCa, EntityIndex.getPath(basePath, "rootCa"));
+  } // end method */
+} // end class
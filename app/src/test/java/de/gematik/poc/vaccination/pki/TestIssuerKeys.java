@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.interfaces.ECPublicKey;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link IssuerKeys}.
+ */
+final class TestIssuerKeys {
+  /**
+   * Common name of Root-CA.
+   */
+  private static final String CN_ROOT_CA = "ikRCA"; // */
+
+  /**
+   * Common name of CA.
+   */
+  private static final String CN_CA = "4911"; // */
+
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception { // NOPMD throwing Exception
+    // --- set the base path for PKI stuff to temporary test directory
+    final Path tempDir = CmdLine
+        .BASE_PATH
+        .resolve(("pki"))
+        .resolveSibling("junit.pki")
+        .resolve(String.format("%016x", System.nanoTime()));
+    PublicKeyInfrastructure.claPkiBasePath = Files.createDirectories(tempDir);
+
+    // --- create cryptographic entities
+    PublicKeyInfrastructure.createRootCa(new ConcurrentLinkedQueue<>(List.of(
+        CN_ROOT_CA
+    )));
+    PublicKeyInfrastructure.createCa(new ConcurrentLinkedQueue<>(List.of(
+        CN_CA, CN_ROOT_CA
+    )));
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    IssuerKeys.clear();
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(TrustStore.PROPERTY_PATH);
+    TrustStore.reset();
+    IssuerKeys.clear();
+  } // end method */
+
+  /**
+   * Test method for {@link IssuerKeys#get(int)}.
+   */
+  @Test
+  void test_get__int() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. resolved from PKI-structure, same instance on repeated calls
+    // --- b. source changed to trust store, resolved again
+    // --- c. ERROR: unknown identifier
+
+    final int identifier = Integer.parseInt(CN_CA);
+
+    // --- a. resolved from PKI-structure, same instance on repeated calls
+    final ECPublicKey puk = IssuerKeys.get(identifier);
+    assertEquals(PublicKeyInfrastructure.getPublicKey(CN_CA), puk);
+    assertSame(puk, IssuerKeys.get(identifier));
+
+    // --- b. source changed to trust store, resolved again
+    final Path path = claTempDir.resolve("trustStore.bin");
+    TrustStore.write(path, List.of(CN_CA));
+    System.setProperty(TrustStore.PROPERTY_PATH, path.toString());
+    TrustStore.reset();
+    final ECPublicKey fromTrustStore = IssuerKeys.get(identifier);
+    assertEquals(puk, fromTrustStore);
+    assertNotSame(puk, fromTrustStore);
+    assertSame(fromTrustStore, IssuerKeys.get(identifier));
+
+    // --- c. ERROR: unknown identifier
+    assertThrows(NoSuchElementException.class, () -> IssuerKeys.get(4912));
+    System.clearProperty(TrustStore.PROPERTY_PATH);
+    TrustStore.reset();
+    assertThrows(NoSuchElementException.class, () -> IssuerKeys.get(4912));
+  } // end method */
+} // end class
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link KeyCache}.
+ */
+final class TestKeyCache {
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link KeyCache#get(String, Path, BasicFileAttributes)}.
+   */
+  @Test
+  void test_get__String_Path_BasicFileAttributes() throws // NOPMD '_' character in name
+      IOException,
+      NoSuchAlgorithmException {
+    // Test strategy:
+    // --- a. absent entry
+    // --- b. present entry, file unchanged
+    // --- c. present entry, other path
+    // --- d. present entry, file modified
+    // --- e. clear
+    final KeyCache<PublicKey> dut = new KeyCache<>();
+    final Path path = claTempDir.resolve("get" + PublicKeyInfrastructure.SUFFIX_KEYSTORE_X509);
+    Files.write(path, new byte[]{1, 2, 3});
+    final PublicKey key = KeyPairGenerator.getInstance("EC").generateKeyPair().getPublic();
+
+    // --- a. absent entry
+    assertNull(dut.get("get", path, Files.readAttributes(path, BasicFileAttributes.class)));
+
+    // --- b. present entry, file unchanged
+    dut.put("get", path, Files.readAttributes(path, BasicFileAttributes.class), key);
+    assertSame(key, dut.get("get", path, Files.readAttributes(path, BasicFileAttributes.class)));
+    assertEquals(1, dut.size());
+
+    // --- c. present entry, other path
+    final Path other = Files.write(claTempDir.resolve("other"), new byte[]{1, 2, 3});
+    Files.setLastModifiedTime(other, Files.getLastModifiedTime(path));
+    assertNull(dut.get("get", other, Files.readAttributes(other, BasicFileAttributes.class)));
+
+    // --- d. present entry, file modified
+    // d.1 same size, other time of last modification
+    final FileTime lastModified = Files.getLastModifiedTime(path);
+    Files.write(path, new byte[]{3, 2, 1});
+    Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 2000));
+    assertNull(dut.get("get", path, Files.readAttributes(path, BasicFileAttributes.class)));
+
+    // d.2 other size, same time of last modification
+    dut.put("get", path, Files.readAttributes(path, BasicFileAttributes.class), key);
+    assertSame(key, dut.get("get", path, Files.readAttributes(path, BasicFileAttributes.class)));
+    final FileTime modified = Files.getLastModifiedTime(path);
+    Files.write(path, new byte[]{3, 2, 1, 0});
+    Files.setLastModifiedTime(path, modified);
+    assertNull(dut.get("get", path, Files.readAttributes(path, BasicFileAttributes.class)));
+
+    // --- e. clear
+    dut.clear();
+    assertEquals(0, dut.size());
+  } // end method */
+} // end class
@@ -50,7 +50,10 @@ import java.security.cert.X509Certificate;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -309,6 +312,132 @@ final class TestPublicKeyInfrastructure { // NOPMD too many methods
     } // end catch(Exception)
   } // end method */
 
+  /**
+   * Test method for {@link PublicKeyInfrastructure#createEndEntities(ConcurrentLinkedQueue)}.
+   */
+  @Test
+  void test_createEndEntities__Queue() { // NOPMD '_' character in name of method
+    // Assertions:
+    // ... a. createRootCa(...)-method works as expected
+    // ... b. createCa(...)-method works as expected
+
+    // Test strategy:
+    // --- a. create many EndEntities, check created artifacts
+    // --- b. ERROR: too few arguments
+    // --- c. ERROR: duplicate commonName
+    // --- d. ERROR: EndEntity already exists
+
+    try {
+      // --- create RootCA
+      final String rootCa = "eesRCA";
+      assertTrue(
+          PublicKeyInfrastructure.createRootCa(new ConcurrentLinkedQueue<>(List.of(
+              rootCa
+          )))
+      );
+
+      // --- create CA
+      final String cnCa = "eesCA";
+      assertTrue(
+          PublicKeyInfrastructure.createCa(new ConcurrentLinkedQueue<>(List.of(
+              cnCa, rootCa
+          )))
+      );
+
+      // --- a. create many EndEntities, check created artifacts
+      final List<String> commonNames = List.of("eesA", "eesB", "eesC", "eesD", "eesE");
+      final ConcurrentLinkedQueue<String> arguments = new ConcurrentLinkedQueue<>();
+      arguments.add(cnCa);
+      arguments.addAll(commonNames);
+      assertTrue(PublicKeyInfrastructure.createEndEntities(arguments));
+      assertTrue(arguments.isEmpty());
+
+      final Path directoryCa = PublicKeyInfrastructure
+          .claPkiBasePath
+          .resolve(rootCa)
+          .resolve(cnCa);
+      assertTrue(
+          PublicKeyInfrastructure.exportIssued(new ConcurrentLinkedQueue<>(List.of(cnCa)))
+      );
+      final KeyStore keyStoreCa = KeyStore.getInstance(
+          directoryCa.resolve(cnCa + PublicKeyInfrastructure.SUFFIX_KEYSTORE_X509).toFile(),
+          PublicKeyInfrastructure.KEYSTORE_PASSWORD
+      );
+      final Set<BigInteger> serialNumbers = new HashSet<>();
+      for (final String commonName : commonNames) {
+        final Path directory = directoryCa.resolve(commonName);
+
+        // check that only binary artifacts exist, default export policy for bulk creation
+        assertTrue(Files.isRegularFile(directory.resolve(
+            commonName + PublicKeyInfrastructure.SUFFIX_X509 + Utils.EXTENSION_BIN
+        )));
+        assertFalse(Files.exists(directory.resolve(
+            commonName + PublicKeyInfrastructure.SUFFIX_X509 + Utils.EXTENSION_BIN_TEXT
+        )));
+
+        // check certificate-chain in key store of private key
+        final KeyStore keyStorePrivate = KeyStore.getInstance(
+            directory
+                .resolve(commonName + PublicKeyInfrastructure.SUFFIX_KEYSTORE_PRIVATE)
+                .toFile(),
+            PublicKeyInfrastructure.KEYSTORE_PASSWORD
+        );
+        assertEquals(3, keyStorePrivate.getCertificateChain(commonName).length);
+
+        // check that certificate is in log and exported key store of CA and keys match
+        final X509Certificate x509 = CertificateLog.getCertificate(directoryCa, cnCa, commonName);
+        assertNotNull(x509);
+        assertEquals(x509, keyStoreCa.getCertificate(commonName));
+        assertEquals(x509.getPublicKey(), PublicKeyInfrastructure.getPublicKey(commonName));
+        x509.verify(PublicKeyInfrastructure.getPublicKey(cnCa));
+
+        // check that serial number is positive and fits into 20 octets, see RFC 5280
+        assertEquals(1, x509.getSerialNumber().signum());
+        assertTrue(x509.getSerialNumber().bitLength() < 160);
+        serialNumbers.add(x509.getSerialNumber());
+      } // end for (commonName...)
+
+      // check that serial numbers are distinct, although issued at the same time
+      assertEquals(commonNames.size(), serialNumbers.size());
+
+      // --- b. ERROR: too few arguments
+      assertFalse(
+          PublicKeyInfrastructure.createEndEntities(new ConcurrentLinkedQueue<>(List.of(
+              cnCa
+          )))
+      );
+
+      // --- c. ERROR: duplicate commonName
+      {
+        final Throwable throwable = assertThrows(
+            IllegalArgumentException.class,
+            () -> PublicKeyInfrastructure.createEndEntities(new ConcurrentLinkedQueue<>(List.of(
+                cnCa, "eesF", "eesG", "eesF"
+            )))
+        );
+        assertEquals("duplicate commonName: eesF", throwable.getMessage());
+        assertNull(throwable.getCause());
+        assertFalse(Files.exists(directoryCa.resolve("eesF")));
+        assertFalse(Files.exists(directoryCa.resolve("eesG")));
+      }
+
+      // --- d. ERROR: EndEntity already exists
+      {
+        final Throwable throwable = assertThrows(
+            IllegalArgumentException.class,
+            () -> PublicKeyInfrastructure.createEndEntities(new ConcurrentLinkedQueue<>(List.of(
+                cnCa, "eesH", commonNames.get(0)
+            )))
+        );
+        assertEquals(ENTITY_EXISTS, throwable.getMessage());
+        assertNull(throwable.getCause());
+        assertFalse(Files.exists(directoryCa.resolve("eesH")));
+      }
+    } catch (Exception e) { // NOPMD generic exceptions, spotbugs: REC_CATCH_EXCEPTION
+      fail(UNEXPECTED, e);
+    } // end catch(Exception)
+  } // end method */
+
   /**
    * Test method for {@link PublicKeyInfrastructure#createRootCa(ConcurrentLinkedQueue)}.
    */
@@ -416,6 +545,44 @@ final class TestPublicKeyInfrastructure { // NOPMD too many methods
         }); // end forEach(domainParameter -> ...)
   } // end method */
 
+  /**
+   * Test method for {@link PublicKeyInfrastructure#signEcdsaP1363(byte[], ECPrivateKey)}.
+   */
+  @Test
+  void test_signEcdsaP1363__byteA_EcPrivateKey() { // NOPMD '_' character in name of method
+    // Assertion:
+    // ... a. verifyEcdsaP1363(...)-method works as expected
+
+    // Test strategy:
+    // --- a. loop over all domain parameter predefined in AfiElcParameterSpec
+    AfiElcParameterSpec.PREDEFINED.stream()
+        .parallel() // for performance boost
+        .forEach(domainParameter -> {
+          final int tau = domainParameter.getTau();
+
+          RNG.intsClosed(0, 100, 20).forEach(length -> {
+            try {
+              // --- create key pair
+              final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+              keyPairGenerator.initialize(domainParameter);
+              final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+              final ECPrivateKey prk = (ECPrivateKey) keyPair.getPrivate();
+              final ECPublicKey  puk = (ECPublicKey)  keyPair.getPublic();
+              final byte[] message = RNG.nextBytes(length);
+
+              // --- create signature
+              final byte[] signature = PublicKeyInfrastructure.signEcdsaP1363(message, prk);
+
+              // --- check signature
+              assertEquals(tau << 1, signature.length);
+              assertTrue(PublicKeyInfrastructure.verifyEcdsaP1363(message, signature, puk));
+            } catch (Exception e) { // NOPMD generic exceptions, spotbugs: REC_CATCH_EXCEPTION
+              fail(UNEXPECTED, e);
+            } // end catch (...)
+          }); // end forEach(length -> ...)
+        }); // end forEach(domainParameter -> ...)
+  } // end method */
+
   /**
    * Test method for {@link PublicKeyInfrastructure#verifyEcdsa(byte[], DerBitString, ECPublicKey)}.
    */
@@ -462,6 +629,59 @@ final class TestPublicKeyInfrastructure { // NOPMD too many methods
         }); // end forEach(domainParameter -> ...)
   } // end method */
 
+  /**
+   * Test method for {@link PublicKeyInfrastructure#verifyEcdsaP1363(byte[], byte[], ECPublicKey)}.
+   */
+  @Test
+  void test_verifyEcdsaP1363__byteA_byteA_EcPublicKey() { // NOPMD '_' character in name
+    // Test strategy:
+    // --- a. loop over all domain parameter predefined in AfiElcParameterSpec
+    // --- b. manipulated signature
+    // --- c. ERROR: odd number of octet in signature
+    AfiElcParameterSpec.PREDEFINED.stream()
+        .parallel() // for performance boost
+        .forEach(domainParameter -> {
+          final int tau = domainParameter.getTau();
+
+          RNG.intsClosed(0, 100, 20).forEach(length -> {
+            try {
+              // --- create key pair
+              final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+              keyPairGenerator.initialize(domainParameter);
+              final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+              final ECPrivateKey prk = (ECPrivateKey) keyPair.getPrivate();
+              final ECPublicKey  puk = (ECPublicKey)  keyPair.getPublic();
+              final byte[] message = RNG.nextBytes(length);
+
+              // --- create signature
+              final byte[] signature = CborSigner.compressSignature(
+                  PublicKeyInfrastructure.signEcdsa(message, prk),
+                  tau
+              );
+
+              // --- a. verify signature
+              assertTrue(PublicKeyInfrastructure.verifyEcdsaP1363(message, signature, puk));
+
+              // --- b. manipulated signature
+              signature[signature.length - 1] ^= 1;
+              assertFalse(PublicKeyInfrastructure.verifyEcdsaP1363(message, signature, puk));
+
+              // --- c. ERROR: odd number of octet in signature
+              assertThrows(
+                  IllegalArgumentException.class,
+                  () -> PublicKeyInfrastructure.verifyEcdsaP1363(
+                      message,
+                      Arrays.copyOf(signature, signature.length - 1),
+                      puk
+                  )
+              );
+            } catch (Exception e) { // NOPMD generic exceptions, spotbugs: REC_CATCH_EXCEPTION
+              fail(UNEXPECTED, e);
+            } // end catch (...)
+          }); // end forEach(length -> ...)
+        }); // end forEach(domainParameter -> ...)
+  } // end method */
+
   @Test
   void createEntity() { // NOPMD '_' character in name of method
     // FIXME
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link SignaturePool}.
+ */
+final class TestSignaturePool {
+  /**
+   * Algorithm used in tests.
+   */
+  private static final String ALGORITHM = "SHA256withECDSA"; // */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    SignaturePool.discard(ALGORITHM);
+  } // end method */
+
+  /**
+   * Test method for {@link SignaturePool#getAlgorithm(java.security.spec.ECParameterSpec)}.
+   */
+  @Test
+  void test_getAlgorithm__EcParameterSpec() throws // NOPMD '_' character in name of method
+      GeneralSecurityException {
+    // Test strategy:
+    // --- a. loop over curves with various field sizes, twice for repeated calls
+    for (int i = 2; i-- > 0; ) { // NOPMD assignment in operand
+      for (final List<String> input : List.of(
+          List.of("secp256r1", "SHA256withECDSA"),
+          List.of("secp384r1", "SHA384withECDSA"),
+          List.of("secp521r1", "SHA512withECDSA")
+      )) {
+        assertEquals(
+            input.get(1),
+            SignaturePool.getAlgorithm(
+                ((ECPublicKey) generate(input.get(0)).getPublic()).getParams()
+            )
+        );
+      } // end for (input...)
+    } // end for (i...)
+  } // end method */
+
+  /**
+   * Test method for {@link SignaturePool#getSigner(String, java.security.PrivateKey)}
+   * and {@link SignaturePool#getVerifier(String, java.security.PublicKey)}.
+   */
+  @Test
+  void test_getVerifier__String_PublicKey() throws // NOPMD '_' character in name of method
+      GeneralSecurityException {
+    // Test strategy:
+    // --- a. engine is reused for the same key
+    // --- b. engine is re-initialized for another key or purpose
+    // --- c. engine is replaced after discard
+    final byte[] message = "message".getBytes(StandardCharsets.UTF_8);
+    final KeyPair keyPairA = generate("secp256r1");
+    final KeyPair keyPairB = generate("secp256r1");
+
+    // --- a. engine is reused for the same key
+    final Signature signer = SignaturePool.getSigner(ALGORITHM, keyPairA.getPrivate());
+    signer.update(message);
+    final byte[] signatureA = signer.sign();
+    assertSame(signer, SignaturePool.getSigner(ALGORITHM, keyPairA.getPrivate()));
+    signer.update(message);
+    final byte[] signatureB = signer.sign();
+
+    // --- b. engine is re-initialized for another key or purpose
+    final Signature verifier = SignaturePool.getVerifier(ALGORITHM, keyPairA.getPublic());
+    assertSame(signer, verifier);
+    verifier.update(message);
+    assertTrue(verifier.verify(signatureA));
+    verifier.update(message);
+    assertTrue(verifier.verify(signatureB));
+    SignaturePool.getVerifier(ALGORITHM, keyPairB.getPublic()).update(message);
+    assertFalse(verifier.verify(signatureA));
+
+    // --- c. engine is replaced after discard
+    SignaturePool.discard(ALGORITHM);
+    assertNotSame(verifier, SignaturePool.getVerifier(ALGORITHM, keyPairB.getPublic()));
+  } // end method */
+
+  /**
+   * Test method for {@link SignaturePool#getVerifier(String, java.security.PublicKey)}
+   * on a virtual thread.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Test
+  void test_getVerifier__String_PublicKey_virtual() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. on a virtual thread engines are not kept, if supported by runtime
+    if (Runtime.version().feature() < 21) { // NOPMD literal in conditional statement
+      return;
+    } // end if
+    // ... runtime supports virtual threads
+
+    final KeyPair keyPair = generate("secp256r1");
+    final ExecutorService executor = (ExecutorService) Executors.class
+        .getMethod("newVirtualThreadPerTaskExecutor")
+        .invoke(null);
+    try {
+      assertTrue(executor.submit(() -> {
+        // Note: On a platform thread both calls return the same engine.
+        final Signature first = SignaturePool.getVerifier(ALGORITHM, keyPair.getPublic());
+
+        return first != SignaturePool.getVerifier(ALGORITHM, keyPair.getPublic()); // NOPMD ==
+      }).get());
+    } finally {
+      executor.shutdown();
+    } // end finally
+  } // end method */
+
+  /**
+   * Generates key pair.
+   *
+   * @param curve name of elliptic curve
+   *
+   * @return key pair
+   *
+   * @throws GeneralSecurityException if underlying methods do so
+   */
+  private static KeyPair generate(
+      final String curve
+  ) throws GeneralSecurityException {
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+    keyPairGenerator.initialize(new ECGenParameterSpec(curve));
+
+    return keyPairGenerator.generateKeyPair();
+  } // end method */
+} // end class
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.pki;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gematik.poc.vaccination.userinterface.CmdLine;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class performing white-box tests on {@link TrustStore}.
+ */
+final class TestTrustStore {
+  /**
+   * Common name of Root-CA.
+   */
+  private static final String CN_ROOT_CA = "tsRCA"; // */
+
+  /**
+   * Common name of CA without compact certificate.
+   */
+  private static final String CN_CA_A = "4811"; // */
+
+  /**
+   * Common name of CA with compact certificate issued by {@link #CN_CA_A}.
+   */
+  private static final String CN_CA_B = "4812"; // */
+
+  /**
+   * Temporary Directory.
+   */
+  @TempDir
+  /* package */ static Path claTempDir; // NP_NONNULL_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception { // NOPMD throwing Exception
+    // --- set the base path for PKI stuff to temporary test directory
+    final Path tempDir = CmdLine
+        .BASE_PATH
+        .resolve(("pki"))
+        .resolveSibling("junit.pki")
+        .resolve(String.format("%016x", System.nanoTime()));
+    PublicKeyInfrastructure.claPkiBasePath = Files.createDirectories(tempDir);
+
+    // --- create cryptographic entities
+    PublicKeyInfrastructure.createRootCa(new ConcurrentLinkedQueue<>(List.of(
+        CN_ROOT_CA
+    )));
+    PublicKeyInfrastructure.createCa(new ConcurrentLinkedQueue<>(List.of(
+        CN_CA_A, CN_ROOT_CA
+    )));
+    PublicKeyInfrastructure.createCa(new ConcurrentLinkedQueue<>(List.of(
+        CN_CA_B, CN_ROOT_CA
+    )));
+    CborSigner.createCompactCertificate(new ConcurrentLinkedQueue<>(List.of(
+        CN_CA_B, CN_CA_A
+    )));
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(TrustStore.PROPERTY_PATH);
+    TrustStore.reset();
+  } // end method */
+
+  /**
+   * Test method for {@link TrustStore#TrustStore(ByteBuffer)}.
+   */
+  @Test
+  void test_TrustStore__ByteBuffer() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test with empty trust store
+    // --- b. ERROR: too short
+    // --- c. ERROR: wrong magic number
+    // --- d. ERROR: index exceeds buffer
+
+    // --- a. smoke test with empty trust store
+    assertEquals(
+        0,
+        new TrustStore(ByteBuffer.allocate(8).putInt(0, TrustStore.MAGIC)).size()
+    );
+
+    // --- b. ERROR: too short
+    // --- c. ERROR: wrong magic number
+    // --- d. ERROR: index exceeds buffer
+    List.of(
+        ByteBuffer.allocate(7),
+        ByteBuffer.allocate(8),
+        ByteBuffer.allocate(15).putInt(0, TrustStore.MAGIC).putInt(4, 1)
+    ).forEach(buffer -> {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> new TrustStore(buffer)
+      );
+      assertEquals("invalid trust store", throwable.getMessage());
+    }); // end forEach(buffer -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link TrustStore#create(ConcurrentLinkedQueue)}.
+   */
+  @Test
+  void test_create__Queue() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. smoke test
+    // --- b. ERROR: too few arguments
+
+    // --- a. smoke test
+    final ConcurrentLinkedQueue<String> arguments = new ConcurrentLinkedQueue<>(List.of(
+        CN_CA_B, CN_CA_A
+    ));
+    assertTrue(TrustStore.create(arguments));
+    assertTrue(arguments.isEmpty());
+    assertEquals(
+        2,
+        TrustStore.open(
+            PublicKeyInfrastructure.claPkiBasePath.resolve(TrustStore.FILE_NAME)
+        ).size()
+    );
+
+    // --- b. ERROR: too few arguments
+    assertFalse(TrustStore.create(new ConcurrentLinkedQueue<>()));
+  } // end method */
+
+  /**
+   * Test method for {@link TrustStore#write(Path, List)}.
+   */
+  @Test
+  void test_write__Path_List() throws Exception { // NOPMD throwing Exception
+    // Assertions:
+    // ... a. open(Path)-method works as expected
+    // ... b. getPublicKey(int)-method works as expected
+    // ... c. getCompactCertificate(int)-method works as expected
+
+    // Test strategy:
+    // --- a. entries in arbitrary order
+    // --- b. ERROR: duplicate identifier
+    // --- c. ERROR: common name not numeric
+
+    final Path path = claTempDir.resolve("write.bin");
+
+    // --- a. entries in arbitrary order
+    TrustStore.write(path, List.of(CN_CA_B, CN_CA_A));
+    final TrustStore dut = TrustStore.open(path);
+    assertEquals(2, dut.size());
+    assertEquals(
+        PublicKeyInfrastructure.getPublicKey(CN_CA_A),
+        dut.getPublicKey(Integer.parseInt(CN_CA_A))
+    );
+    assertEquals(
+        PublicKeyInfrastructure.getPublicKey(CN_CA_B),
+        dut.getPublicKey(Integer.parseInt(CN_CA_B))
+    );
+    assertNull(dut.getCompactCertificate(Integer.parseInt(CN_CA_A)));
+    assertArrayEquals(
+        CborSigner.getCertificate(CN_CA_B),
+        dut.getCompactCertificate(Integer.parseInt(CN_CA_B))
+    );
+    try (Stream<Path> stream = Files.list(claTempDir)) {
+      assertEquals(0, stream.filter(i -> i.toString().endsWith(".tmp")).count());
+    } // end try-with-resources
+
+    // --- b. ERROR: duplicate identifier
+    {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> TrustStore.write(path, List.of(CN_CA_A, CN_CA_B, CN_CA_A))
+      );
+      assertEquals("duplicate identifier: " + CN_CA_A, throwable.getMessage());
+    }
+
+    // --- c. ERROR: common name not numeric
+    assertThrows(
+        NumberFormatException.class,
+        () -> TrustStore.write(path, List.of(CN_ROOT_CA))
+    );
+  } // end method */
+
+  /**
+   * Test method for {@link TrustStore#getPublicKey(int)}.
+   */
+  @Test
+  void test_getPublicKey__int() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. same instance on repeated lookups
+    // --- b. absent identifier, below, between and above present identifiers
+
+    final Path path = claTempDir.resolve("getPublicKey.bin");
+    TrustStore.write(path, List.of(CN_CA_A, CN_CA_B));
+    final TrustStore dut = TrustStore.open(path);
+
+    // --- a. same instance on repeated lookups
+    final int identifier = Integer.parseInt(CN_CA_A);
+    assertSame(dut.getPublicKey(identifier), dut.getPublicKey(identifier));
+
+    // --- b. absent identifier, below, between and above present identifiers
+    List.of(Integer.MIN_VALUE, 0, 4810, 4813, Integer.MAX_VALUE).forEach(i -> {
+      try {
+        assertNull(dut.getPublicKey(i));
+        assertNull(dut.getCompactCertificate(i));
+      } catch (Exception e) { // NOPMD avoid catching generic exceptions
+        throw new AssertionError(e); // NOPMD throwing raw exception
+      } // end catch (Exception)
+    }); // end forEach(i -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link TrustStore#getInstance()}.
+   */
+  @Test
+  void test_getInstance() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. no trust store configured
+    // --- b. trust store configured, opened once
+    // --- c. compact certificates are verified with trust store
+    // --- d. ERROR: issuer absent in trust store
+
+    // --- a. no trust store configured
+    assertNull(TrustStore.getInstance());
+
+    // --- b. trust store configured, opened once
+    final Path path = claTempDir.resolve("getInstance.bin");
+    TrustStore.write(path, List.of(CN_CA_A));
+    System.setProperty(TrustStore.PROPERTY_PATH, path.toString());
+    assertNull(TrustStore.getInstance()); // absence is kept until reset
+    TrustStore.reset();
+    final TrustStore dut = TrustStore.getInstance();
+    assertSame(dut, TrustStore.getInstance());
+
+    // --- c. compact certificates are verified with trust store
+    assertEquals(
+        PublicKeyInfrastructure.getPublicKey(CN_CA_B),
+        CborSigner.verifyCompactCertificate(CborSigner.getCertificate(CN_CA_B))
+    );
+
+    // --- d. ERROR: issuer absent in trust store
+    TrustStore.reset();
+    TrustStore.write(path, List.of(CN_CA_B));
+    assertThrows(
+        NoSuchElementException.class,
+        () -> CborSigner.verifyCompactCertificate(CborSigner.getCertificate(CN_CA_B))
+    );
+  } // end method */
+} // end class
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.userinterface;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import de.gematik.poc.vaccination.utils.Utils;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link CmdLine}.
+ */
+final class TestCmdLine {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link CmdLine#parseExportPolicy(String)}.
+   */
+  @Test
+  void test_parseExportPolicy__String() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. valid values, case-insensitive
+    // --- b. ERROR: value absent
+    // --- c. ERROR: invalid values
+
+    // --- a. valid values, case-insensitive
+    for (final Utils.ExportPolicy policy : Utils.ExportPolicy.values()) {
+      final String name = policy.name();
+      assertEquals(policy, CmdLine.parseExportPolicy(name));
+      assertEquals(policy, CmdLine.parseExportPolicy(name.toLowerCase(Locale.ROOT)));
+    } // end for (policy...)
+
+    // --- b. ERROR: value absent
+    assertNull(CmdLine.parseExportPolicy(null));
+
+    // --- c. ERROR: invalid values
+    List.of("", "bin", "fully", CmdLine.ACTION_SERVE).forEach(value ->
+        assertNull(CmdLine.parseExportPolicy(value))
+    ); // end forEach(value -> ...)
+  } // end method */
+} // end class
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.userinterface;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link VerificationExecutor}.
+ */
+final class TestVerificationExecutor {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link VerificationExecutor#VerificationExecutor(int, boolean, int)}.
+   */
+  @Test
+  void test_VerificationExecutor__int_boolean_int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test with platform threads
+    // --- b. virtual threads if supported by runtime
+    // --- c. ERROR: limits not positive
+
+    // --- a. smoke test with platform threads
+    try (VerificationExecutor dut = new VerificationExecutor(5, false, 2)) {
+      assertEquals(5, dut.getLimit());
+      assertEquals(0, dut.getInFlight());
+      assertFalse(dut.isVirtual());
+    } // end try-with-resources
+
+    // --- b. virtual threads if supported by runtime
+    try (VerificationExecutor dut = new VerificationExecutor(5, true, 2)) {
+      assertEquals(Runtime.version().feature() >= 21, dut.isVirtual());
+    } // end try-with-resources
+
+    // --- c. ERROR: limits not positive
+    List.of(
+        new int[]{0, 1},
+        new int[]{1, 0},
+        new int[]{-1, 1}
+    ).forEach(limits -> {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> new VerificationExecutor(limits[0], false, limits[1])
+      );
+      assertEquals(
+          "limits not positive: " + limits[0] + ", " + limits[1],
+          throwable.getMessage()
+      );
+    }); // end forEach(limits -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link VerificationExecutor#submit(java.util.concurrent.Callable)}.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Test
+  void test_submit__Callable() throws Exception { // NOPMD throwing Exception
+    // Assertions:
+    // ... a. constructor(s) work as expected
+
+    // Test strategy:
+    // --- a. results are returned in order of submission
+    // --- b. number of tasks in flight never exceeds limit
+    // --- c. a blocked submitter proceeds after a task finishes
+    // --- d. ERROR: submit after close
+
+    // --- a. results are returned in order of submission
+    try (VerificationExecutor dut = new VerificationExecutor(8, true, 4)) {
+      final List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        final int input = i;
+        futures.add(dut.submit(() -> input * input));
+      } // end for (i...)
+
+      for (int i = 0; i < futures.size(); i++) {
+        assertEquals(i * i, futures.get(i).get().intValue());
+      } // end for (i...)
+    } // end try-with-resources
+
+    // --- b. number of tasks in flight never exceeds limit
+    final int limit = 3;
+    final AtomicInteger current = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    try (VerificationExecutor dut = new VerificationExecutor(limit, false, 16)) {
+      final List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        futures.add(dut.submit(() -> {
+          peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+          TimeUnit.MILLISECONDS.sleep(1);
+          assertTrue(dut.getInFlight() <= limit);
+
+          return current.decrementAndGet();
+        }));
+      } // end for (i...)
+
+      for (final Future<Integer> future : futures) {
+        future.get();
+      } // end for (future...)
+    } // end try-with-resources
+    assertTrue(peak.get() <= limit, () -> "peak = " + peak.get());
+    assertTrue(peak.get() > 0);
+
+    // --- c. a blocked submitter proceeds after a task finishes
+    try (VerificationExecutor dut = new VerificationExecutor(1, true, 1)) {
+      final CountDownLatch latch = new CountDownLatch(1);
+      final Future<Boolean> first = dut.submit(() -> latch.await(1, TimeUnit.MINUTES));
+      assertEquals(1, dut.getInFlight());
+
+      final Thread submitter = new Thread(() -> {
+        try {
+          dut.submit(() -> "second").get();
+        } catch (Exception e) { // NOPMD avoid catching generic exceptions
+          throw new AssertionError(e);
+        } // end catch (Exception)
+      });
+      submitter.start();
+      submitter.join(100);
+      assertTrue(submitter.isAlive()); // blocked, because limit is reached
+
+      latch.countDown();
+      assertTrue(first.get());
+      submitter.join();
+      assertFalse(submitter.isAlive());
+    } // end try-with-resources
+
+    // --- d. ERROR: submit after close
+    final VerificationExecutor dut = new VerificationExecutor(2, true, 1);
+    dut.close();
+    assertThrows(RejectedExecutionException.class, () -> dut.submit(() -> 0));
+    assertEquals(0, dut.getInFlight());
+  } // end method */
+} // end class
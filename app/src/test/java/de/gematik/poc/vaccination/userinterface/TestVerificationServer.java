@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.userinterface;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link VerificationServer}.
+ */
+final class TestVerificationServer {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link VerificationServer#checkPrefix(String)}.
+   */
+  @Test
+  void test_checkPrefix__String() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test with valid prefixes
+    // --- b. ERROR: prefixes addressing files outside use case directories
+
+    // --- a. smoke test with valid prefixes
+    List.of("0815", "a", "proof-1_x", "a.b").forEach(prefix ->
+        assertDoesNotThrow(() -> VerificationServer.checkPrefix(prefix))
+    ); // end forEach(prefix -> ...)
+
+    // --- b. ERROR: prefixes addressing files outside use case directories
+    List.of(
+        "..",
+        "../0815",
+        "..0815",
+        "a/b",
+        "/etc/passwd",
+        "a\\b",
+        "..\\0815",
+        ".",
+        ""
+    ).forEach(prefix -> {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> VerificationServer.checkPrefix(prefix)
+      );
+      assertEquals("invalid prefix", throwable.getMessage());
+    }); // end forEach(prefix -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link VerificationServer#processRequest(String)}.
+   */
+  @Test
+  void test_processRequest__String() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. ERROR: unsupported action
+    // --- b. ERROR: prefix missing
+    // --- c. ERROR: invalid prefix is answered with "ERROR" for all actions
+
+    // --- a. ERROR: unsupported action
+    List.of("--foo 0815", "  --foo   0815 bar ", "0815 --IoP_Verify").forEach(request -> {
+      final String answer = VerificationServer.processRequest(request);
+      assertTrue(
+          answer.matches(
+              "ERROR \\S+ java.lang.IllegalArgumentException: unsupported action \\d+us"
+          ),
+          answer
+      );
+      assertTrue(answer.startsWith("ERROR " + request.trim().split("\\s+")[0] + ' '), answer);
+    }); // end forEach(request -> ...)
+
+    // --- b. ERROR: prefix missing
+    List.of(
+        CmdLine.ACTION_QR_DECODE,
+        CmdLine.ACTION_INFOPROOF_VERIFY + "  ",
+        "--foo"
+    ).forEach(request -> {
+      final String answer = VerificationServer.processRequest(request);
+      assertTrue(
+          answer.matches("ERROR \\S+ java.lang.IllegalArgumentException: prefix missing \\d+us"),
+          answer
+      );
+    }); // end forEach(request -> ...)
+
+    // --- c. ERROR: invalid prefix is answered with "ERROR" for all actions
+    List.of(
+        CmdLine.ACTION_QR_DECODE,
+        CmdLine.ACTION_INFOPROOF_VERIFY,
+        CmdLine.ACTION_INFOPROOF_DECODE
+    ).forEach(action -> {
+      final String answer = VerificationServer.processRequest(action + " ../../secret");
+      assertTrue(
+          answer.matches("ERROR " + action + " \\S+: invalid prefix \\d+us"),
+          answer
+      );
+    }); // end forEach(action -> ...)
+  } // end method */
+
+  /**
+   * Test method for
+   * {@link VerificationServer#process(BufferedReader, PrintWriter, VerificationExecutor)}.
+   *
+   * @throws IOException if underlying methods do so
+   */
+  @Test
+  void test_process__BufferedReader_PrintWriter_VerificationExecutor() throws IOException {
+    // Assertions:
+    // ... a. processRequest(String)-method works as expected
+
+    // Test strategy:
+    // --- a. one answer per non-empty request, in order of requests
+    // --- b. QUIT ends the session, following requests are ignored
+    // --- c. end of input ends the session
+
+    // --- a. one answer per non-empty request, in order of requests
+    // --- b. QUIT ends the session, following requests are ignored
+    try (VerificationExecutor executor = new VerificationExecutor(4, true, 4)) {
+      final List<String> requests = IntStream.range(0, 50)
+          .mapToObj(i -> "--action" + i + " 0815")
+          .collect(Collectors.toList());
+      final String input = String.join("\n\n", requests)
+          + "\n   \n " + VerificationServer.QUIT + " \n--ignored 0815\n";
+
+      final List<String> answers = process(input, executor);
+
+      assertEquals(requests.size(), answers.size());
+      for (int i = 0; i < requests.size(); i++) {
+        assertTrue(
+            answers.get(i).startsWith("ERROR --action" + i + " "),
+            answers.get(i)
+        );
+      } // end for (i...)
+    } // end try-with-resources
+
+    // --- c. end of input ends the session
+    try (VerificationExecutor executor = new VerificationExecutor(1, false, 1)) {
+      assertEquals(List.of(), process("", executor));
+      assertEquals(1, process("--foo 0815", executor).size());
+      assertEquals(List.of(), process(VerificationServer.QUIT, executor));
+    } // end try-with-resources
+  } // end method */
+
+  /**
+   * Processes given input.
+   *
+   * @param input    requests
+   * @param executor verifying requests
+   *
+   * @return answers
+   *
+   * @throws IOException if underlying methods do so
+   */
+  private static List<String> process(
+      final String input,
+      final VerificationExecutor executor
+  ) throws IOException {
+    final StringWriter output = new StringWriter();
+    VerificationServer.process(
+        new BufferedReader(new StringReader(input)),
+        new PrintWriter(output, true),
+        executor
+    );
+
+    return output.toString().lines().collect(Collectors.toList());
+  } // end method */
+} // end class
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gmail.alfred65fiedler.utils.AfiRng;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link Base45}.
+ */
+final class TestBase45 {
+  /**
+   * Random Number Generator.
+   */
+  private static final AfiRng RNG = new AfiRng(); // */
+
+  /**
+   * Test vectors from RFC 9285, key is the octet string as UTF-8 text.
+   */
+  private static final Map<String, String> RFC_9285 = Map.ofEntries(
+      Map.entry("AB", "BB8"),
+      Map.entry("Hello!!", "%69 VD92EX0"),
+      Map.entry("base-45", "UJCLQE7W581"),
+      Map.entry("ietf!", "QED8WEX0"),
+      Map.entry("", "")
+  ); // */
+
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link Base45#encode(byte[])}.
+   */
+  @Test
+  void test_encode__byteA() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. test vectors from RFC
+    // --- b. all octet strings with one octet and extreme values with two octet
+
+    // --- a. test vectors from RFC
+    RFC_9285.forEach((input, expected) -> assertEquals(
+        expected,
+        Base45.encode(input.getBytes(StandardCharsets.UTF_8))
+    )); // end forEach((input, expected) -> ...)
+
+    // --- b. all octet strings with one octet and extreme values with two octet
+    IntStream.range(0, 256).forEach(i -> {
+      final String text = Base45.encode(new byte[]{(byte) i});
+
+      assertEquals(2, text.length());
+      assertArrayEquals(new byte[]{(byte) i}, Base45.decode(text));
+    }); // end forEach(i -> ...)
+    assertEquals("000", Base45.encode(new byte[2]));
+    assertEquals("FGW", Base45.encode(new byte[]{-1, -1}));
+  } // end method */
+
+  /**
+   * Test method for {@link Base45#encode(byte[], int, int, char[], int)}.
+   */
+  @Test
+  void test_encode__byteA_int_int_charA_int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. random input at random offsets, compared to encode(byte[])
+
+    // --- a. random input at random offsets, compared to encode(byte[])
+    IntStream.rangeClosed(0, 1000).forEach(i -> {
+      final byte[] octets = new byte[RNG.nextIntClosed(0, 100)];
+      RNG.nextBytes(octets);
+      final int offset = RNG.nextIntClosed(0, octets.length);
+      final int length = RNG.nextIntClosed(0, octets.length - offset);
+      final String expected = Base45.encode(Arrays.copyOfRange(octets, offset, offset + length));
+      final int bufferOffset = RNG.nextIntClosed(0, 10);
+      final char[] buffer = new char[bufferOffset + Base45.encodedLength(length)];
+
+      final int written = Base45.encode(octets, offset, length, buffer, bufferOffset);
+
+      assertEquals(expected.length(), written);
+      assertEquals(expected, new String(buffer, bufferOffset, written));
+    }); // end forEach(i -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link Base45#decode(CharSequence)}.
+   */
+  @Test
+  void test_decode__CharSequence() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. test vectors from RFC
+    // --- b. random round trips
+    // --- c. ERROR: invalid length
+    // --- d. ERROR: invalid character
+    // --- e. ERROR: value out of range
+
+    // --- a. test vectors from RFC
+    RFC_9285.forEach((expected, input) -> assertEquals(
+        expected,
+        new String(Base45.decode(input), StandardCharsets.UTF_8)
+    )); // end forEach((expected, input) -> ...)
+
+    // --- b. random round trips
+    IntStream.rangeClosed(0, 1000).forEach(i -> {
+      final byte[] octets = new byte[RNG.nextIntClosed(0, 300)];
+      RNG.nextBytes(octets);
+
+      assertArrayEquals(octets, Base45.decode(Base45.encode(octets)));
+    }); // end forEach(i -> ...)
+
+    // --- c. ERROR: invalid length
+    List.of("0", "0000", "BB8B").forEach(input -> assertEquals(
+        "invalid length: " + input.length(),
+        assertThrows(IllegalArgumentException.class, () -> Base45.decode(input)).getMessage()
+    )); // end forEach(input -> ...)
+
+    // --- d. ERROR: invalid character
+    Map.ofEntries(
+        Map.entry("bb8", "invalid character at index 0: 'b'"),
+        Map.entry("BB8,0", "invalid character at index 3: ','"),
+        Map.entry("B\u00c48", "invalid character at index 1: '\u00c4'"),
+        Map.entry("BB\u20ac", "invalid character at index 2: '\u20ac'")
+    ).forEach((input, message) -> assertEquals(
+        message,
+        assertThrows(IllegalArgumentException.class, () -> Base45.decode(input)).getMessage()
+    )); // end forEach((input, message) -> ...)
+
+    // --- e. ERROR: value out of range
+    Map.ofEntries(
+        Map.entry("GGW", "value at index 0 exceeds two octet: 65536"),
+        Map.entry("BB8:::", "value at index 3 exceeds two octet: 91124"),
+        Map.entry("BB8 5", "value at index 3 exceeds one octet: 261")
+    ).forEach((input, message) -> assertEquals(
+        message,
+        assertThrows(IllegalArgumentException.class, () -> Base45.decode(input)).getMessage()
+    )); // end forEach((input, message) -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link Base45#decode(CharSequence, byte[], int)}.
+   */
+  @Test
+  void test_decode__CharSequence_byteA_int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. random input at random offsets, compared to decode(CharSequence)
+    // --- b. ERROR: buffer too short
+
+    // --- a. random input at random offsets, compared to decode(CharSequence)
+    IntStream.rangeClosed(0, 1000).forEach(i -> {
+      final byte[] octets = new byte[RNG.nextIntClosed(0, 100)];
+      RNG.nextBytes(octets);
+      final String text = Base45.encode(octets);
+      final int offset = RNG.nextIntClosed(0, 10);
+      final byte[] buffer = new byte[offset + Base45.decodedLength(text.length())];
+
+      final int written = Base45.decode(new StringBuilder(text), buffer, offset);
+
+      assertEquals(octets.length, written);
+      assertArrayEquals(octets, Arrays.copyOfRange(buffer, offset, offset + written));
+    }); // end forEach(i -> ...)
+
+    // --- b. ERROR: buffer too short
+    assertThrows(
+        ArrayIndexOutOfBoundsException.class,
+        () -> Base45.decode("BB8", new byte[2], 1)
+    );
+  } // end method */
+} // end class
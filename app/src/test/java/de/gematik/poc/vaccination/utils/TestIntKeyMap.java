@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link IntKeyMap}.
+ */
+final class TestIntKeyMap {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link IntKeyMap#empty()}.
+   */
+  @Test
+  void test_empty() {
+    // Test strategy:
+    // --- a. smoke test
+    final IntKeyMap<String> dut = IntKeyMap.empty();
+    assertEquals(0, dut.size());
+    IntStream.of(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE)
+        .forEach(key -> assertNull(dut.get(key)));
+  } // end method */
+
+  /**
+   * Test method for {@link IntKeyMap#with(int, Object)}.
+   */
+  @Test
+  void test_with__int_Object() { // NOPMD '_' character in name of method
+    // Assertions:
+    // ... a. get(int)-method works as expected
+
+    // Test strategy:
+    // --- a. original map remains unchanged
+    // --- b. replace value of present key
+    // --- c. many keys compared to HashMap, including colliding keys
+    // --- d. ERROR: null value
+
+    // --- a. original map remains unchanged
+    final IntKeyMap<String> empty = IntKeyMap.empty();
+    final IntKeyMap<String> one = empty.with(4711, "a");
+    assertEquals(0, empty.size());
+    assertNull(empty.get(4711));
+    assertEquals(1, one.size());
+    assertEquals("a", one.get(4711));
+    assertNull(one.get(4712));
+
+    // --- b. replace value of present key
+    final IntKeyMap<String> replaced = one.with(4711, "b");
+    assertEquals(1, replaced.size());
+    assertEquals("b", replaced.get(4711));
+    assertEquals("a", one.get(4711));
+
+    // --- c. many keys compared to HashMap, including colliding keys
+    final Random rng = new Random(4711);
+    final Map<Integer, String> expected = new HashMap<>();
+    IntKeyMap<String> dut = IntKeyMap.empty();
+    for (int i = 0; i < 2000; i++) {
+      // keys from a small range collide, keys from the full range rarely do
+      final int key = (0 == (i & 1)) ? rng.nextInt(500) : rng.nextInt();
+      final String value = Integer.toString(i);
+      expected.put(key, value);
+      dut = dut.with(key, value);
+    } // end for (i...)
+    assertEquals(expected.size(), dut.size());
+    for (final Map.Entry<Integer, String> entry : expected.entrySet()) {
+      assertSame(entry.getValue(), dut.get(entry.getKey()));
+    } // end for (entry...)
+    for (int key = 500; key < 1000; key++) {
+      if (!expected.containsKey(key)) {
+        assertNull(dut.get(key));
+      } // end if
+    } // end for (key...)
+
+    // --- d. ERROR: null value
+    assertThrows(NullPointerException.class, () -> empty.with(1, null));
+  } // end method */
+} // end class
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 gematik GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the License);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an 'AS IS' BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.gematik.poc.vaccination.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class performing white-box tests on {@link LruCache}.
+ */
+final class TestLruCache {
+  /**
+   * Method executed before other tests.
+   */
+  @BeforeAll
+  static void setUpBeforeClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after other tests.
+   */
+  @AfterAll
+  static void tearDownAfterClass() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Method executed after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    // intentionally empty
+  } // end method */
+
+  /**
+   * Test method for {@link LruCache#LruCache(int)}.
+   */
+  @Test
+  void test_LruCache__int() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. smoke test with various capacities
+    // --- b. ERROR: capacity not positive
+
+    // --- a. smoke test with various capacities
+    IntStream.rangeClosed(1, 10).forEach(capacity -> {
+      final LruCache<Integer, String> dut = new LruCache<>(capacity);
+      assertEquals(capacity, dut.getCapacity());
+      assertEquals(0, dut.size());
+    }); // end forEach(capacity -> ...)
+
+    // --- b. ERROR: capacity not positive
+    IntStream.rangeClosed(-2, 0).forEach(capacity -> {
+      final Throwable throwable = assertThrows(
+          IllegalArgumentException.class,
+          () -> new LruCache<Integer, String>(capacity)
+      );
+      assertEquals("capacity not positive: " + capacity, throwable.getMessage());
+    }); // end forEach(capacity -> ...)
+  } // end method */
+
+  /**
+   * Test method for {@link LruCache#put(Object, Object)}.
+   */
+  @Test
+  void test_put__Object_Object() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. fill cache up to its capacity
+    // --- b. overwrite existing entry
+    // --- c. least recently used entry is evicted
+    // --- d. remove and clear
+    final LruCache<Integer, String> dut = new LruCache<>(3);
+
+    // --- a. fill cache up to its capacity
+    dut.put(1, "a");
+    dut.put(2, "b");
+    dut.put(3, "c");
+    assertEquals(3, dut.size());
+    assertEquals("a", dut.get(1));
+    assertEquals("b", dut.get(2));
+    assertEquals("c", dut.get(3));
+
+    // --- b. overwrite existing entry
+    dut.put(2, "B");
+    assertEquals(3, dut.size());
+    assertEquals("B", dut.get(2));
+
+    // --- c. least recently used entry is evicted
+    // Note: Access-order is now 1, 3, 2.
+    assertEquals("a", dut.get(1)); // access-order now 3, 2, 1
+    dut.put(4, "d");
+    assertEquals(3, dut.size());
+    assertNull(dut.get(3));
+    assertEquals("B", dut.get(2));
+    assertEquals("a", dut.get(1));
+    assertEquals("d", dut.get(4));
+
+    // --- d. remove and clear
+    dut.remove(1);
+    assertNull(dut.get(1));
+    assertEquals(2, dut.size());
+    dut.clear();
+    assertEquals(0, dut.size());
+  } // end method */
+} // end class
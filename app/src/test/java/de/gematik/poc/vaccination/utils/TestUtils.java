@@ -18,6 +18,7 @@ package de.gematik.poc.vaccination.utils;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -36,6 +37,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -144,4 +147,92 @@ final class TestUtils {
       } // end catch (IOException)
     }); // end forEach(dir -> ...)
   } // end method */
+
+  /**
+   * Test method for {@link Utils#exportTlv(Path, String, BerTlv, Utils.ExportPolicy)}.
+   */
+  @Test
+  void test_exportTlv__Path_String_BerTlv_ExportPolicy() throws // NOPMD '_' character in name
+      IOException {
+    // Test strategy:
+    // --- a. each policy writes the expected files only
+    final BerTlv tlv = new DerUtf8String("foo bar");
+
+    // --- a. each policy writes the expected files only
+    for (final Utils.ExportPolicy policy : Utils.ExportPolicy.values()) {
+      final Path dir = Files.createDirectories(claTempDir.resolve("policy-" + policy));
+      Utils.exportTlv(dir, "prefix", tlv, policy);
+
+      assertArrayEquals(tlv.toByteArray(), Files.readAllBytes(dir.resolve("prefix.bin")));
+      assertEquals(
+          Utils.ExportPolicy.BINARY != policy,
+          Files.isRegularFile(dir.resolve("prefix-bin.txt"))
+      );
+      assertEquals(
+          Utils.ExportPolicy.FULL == policy,
+          Files.isRegularFile(dir.resolve("prefix-bin_explanation.txt"))
+      );
+    } // end for (policy...)
+  } // end method */
+
+  /**
+   * Test method for {@link Utils#getExportPolicy(Utils.ExportPolicy)}.
+   */
+  @Test
+  void test_getExportPolicy__ExportPolicy() { // NOPMD '_' character in name of method
+    // Test strategy:
+    // --- a. not configured => default policy
+    // --- b. configured => configured policy
+    // --- c. configuration removed => default policy
+    try {
+      // --- a. not configured => default policy
+      Utils.setExportPolicy(null);
+      for (final Utils.ExportPolicy policy : Utils.ExportPolicy.values()) {
+        assertEquals(policy, Utils.getExportPolicy(policy));
+      } // end for (policy...)
+
+      // --- b. configured => configured policy
+      Utils.setExportPolicy(Utils.ExportPolicy.HEX);
+      for (final Utils.ExportPolicy policy : Utils.ExportPolicy.values()) {
+        assertEquals(Utils.ExportPolicy.HEX, Utils.getExportPolicy(policy));
+      } // end for (policy...)
+    } finally {
+      // --- c. configuration removed => default policy
+      Utils.setExportPolicy(null);
+      assertEquals(Utils.ExportPolicy.BINARY, Utils.getExportPolicy(Utils.ExportPolicy.BINARY));
+    } // end finally
+  } // end method */
+
+  /**
+   * Test method for {@link Utils#isVirtualThread()}.
+   *
+   * @throws Exception if underlying methods do so
+   */
+  @Test
+  void test_isVirtualThread() throws Exception { // NOPMD throwing Exception
+    // Test strategy:
+    // --- a. platform threads
+    // --- b. virtual thread, if supported by runtime
+
+    // --- a. platform threads
+    assertFalse(Utils.isVirtualThread());
+    final ExecutorService platform = Executors.newSingleThreadExecutor();
+    try {
+      assertFalse(platform.submit(Utils::isVirtualThread).get());
+    } finally {
+      platform.shutdown();
+    } // end finally
+
+    // --- b. virtual thread, if supported by runtime
+    if (Runtime.version().feature() >= 21) { // NOPMD literal in conditional statement
+      final ExecutorService virtual = (ExecutorService) Executors.class
+          .getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+      try {
+        assertTrue(virtual.submit(Utils::isVirtualThread).get());
+      } finally {
+        virtual.shutdown();
+      } // end finally
+    } // end if
+  } // end method */
 } // end class